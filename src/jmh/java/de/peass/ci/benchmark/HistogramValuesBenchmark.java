@@ -0,0 +1,59 @@
+package de.peass.ci.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.helper.HistogramValues;
+import de.dagere.peass.config.MeasurementConfig;
+
+/**
+ * Measures the creation of {@link HistogramValues} (unit detection and scaling) and the rendering of the values for the histogram page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HistogramValuesBenchmark {
+
+   @Param({ "100", "10000" })
+   public int values;
+
+   private double[] valuesCurrent;
+   private double[] valuesBefore;
+   private MeasurementConfig config;
+
+   @Setup(Level.Trial)
+   public void createValues() {
+      Random random = new Random(0);
+      valuesCurrent = random.doubles(values, 900000, 1100000).toArray();
+      valuesBefore = random.doubles(values, 950000, 1150000).toArray();
+      config = new MeasurementConfig(values);
+      config.setRepetitions(10);
+   }
+
+   @Benchmark
+   public HistogramValues create() {
+      return new HistogramValues(valuesCurrent, valuesBefore, config);
+   }
+
+   @Benchmark
+   public String createAndRender() {
+      HistogramValues histogramValues = new HistogramValues(valuesCurrent, valuesBefore, config);
+      return histogramValues.getValuesCurrentReadable() + histogramValues.getValuesBeforeReadable();
+   }
+}
@@ -0,0 +1,80 @@
+package de.peass.ci.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.helper.VisualizationFolderManager;
+import de.dagere.peass.ci.logs.LogFileReader;
+import de.dagere.peass.ci.logs.LogFiles;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.peass.ci.fixture.SyntheticResultGenerator;
+
+/**
+ * Measures {@link LogFileReader#readAllTestcases(Set)}, which lists the VM logs of every measured testcase and checks the result file of every VM for a
+ * result. The logs and result files are generated by {@link SyntheticResultGenerator} for the given count of testcases and VMs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogFileReaderBenchmark {
+
+   @Param({ "10", "100" })
+   public int testcases;
+
+   @Param({ "5", "30" })
+   public int vms;
+
+   private File localWorkspace;
+   private MeasurementConfig config;
+   private VisualizationFolderManager visualizationFolders;
+   private Set<TestCase> tests;
+
+   @Setup(Level.Trial)
+   public void createLogs() throws IOException {
+      localWorkspace = Files.createTempDirectory("log-benchmark").toFile();
+      SyntheticResultGenerator generator = new SyntheticResultGenerator(localWorkspace)
+            .withTestcases(testcases)
+            .withVMs(vms)
+            .withIterations(1)
+            .generateMeasurements();
+      config = generator.getMeasurementConfig();
+      visualizationFolders = new VisualizationFolderManager(localWorkspace, SyntheticResultGenerator.PROJECT_NAME, null);
+      tests = new LinkedHashSet<>(generator.getTestcases());
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteLogs() throws IOException {
+      FileUtils.deleteDirectory(localWorkspace);
+   }
+
+   @Benchmark
+   public Map<TestCase, List<LogFiles>> readAllTestcases() {
+      LogFileReader reader = new LogFileReader(visualizationFolders, config);
+      return reader.readAllTestcases(tests);
+   }
+}
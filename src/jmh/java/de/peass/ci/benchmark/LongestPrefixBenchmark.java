@@ -0,0 +1,50 @@
+package de.peass.ci.benchmark;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.helper.RCAVisualizer;
+
+/**
+ * Measures {@link RCAVisualizer#getLongestPrefix(Set)} for the changed test classes of a build, which share a package prefix of the given depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LongestPrefixBenchmark {
+
+   @Param({ "10", "1000", "10000" })
+   public int classes;
+
+   private Set<String> testClasses;
+
+   @Setup(Level.Trial)
+   public void createClasses() {
+      testClasses = new LinkedHashSet<>();
+      for (int i = 0; i < classes; i++) {
+         testClasses.add("de.dagere.peass.benchmark.module" + (i % 7) + ".sub" + (i % 13) + ".BenchmarkTest" + i);
+      }
+   }
+
+   @Benchmark
+   public String getLongestPrefix() {
+      return RCAVisualizer.getLongestPrefix(testClasses);
+   }
+}
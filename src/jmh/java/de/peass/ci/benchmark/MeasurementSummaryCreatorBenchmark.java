@@ -0,0 +1,87 @@
+package de.peass.ci.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.peass.ci.fixture.SyntheticResultGenerator;
+
+/**
+ * Measures {@link MeasurementSummaryCreator#createSummary(Set)}, which is how the results of a measurement are ingested, once with result files read by
+ * {@link de.dagere.peass.ci.helper.StreamingChunkReader} and once read by JAXB. The results are generated by {@link SyntheticResultGenerator} for the given
+ * count of VMs and iterations, i.e. full data values per VM; the summary is created by one thread, so the benchmark compares the parsing itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MeasurementSummaryCreatorBenchmark {
+
+   private static final int TESTCASES = 10;
+
+   @Param({ "30", "300" })
+   public int vms;
+
+   @Param({ "1", "100" })
+   public int iterations;
+
+   private File localWorkspace;
+   private MeasurementConfig config;
+   private File fullResultsFolder;
+   private Set<TestCase> tests;
+
+   @Setup(Level.Trial)
+   public void createResults() throws IOException {
+      localWorkspace = Files.createTempDirectory("summary-benchmark").toFile();
+      SyntheticResultGenerator generator = new SyntheticResultGenerator(localWorkspace)
+            .withTestcases(TESTCASES)
+            .withVMs(vms)
+            .withIterations(iterations)
+            .generateMeasurements();
+      config = generator.getMeasurementConfig();
+      fullResultsFolder = generator.getResultsFolders().getVersionFullResultsFolder(config);
+      tests = new LinkedHashSet<>(generator.getTestcases());
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteResults() throws IOException {
+      FileUtils.deleteDirectory(localWorkspace);
+   }
+
+   @Benchmark
+   public MeasurementSummary jaxb() {
+      MeasurementSummaryCreator creator = new MeasurementSummaryCreator(config, fullResultsFolder);
+      creator.setStreaming(false);
+      return creator.createSummary(tests);
+   }
+
+   @Benchmark
+   public MeasurementSummary streaming() {
+      MeasurementSummaryCreator creator = new MeasurementSummaryCreator(config, fullResultsFolder);
+      return creator.createSummary(tests);
+   }
+}
@@ -0,0 +1,73 @@
+package de.peass.ci.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.helper.VisualizationFolderManager;
+import de.dagere.peass.ci.logs.RTSLogFileReader;
+import de.dagere.peass.ci.logs.rts.RTSLogData;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.peass.ci.fixture.SyntheticResultGenerator;
+
+/**
+ * Measures {@link RTSLogFileReader#getRtsVmRuns(String)}, which lists the regression test selection logs of every test method of a version. The logs are
+ * generated by {@link SyntheticResultGenerator} for the given count of test classes with 10 methods each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RTSLogFileReaderBenchmark {
+
+   private static final int METHODS_PER_CLASS = 10;
+
+   @Param({ "10", "100", "1000" })
+   public int testClasses;
+
+   private File localWorkspace;
+   private MeasurementConfig config;
+   private VisualizationFolderManager visualizationFolders;
+
+   @Setup(Level.Trial)
+   public void createLogs() throws IOException {
+      localWorkspace = Files.createTempDirectory("rts-benchmark").toFile();
+      SyntheticResultGenerator generator = new SyntheticResultGenerator(localWorkspace)
+            .withTestcases(testClasses * METHODS_PER_CLASS)
+            .withVMs(2)
+            .generateRTSLogs();
+      config = generator.getMeasurementConfig();
+      visualizationFolders = new VisualizationFolderManager(localWorkspace, SyntheticResultGenerator.PROJECT_NAME, null);
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteLogs() throws IOException {
+      FileUtils.deleteDirectory(localWorkspace);
+   }
+
+   @Benchmark
+   public Map<TestCase, RTSLogData> getRtsVmRuns() {
+      RTSLogFileReader reader = new RTSLogFileReader(visualizationFolders, config);
+      return reader.getRtsVmRuns(SyntheticResultGenerator.VERSION);
+   }
+}
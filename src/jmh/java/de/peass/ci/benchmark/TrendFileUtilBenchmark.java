@@ -0,0 +1,92 @@
+package de.peass.ci.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.dagere.peass.ci.persistence.BuildMeasurementValues;
+import de.dagere.peass.ci.persistence.TrendFileUtil;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import hudson.model.Run;
+
+/**
+ * Measures appending the statistics of one build to the trend ({@link TrendFileUtil#persistTrend(Run, File, ProjectStatistics)}) and reading the whole
+ * trend ({@link TrendFileUtil#readMeasurementValues(File)}) for a history of the given count of builds and testcases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrendFileUtilBenchmark {
+
+   @Param({ "10", "100" })
+   public int testcases;
+
+   @Param({ "100", "1000" })
+   public int builds;
+
+   private File localWorkspace;
+   private ProjectStatistics statistics;
+   private int buildNumber;
+   private Run<?, ?> run;
+
+   @Setup(Level.Trial)
+   public void createTrend() throws IOException {
+      localWorkspace = Files.createTempDirectory("trend-benchmark").toFile();
+      statistics = new ProjectStatistics();
+      for (int i = 0; i < testcases; i++) {
+         TestcaseStatistic statistic = new TestcaseStatistic();
+         statistic.setMeanOld(1000 + i);
+         statistic.setMeanCurrent(1010 + i);
+         statistic.setDeviationOld(10);
+         statistic.setDeviationCurrent(12);
+         statistic.setVMs(30);
+         statistic.setCalls(100);
+         statistic.setCallsOld(100);
+         statistics.addMeasurement("version", new TestCase("de.dagere.benchmark.BenchmarkTest#test" + i), statistic);
+      }
+
+      run = Mockito.mock(Run.class);
+      Mockito.when(run.getNumber()).thenAnswer(invocation -> buildNumber);
+      for (buildNumber = 1; buildNumber <= builds; buildNumber++) {
+         TrendFileUtil.persistTrend(run, localWorkspace, statistics);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteTrend() throws IOException {
+      FileUtils.deleteDirectory(localWorkspace);
+   }
+
+   @Benchmark
+   public void persistTrend() throws IOException {
+      buildNumber++;
+      TrendFileUtil.persistTrend(run, localWorkspace, statistics);
+   }
+
+   @Benchmark
+   public BuildMeasurementValues readMeasurementValues() throws IOException, InterruptedException {
+      return TrendFileUtil.readMeasurementValues(localWorkspace);
+   }
+}
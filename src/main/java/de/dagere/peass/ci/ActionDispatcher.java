@@ -0,0 +1,124 @@
+package de.dagere.peass.ci;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import hudson.model.Run;
+
+/**
+ * Bundles the many actions of one category (e.g. one log per VM) into one action of the run, so the action count of a build does not grow with the count of VMs and
+ * testcases. The bundled actions are resolved by their url name below the url of the dispatcher, e.g. <code>measurelogs/measurelog_Test_method_0_abc</code>.
+ *
+ * Builds created before the dispatcher existed still contain the single actions; {@link #getLinkPrefix(Run, String)} returns the matching prefix for both cases.
+ *
+ * @author DaGeRe
+ *
+ */
+public class ActionDispatcher extends VisibleAction {
+
+   public static final String MEASUREMENT_LOGS = "measurelogs";
+   public static final String RCA_LOGS = "rcalogs";
+   public static final String RTS_LOGS = "rtslogs";
+   public static final String RTS_TRACES = "rtstraces";
+   public static final String MEASUREMENTS = "measurements";
+
+   private final String urlName;
+   private final Map<String, VisibleAction> actions = new LinkedHashMap<>();
+
+   public ActionDispatcher(final String urlName) {
+      this.urlName = urlName;
+   }
+
+   /**
+    * Returns the dispatcher with the given url name of the run; if it does not exist yet, it is created and added to the run.
+    */
+   public static ActionDispatcher get(final Run<?, ?> run, final String urlName) {
+      synchronized (ActionDispatcher.class) {
+         ActionDispatcher dispatcher = find(run, urlName);
+         if (dispatcher == null) {
+            dispatcher = new ActionDispatcher(urlName);
+            run.addAction(dispatcher);
+         }
+         return dispatcher;
+      }
+   }
+
+   /**
+    * Returns the prefix of links from the run to the bundled actions, which is empty for builds without the dispatcher.
+    */
+   public static String getLinkPrefix(final Run<?, ?> run, final String urlName) {
+      if (run != null && find(run, urlName) != null) {
+         return urlName + "/";
+      } else {
+         return "";
+      }
+   }
+
+   private static ActionDispatcher find(final Run<?, ?> run, final String urlName) {
+      for (ActionDispatcher dispatcher : run.getActions(ActionDispatcher.class)) {
+         if (urlName.equals(dispatcher.getUrlName())) {
+            return dispatcher;
+         }
+      }
+      return null;
+   }
+
+   public synchronized void addAction(final VisibleAction action) {
+      actions.put(action.getUrlName(), action);
+      if (getRun() != null) {
+         action.onAttached(getRun());
+      }
+   }
+
+   public synchronized VisibleAction getAction(final String actionUrlName) {
+      return actions.get(actionUrlName);
+   }
+
+   public synchronized List<VisibleAction> getActions() {
+      return new ArrayList<>(actions.values());
+   }
+
+   public synchronized int size() {
+      return actions.size();
+   }
+
+   public Object getDynamic(final String token, final StaplerRequest req, final StaplerResponse rsp) {
+      return getAction(token);
+   }
+
+   @Override
+   public synchronized void onAttached(final Run<?, ?> run) {
+      super.onAttached(run);
+      for (VisibleAction action : actions.values()) {
+         action.onAttached(run);
+      }
+   }
+
+   @Override
+   public synchronized void onLoad(final Run<?, ?> run) {
+      super.onLoad(run);
+      for (VisibleAction action : actions.values()) {
+         action.onLoad(run);
+      }
+   }
+
+   @Override
+   public String getUrlName() {
+      return urlName;
+   }
+
+   @Override
+   public String getIconFileName() {
+      return null;
+   }
+
+   @Override
+   public String getDisplayName() {
+      return null;
+   }
+}
@@ -28,16 +28,18 @@ public class MeasureVersionAction extends VisibleAction {
    private Map<String, HistogramValues> measurements;
    private String prefix;
    private Map<String, MeasurementConfig> updatedConfigurations;
+   private Map<String, Integer> plannedVMs;
 
    public MeasureVersionAction(final MeasurementConfig config, final Changes changes, final ProjectStatistics statistics,
          final Map<String, TestcaseStatistic> noWarmupStatistics, final Map<String, HistogramValues> measurements,
-         final Map<String, MeasurementConfig> updatedConfigurations) {
+         final Map<String, MeasurementConfig> updatedConfigurations, final Map<String, Integer> plannedVMs) {
       this.config = config;
       this.changes = changes;
       this.statistics = statistics;
       this.noWarmupStatistics = noWarmupStatistics;
       this.measurements = measurements;
       this.updatedConfigurations = updatedConfigurations;
+      this.plannedVMs = plannedVMs;
       for (Entry<String, List<Change>> change : changes.getTestcaseChanges().entrySet()) {
          System.out.println(change.getKey());
       }
@@ -45,6 +47,13 @@ public class MeasureVersionAction extends VisibleAction {
       LOG.debug("Prefix: {} Keys: {}", prefix, measurements.keySet());
    }
 
+   /**
+    * Prefix of the links to the bundled actions of this build, see {@link ActionDispatcher#getLinkPrefix(hudson.model.Run, String)}
+    */
+   public String getLinkPrefix() {
+      return ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.MEASUREMENTS);
+   }
+
    @Override
    public String getIconFileName() {
       return "/plugin/peass-ci/images/sd_slower.png";
@@ -98,15 +107,52 @@ public class MeasureVersionAction extends VisibleAction {
    }
 
    public double getCriticalTValue() {
-      int degreesOfFreedom = getDegreesOfFreedom();
+      return getCriticalTValue(config.getVms());
+   }
+
+   /**
+    * Returns the critical t-value of a testcase measured with the given count of VMs, which may be below the configured count if the measurement stopped early
+    */
+   public double getCriticalTValue(final int vms) {
+      int degreesOfFreedom = getDegreesOfFreedom(vms);
       return StatisticUtil.getCriticalValueTTest(config.getStatisticsConfig().getType1error(), degreesOfFreedom);
    }
 
    public int getDegreesOfFreedom() {
-      int degreesOfFreedom = config.getVms() * 2 - 2;
+      return getDegreesOfFreedom(config.getVms());
+   }
+
+   public int getDegreesOfFreedom(final int vms) {
+      int degreesOfFreedom = vms * 2 - 2;
       return degreesOfFreedom;
    }
 
+   /**
+    * Returns the count of VMs the testcase was planned with, which is below the configured count if the time budget skipped VMs of the testcase
+    */
+   public int getPlannedVMs(final String testcase) {
+      Integer testVMs = plannedVMs != null ? plannedVMs.get(testcase) : null;
+      return testVMs != null ? testVMs : config.getVms();
+   }
+
+   /**
+    * Returns how many of the planned VMs were not executed for the testcase, because the sequential t-test was decided early
+    */
+   public int getSavedVMs(final String testcase, final TestcaseStatistic statistic) {
+      if (!config.isEarlyStop() || statistic == null) {
+         return 0;
+      }
+      return Math.max(0, getPlannedVMs(testcase) - (int) statistic.getVMs());
+   }
+
+   public int getSavedVMs() {
+      int savedVMs = 0;
+      for (String testcase : measurements.keySet()) {
+         savedVMs += getSavedVMs(testcase, getTestcaseStatistic(testcase));
+      }
+      return savedVMs;
+   }
+
    public double abs(final double value) {
       return Math.abs(value);
    }
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -22,6 +23,8 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import de.dagere.peass.analysis.changes.ProjectChanges;
 import de.dagere.peass.ci.logs.rts.AggregatedRTSResult;
+import de.dagere.peass.ci.metrics.PhaseMetric;
+import de.dagere.peass.ci.metrics.PhaseMetricsAction;
 import de.dagere.peass.ci.persistence.TestcaseKeyDeserializer;
 import de.dagere.peass.ci.process.IncludeExcludeParser;
 import de.dagere.peass.ci.process.JenkinsLogRedirector;
@@ -66,6 +69,7 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
    private int timeout = 5;
    private int kiekerWaitTime = 10;
    private double significanceLevel = 0.01;
+   private boolean earlyStop = false;
    private boolean redirectToNull = true;
    private boolean showStart = false;
 
@@ -74,6 +78,12 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
    private boolean displayRTSLogs = true;
    private boolean displayLogs = true;
    private boolean displayRCALogs = true;
+   private boolean incrementalTransfer = true;
+   private boolean phaseScopedTransfer = true;
+   private int resultParsingThreads = 0;
+   private String measurementNodeLabel = "";
+   private int measurementTimeBudget = 0;
+   private int rcaThreads = 1;
    private boolean generateCoverageSelection = false;
    private boolean useGC;
    private boolean measureJMH;
@@ -157,18 +167,27 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
          throws IOException, InterruptedException, JAXBException, JsonParseException, JsonMappingException, JsonGenerationException, Exception {
       final LocalPeassProcessManager processManager = new LocalPeassProcessManager(peassConfig, workspace, localWorkspace, listener, run);
 
-      AggregatedRTSResult tests = processManager.rts();
-      listener.getLogger().println("Tests: " + tests);
-      if (tests == null || !tests.getResult().isRunning()) {
-         run.setResult(Result.FAILURE);
-         return;
-      }
-      processManager.visualizeRTSResults(run, tests.getLogSummary());
+      try {
+         AggregatedRTSResult tests = processManager.rts();
+         listener.getLogger().println("Tests: " + tests);
+         if (tests == null || !tests.getResult().isRunning()) {
+            run.setResult(Result.FAILURE);
+            return;
+         }
+         processManager.visualizeRTSResults(run, tests.getLogSummary());
 
-      if (tests.getResult().getTests().size() > 0) {
-         measure(run, processManager, tests.getResult().getTests());
-      } else {
-         listener.getLogger().println("No tests selected; no measurement executed");
+         if (tests.getResult().getTests().size() > 0) {
+            measure(run, processManager, tests.getResult().getTests());
+         } else {
+            listener.getLogger().println("No tests selected; no measurement executed");
+         }
+      } finally {
+         // Also failed builds get their metrics, since a phase taking too long may be the cause of the failure
+         List<PhaseMetric> phaseMetrics = processManager.getPhaseMetrics();
+         for (PhaseMetric phase : phaseMetrics) {
+            listener.getLogger().println("Phase " + phase.getPhase() + ": " + phase.getDuration() + " ms");
+         }
+         run.addAction(new PhaseMetricsAction(phaseMetrics));
       }
    }
 
@@ -203,6 +222,12 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
       DependencyConfig dependencyConfig = new DependencyConfig(1, false, true, generateCoverageSelection);
       PeassProcessConfiguration peassConfig = new PeassProcessConfiguration(updateSnapshotDependencies, configWithRealGitVersions, dependencyConfig, peassEnv,
             displayRTSLogs, displayLogs, displayRCALogs);
+      peassConfig.setIncrementalTransfer(incrementalTransfer);
+      peassConfig.setPhaseScopedTransfer(phaseScopedTransfer);
+      peassConfig.setResultParsingThreads(resultParsingThreads);
+      peassConfig.setMeasurementNodeLabel(measurementNodeLabel);
+      peassConfig.setMeasurementTimeBudget(measurementTimeBudget);
+      peassConfig.setRcaThreads(rcaThreads);
       return peassConfig;
    }
 
@@ -244,7 +269,7 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
       config.setWarmup(warmup);
       config.setRepetitions(repetitions);
       config.setUseGC(useGC);
-      config.setEarlyStop(false);
+      config.setEarlyStop(earlyStop);
       config.getExecutionConfig().setCreateDefaultConstructor(createDefaultConstructor);
       config.getExecutionConfig().setExecuteBeforeClassInMeasurement(executeBeforeClassInMeasurement);
       config.getExecutionConfig().setOnlyMeasureWorkload(onlyMeasureWorkload);
@@ -393,6 +418,15 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
       this.significanceLevel = significanceLevel;
    }
 
+   public boolean isEarlyStop() {
+      return earlyStop;
+   }
+
+   @DataBoundSetter
+   public void setEarlyStop(final boolean earlyStop) {
+      this.earlyStop = earlyStop;
+   }
+
    public boolean isNightlyBuild() {
       return nightlyBuild;
    }
@@ -438,6 +472,60 @@ public class MeasureVersionBuilder extends Builder implements SimpleBuildStep, S
       this.displayRCALogs = displayRCALogs;
    }
 
+   public boolean isIncrementalTransfer() {
+      return incrementalTransfer;
+   }
+
+   @DataBoundSetter
+   public void setIncrementalTransfer(final boolean incrementalTransfer) {
+      this.incrementalTransfer = incrementalTransfer;
+   }
+
+   public boolean isPhaseScopedTransfer() {
+      return phaseScopedTransfer;
+   }
+
+   @DataBoundSetter
+   public void setPhaseScopedTransfer(final boolean phaseScopedTransfer) {
+      this.phaseScopedTransfer = phaseScopedTransfer;
+   }
+
+   public int getResultParsingThreads() {
+      return resultParsingThreads;
+   }
+
+   @DataBoundSetter
+   public void setResultParsingThreads(final int resultParsingThreads) {
+      this.resultParsingThreads = resultParsingThreads;
+   }
+
+   public String getMeasurementNodeLabel() {
+      return measurementNodeLabel;
+   }
+
+   @DataBoundSetter
+   public void setMeasurementNodeLabel(final String measurementNodeLabel) {
+      this.measurementNodeLabel = measurementNodeLabel;
+   }
+
+   public int getMeasurementTimeBudget() {
+      return measurementTimeBudget;
+   }
+
+   @DataBoundSetter
+   public void setMeasurementTimeBudget(final int measurementTimeBudget) {
+      this.measurementTimeBudget = measurementTimeBudget;
+   }
+
+   public int getRcaThreads() {
+      return rcaThreads;
+   }
+
+   @DataBoundSetter
+   public void setRcaThreads(final int rcaThreads) {
+      this.rcaThreads = rcaThreads;
+   }
+
    public boolean isRedirectSubprocessOutputToFile() {
       return redirectSubprocessOutputToFile;
    }
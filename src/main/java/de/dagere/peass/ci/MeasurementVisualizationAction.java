@@ -1,19 +1,35 @@
 package de.dagere.peass.ci;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 
+import de.dagere.peass.ci.helper.DataFileServer;
+import hudson.model.Item;
+
+/**
+ * Shows the measurement of one testcase; the data is kept in a file of the build folder and loaded by the page from {@link #doData}.
+ */
 public class MeasurementVisualizationAction extends VisibleAction {
 
    private String displayName;
-   private final String jsData;
+   private final String dataFileName;
+   /**
+    * Data of builds created before the data was kept in the build folder
+    */
+   private String jsData;
 
-   public MeasurementVisualizationAction(final String displayName, final String jsData) {
+   /**
+    * @param dataFileName Path of the data file, relative to the build folder
+    */
+   public MeasurementVisualizationAction(final String displayName, final String dataFileName) {
       this.displayName = displayName;
-      this.jsData = jsData;
+      this.dataFileName = dataFileName;
    }
 
    @Override
@@ -27,8 +43,24 @@ public class MeasurementVisualizationAction extends VisibleAction {
       return content;
    }
 
-   public String getDataJS() throws IOException {
-      return jsData;
+   public String getDataFileName() {
+      return dataFileName;
+   }
+
+   /**
+    * Url of {@link #doData} relative to the Jenkins root; the action may be bundled in an {@link ActionDispatcher}.
+    */
+   public String getDataUrl() {
+      return getRun().getUrl() + ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.MEASUREMENTS) + getUrlName() + "/data";
+   }
+
+   public void doData(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      getRun().checkPermission(Item.READ);
+      if (jsData != null) {
+         DataFileServer.serve(req, rsp, jsData, DataFileServer.JAVASCRIPT_CONTENT_TYPE);
+      } else {
+         DataFileServer.serve(req, rsp, new File(getRun().getRootDir(), dataFileName), DataFileServer.JAVASCRIPT_CONTENT_TYPE);
+      }
    }
 
    @Override
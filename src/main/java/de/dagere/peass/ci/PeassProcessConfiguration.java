@@ -19,6 +19,13 @@ public class PeassProcessConfiguration implements Serializable {
    private final boolean displayLogs;
    private final boolean displayRCALogs;
 
+   private boolean incrementalTransfer = true;
+   private boolean phaseScopedTransfer = true;
+   private int resultParsingThreads = 0;
+   private String measurementNodeLabel = "";
+   private int measurementTimeBudget = 0;
+   private int rcaThreads = 1;
+
    public PeassProcessConfiguration(final boolean updateSnapshotDependencies, final MeasurementConfig measurementConfig, final DependencyConfig dependencyConfig, final EnvironmentVariables envVars,
          final boolean displayRTSLogs, final boolean displayLogs, final boolean displayRCALogs) {
       this.updateSnapshotDependencies = updateSnapshotDependencies;
@@ -57,4 +64,85 @@ public class PeassProcessConfiguration implements Serializable {
    public boolean isDisplayRCALogs() {
       return displayRCALogs;
    }
+
+   public boolean isIncrementalTransfer() {
+      return incrementalTransfer;
+   }
+
+   public void setIncrementalTransfer(final boolean incrementalTransfer) {
+      this.incrementalTransfer = incrementalTransfer;
+   }
+
+   public boolean isPhaseScopedTransfer() {
+      return phaseScopedTransfer;
+   }
+
+   public void setPhaseScopedTransfer(final boolean phaseScopedTransfer) {
+      this.phaseScopedTransfer = phaseScopedTransfer;
+   }
+
+   /**
+    * Count of threads reading the measurement result files; 0 means one thread per available processor
+    */
+   public int getResultParsingThreads() {
+      return resultParsingThreads;
+   }
+
+   public void setResultParsingThreads(final int resultParsingThreads) {
+      this.resultParsingThreads = resultParsingThreads;
+   }
+
+   /**
+    * Label of the agents the measurement is distributed to; if empty, the measurement is executed in the workspace of the build
+    */
+   public String getMeasurementNodeLabel() {
+      return measurementNodeLabel;
+   }
+
+   public void setMeasurementNodeLabel(final String measurementNodeLabel) {
+      this.measurementNodeLabel = measurementNodeLabel;
+   }
+
+   public boolean isDistributedMeasurement() {
+      return measurementNodeLabel != null && !measurementNodeLabel.trim().isEmpty();
+   }
+
+   /**
+    * Time budget of the measurement in minutes; if the predicted duration is higher, VMs of low-risk tests are skipped. 0 means no budget.
+    */
+   public int getMeasurementTimeBudget() {
+      return measurementTimeBudget;
+   }
+
+   public void setMeasurementTimeBudget(final int measurementTimeBudget) {
+      this.measurementTimeBudget = measurementTimeBudget;
+   }
+
+   /**
+    * Count of testcases analyzed concurrently by the root cause analysis, each in an isolated copy of the project
+    */
+   public int getRcaThreads() {
+      return rcaThreads;
+   }
+
+   public void setRcaThreads(final int rcaThreads) {
+      this.rcaThreads = rcaThreads;
+   }
+
+   /**
+    * Returns a copy of the configuration which measures the given count of VMs
+    */
+   public PeassProcessConfiguration withVMs(final int vms) {
+      MeasurementConfig changedConfig = new MeasurementConfig(measurementConfig);
+      changedConfig.setVms(vms);
+      PeassProcessConfiguration copy = new PeassProcessConfiguration(updateSnapshotDependencies, changedConfig, dependencyConfig, envVars,
+            displayRTSLogs, displayLogs, displayRCALogs);
+      copy.setIncrementalTransfer(incrementalTransfer);
+      copy.setPhaseScopedTransfer(phaseScopedTransfer);
+      copy.setResultParsingThreads(resultParsingThreads);
+      copy.setMeasurementNodeLabel(measurementNodeLabel);
+      copy.setMeasurementTimeBudget(measurementTimeBudget);
+      copy.setRcaThreads(rcaThreads);
+      return copy;
+   }
 }
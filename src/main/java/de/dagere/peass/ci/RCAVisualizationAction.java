@@ -1,19 +1,35 @@
 package de.dagere.peass.ci;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 
+import de.dagere.peass.ci.helper.DataFileServer;
+import hudson.model.Item;
+
+/**
+ * Shows the root cause analysis of one change; the data is kept in a file of the build folder and loaded by the page from {@link #doData}.
+ */
 public class RCAVisualizationAction extends VisibleAction {
 
    private String displayName;
-   private final String jsData;
+   private final String dataFileName;
+   /**
+    * Data of builds created before the data was kept in the build folder
+    */
+   private String jsData;
    
-   public RCAVisualizationAction(final String displayName, final String jsData) {
+   /**
+    * @param dataFileName Path of the data file, relative to the build folder
+    */
+   public RCAVisualizationAction(final String displayName, final String dataFileName) {
       this.displayName = displayName;
-      this.jsData = jsData;
+      this.dataFileName = dataFileName;
    }
    
    @Override
@@ -36,9 +52,17 @@ public class RCAVisualizationAction extends VisibleAction {
       String content = IOUtils.toString(cssStream, StandardCharsets.UTF_8);
       return content;
    }
-   
-   public String getDataJS() throws IOException {
-      return jsData;
-      
+
+   public String getDataFileName() {
+      return dataFileName;
+   }
+
+   public void doData(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      getRun().checkPermission(Item.READ);
+      if (jsData != null) {
+         DataFileServer.serve(req, rsp, jsData, DataFileServer.JAVASCRIPT_CONTENT_TYPE);
+      } else {
+         DataFileServer.serve(req, rsp, new File(getRun().getRootDir(), dataFileName), DataFileServer.JAVASCRIPT_CONTENT_TYPE);
+      }
    }
 }
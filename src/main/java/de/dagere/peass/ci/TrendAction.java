@@ -3,24 +3,33 @@ package de.dagere.peass.ci;
 import java.io.File;
 import java.io.IOException;
 import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
-import de.dagere.peass.ci.persistence.BuildMeasurementValues;
-import de.dagere.peass.ci.persistence.TestMeasurementValues;
-import de.dagere.peass.ci.persistence.TrendFileUtil;
-import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.ci.persistence.TrendCache;
+import de.dagere.peass.ci.persistence.TrendDownsampler;
+import de.dagere.peass.ci.persistence.TrendModel;
+import de.dagere.peass.ci.persistence.TrendSeries;
+import de.dagere.peass.ci.persistence.TrendWindow;
+import de.dagere.peass.utils.Constants;
 import hudson.model.Action;
+import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.Project;
 
 public class TrendAction implements Action {
 
+   private static final int DEFAULT_MAX_POINTS = 500;
+   private static final int MAX_POINTS_LIMIT = 10000;
+
    private Job<?, ?> project;
 
    public TrendAction(final Job<?, ?> project) {
@@ -43,72 +52,103 @@ public class TrendAction implements Action {
     * Gets a mapping from buildnumber to mean value of the measurement of the build; this returns a LinkedHashMap since the order of the values needs to be guaranteed
     */
    public LinkedHashMap<Integer, Double> getMeanMap(final String testcase) throws InterruptedException, IOException {
-      final LinkedHashMap<Integer, Double> meanMap = new LinkedHashMap<>();
-
-      BuildMeasurementValues values = readValues();
-
-      TestMeasurementValues testMeasurementValues = values.getValues().get(testcase);
-      for (Map.Entry<Integer, TestcaseStatistic> vals : testMeasurementValues.getStatistics().entrySet()) {
-         meanMap.put(vals.getKey(), vals.getValue().getMeanCurrent());
-      }
-
-      return meanMap;
+      TrendSeries series = getSeries(testcase);
+      return toMap(series.getBuilds(), series.getMeans());
    }
 
    public LinkedHashMap<Integer, Double> getLowerBound(final String testcase) throws JsonParseException, JsonMappingException, InterruptedException, IOException {
-      final LinkedHashMap<Integer, Double> deviationMap = new LinkedHashMap<>();
-
-      BuildMeasurementValues values = readValues();
-
-      TestMeasurementValues testMeasurementValues = values.getValues().get(testcase);
-      for (Map.Entry<Integer, TestcaseStatistic> vals : testMeasurementValues.getStatistics().entrySet()) {
-         deviationMap.put(vals.getKey(), vals.getValue().getMeanCurrent() - vals.getValue().getDeviationCurrent());
-      }
-
-      return deviationMap;
+      TrendSeries series = getSeries(testcase);
+      return toMap(series.getBuilds(), series.getLowerBounds());
    }
 
    public LinkedHashMap<Integer, Double> getUpperBound(final String testcase) throws JsonParseException, JsonMappingException, InterruptedException, IOException {
-      final LinkedHashMap<Integer, Double> deviationMap = new LinkedHashMap<>();
-
-      BuildMeasurementValues values = readValues();
+      TrendSeries series = getSeries(testcase);
+      return toMap(series.getBuilds(), series.getUpperBounds());
+   }
 
-      TestMeasurementValues testMeasurementValues = values.getValues().get(testcase);
-      for (Map.Entry<Integer, TestcaseStatistic> vals : testMeasurementValues.getStatistics().entrySet()) {
-         deviationMap.put(vals.getKey(), vals.getValue().getMeanCurrent() + vals.getValue().getDeviationCurrent());
+   private LinkedHashMap<Integer, Double> toMap(final int[] builds, final double[] values) {
+      final LinkedHashMap<Integer, Double> map = new LinkedHashMap<>();
+      for (int i = 0; i < builds.length; i++) {
+         map.put(builds[i], values[i]);
       }
-
-      return deviationMap;
+      return map;
    }
 
    public Set<String> getTestcases() throws JsonParseException, JsonMappingException, InterruptedException, IOException {
-      BuildMeasurementValues values = readValues();
-      return values.getValues().keySet();
+      return readModel().getTestcases();
+   }
+
+   public TrendSeries getSeries(final String testcase) throws IOException {
+      return readModel().getSeries(testcase);
    }
 
    public String getBuildnumbersReadable(final String testcase) throws InterruptedException, IOException {
-      return getMeanMap(testcase).keySet().toString();
+      return getSeries(testcase).getBuildsReadable();
    }
 
    public String getMeansReadable(final String testcase) throws InterruptedException, IOException {
-      return getMeanMap(testcase).values().toString();
+      return getSeries(testcase).getMeansReadable();
    }
 
    public String getLowerBoundReadable(final String testcase) throws InterruptedException, IOException {
-      return getLowerBound(testcase).values().toString();
+      return getSeries(testcase).getLowerBoundsReadable();
    }
 
    public String getUpperBoundReadable(final String testcase) throws InterruptedException, IOException {
-      return getUpperBound(testcase).values().toString();
+      return getSeries(testcase).getUpperBoundsReadable();
+   }
+
+   public Job<?, ?> getProject() {
+      return project;
+   }
+
+   /**
+    * Returns the series of one testcase as JSON, e.g. <code>series?testcase=DemoTest%23methodA&amp;from=10&amp;to=200&amp;maxPoints=500&amp;mode=lttb</code>. All
+    * parameters except testcase are optional; mode is lttb (default) or minmax.
+    */
+   public void doSeries(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      project.checkPermission(Item.READ);
+
+      final String testcase = req.getParameter("testcase");
+      final TrendSeries series = testcase != null ? getSeries(testcase) : null;
+      if (series == null) {
+         rsp.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown testcase: " + testcase);
+         return;
+      }
+
+      final TrendSeries window;
+      final int maxPoints;
+      final TrendDownsampler.Mode mode;
+      try {
+         final int from = getIntParameter(req, "from", Integer.MIN_VALUE);
+         final int to = getIntParameter(req, "to", Integer.MAX_VALUE);
+         maxPoints = Math.min(getIntParameter(req, "maxPoints", DEFAULT_MAX_POINTS), MAX_POINTS_LIMIT);
+         mode = TrendDownsampler.Mode.fromString(req.getParameter("mode"));
+         window = series.window(from, to);
+      } catch (IllegalArgumentException e) {
+         rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+         return;
+      }
+
+      final TrendWindow result = new TrendWindow(testcase, window.size(), TrendDownsampler.downsample(window, maxPoints, mode));
+      rsp.setContentType("application/json;charset=UTF-8");
+      Constants.OBJECTMAPPER.writeValue(rsp.getOutputStream(), result);
+   }
+
+   private int getIntParameter(final StaplerRequest req, final String name, final int defaultValue) {
+      final String value = req.getParameter(name);
+      if (value == null || value.isEmpty()) {
+         return defaultValue;
+      }
+      return Integer.parseInt(value);
    }
 
-   private BuildMeasurementValues readValues() throws InterruptedException, IOException, JsonParseException, JsonMappingException {
+   private TrendModel readModel() throws IOException {
       if (project instanceof WorkflowJob || project instanceof Project) {
          File localWorkspace = new File(project.getRootDir(), "peass-data");
-         BuildMeasurementValues values = TrendFileUtil.readMeasurementValues(localWorkspace);
-         return values;
+         return TrendCache.getModel(localWorkspace);
       } else {
-         return null;
+         return TrendModel.EMPTY;
       }
    }
 
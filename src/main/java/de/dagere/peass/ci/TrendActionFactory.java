@@ -1,8 +1,9 @@
 package de.dagere.peass.ci;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 
+import de.dagere.peass.ci.metrics.PhaseMetricsTrendAction;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.model.Action;
@@ -21,7 +22,7 @@ public class TrendActionFactory extends TransientActionFactory<Job> {
    @Override
    public Collection<? extends Action> createFor(@NonNull final Job project) {
 
-      return Collections.singleton(new TrendAction(project));
+      return Arrays.asList(new TrendAction(project), new PhaseMetricsTrendAction(project));
    }
 
 }
\ No newline at end of file
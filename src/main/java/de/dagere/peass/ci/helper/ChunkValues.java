@@ -0,0 +1,79 @@
+package de.dagere.peass.ci.helper;
+
+import java.util.Arrays;
+
+/**
+ * The results of the first chunk of a KoPeMe result file as primitive columns: one entry per VM result with its value, iteration count, repetition count and
+ * version.
+ */
+public class ChunkValues {
+   private final String clazz;
+   private final String method;
+
+   private int size = 0;
+   private double[] values = new double[16];
+   private long[] iterations = new long[16];
+   private long[] repetitions = new long[16];
+   private String[] versions = new String[16];
+
+   public ChunkValues(final String clazz, final String method) {
+      this.clazz = clazz;
+      this.method = method;
+   }
+
+   void addResult(final double value, final long resultIterations, final long resultRepetitions, final String version) {
+      if (size == values.length) {
+         values = Arrays.copyOf(values, size * 2);
+         iterations = Arrays.copyOf(iterations, size * 2);
+         repetitions = Arrays.copyOf(repetitions, size * 2);
+         versions = Arrays.copyOf(versions, size * 2);
+      }
+      values[size] = value;
+      iterations[size] = resultIterations;
+      repetitions[size] = resultRepetitions;
+      versions[size] = version;
+      size++;
+   }
+
+   public String getClazz() {
+      return clazz;
+   }
+
+   public String getMethod() {
+      return method;
+   }
+
+   public int size() {
+      return size;
+   }
+
+   public long getMinIterations() {
+      long min = Long.MAX_VALUE;
+      for (int i = 0; i < size; i++) {
+         min = Math.min(min, iterations[i]);
+      }
+      return min;
+   }
+
+   public long getMinRepetitions() {
+      long min = Long.MAX_VALUE;
+      for (int i = 0; i < size; i++) {
+         min = Math.min(min, repetitions[i]);
+      }
+      return min;
+   }
+
+   /**
+    * Returns the values of all results of the given version that were measured with the given iteration and repetition count, in file order
+    */
+   public double[] getValues(final String version, final long allIterations, final long expectedRepetitions) {
+      double[] selected = new double[size];
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+         if (iterations[i] == allIterations && repetitions[i] == expectedRepetitions && version.equals(versions[i])) {
+            selected[count++] = values[i];
+         }
+      }
+      return Arrays.copyOf(selected, count);
+   }
+}
@@ -0,0 +1,83 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Streams the data file of a visualization to the browser. Since the files of a build do not change, the ETag is derived from size and modification time
+ * and browsers may cache the data; the content is gzip compressed if the browser accepts it.
+ */
+public class DataFileServer {
+
+   public static final String JAVASCRIPT_CONTENT_TYPE = "application/javascript;charset=UTF-8";
+
+   private static final String CACHE_CONTROL = "private, max-age=86400";
+
+   private DataFileServer() {
+   }
+
+   public static void serve(final StaplerRequest req, final StaplerResponse rsp, final File dataFile, final String contentType) throws IOException {
+      if (dataFile == null || !dataFile.exists()) {
+         rsp.sendError(HttpServletResponse.SC_NOT_FOUND, "Visualization data does not exist");
+         return;
+      }
+      String etag = "\"" + Long.toHexString(dataFile.length()) + "-" + Long.toHexString(dataFile.lastModified()) + "\"";
+      if (isNotModified(req, rsp, etag)) {
+         return;
+      }
+      try (InputStream input = Files.newInputStream(dataFile.toPath())) {
+         write(req, rsp, input, contentType);
+      }
+   }
+
+   /**
+    * Serves data which is held in memory, i.e. the data of builds created before the data was kept in files
+    */
+   public static void serve(final StaplerRequest req, final StaplerResponse rsp, final String data, final String contentType) throws IOException {
+      String etag = "\"" + Integer.toHexString(data.hashCode()) + "-" + Integer.toHexString(data.length()) + "\"";
+      if (isNotModified(req, rsp, etag)) {
+         return;
+      }
+      try (InputStream input = IOUtils.toInputStream(data, StandardCharsets.UTF_8)) {
+         write(req, rsp, input, contentType);
+      }
+   }
+
+   private static boolean isNotModified(final StaplerRequest req, final StaplerResponse rsp, final String etag) {
+      rsp.setHeader("ETag", etag);
+      rsp.setHeader("Cache-Control", CACHE_CONTROL);
+      String ifNoneMatch = req.getHeader("If-None-Match");
+      if (ifNoneMatch != null && (ifNoneMatch.equals(etag) || ifNoneMatch.equals("*"))) {
+         rsp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+         return true;
+      }
+      return false;
+   }
+
+   private static void write(final StaplerRequest req, final StaplerResponse rsp, final InputStream input, final String contentType) throws IOException {
+      rsp.setContentType(contentType);
+      rsp.setHeader("Vary", "Accept-Encoding");
+      String acceptEncoding = req.getHeader("Accept-Encoding");
+      if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+         rsp.setHeader("Content-Encoding", "gzip");
+         try (OutputStream gzip = new GZIPOutputStream(rsp.getOutputStream())) {
+            IOUtils.copyLarge(input, gzip);
+         }
+      } else {
+         OutputStream output = rsp.getOutputStream();
+         IOUtils.copyLarge(input, output);
+         output.flush();
+      }
+   }
+}
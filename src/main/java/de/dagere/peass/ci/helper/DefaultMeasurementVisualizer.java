@@ -2,93 +2,73 @@ package de.dagere.peass.ci.helper;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-import javax.xml.bind.JAXBException;
-
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.google.common.io.Files;
 
-import de.dagere.kopeme.datastorage.XMLDataLoader;
-import de.dagere.kopeme.generated.Kopemedata;
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.MeasurementVisualizationAction;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
-import de.dagere.peass.utils.Constants;
-import de.dagere.peass.visualization.GraphNode;
-import de.dagere.peass.visualization.KoPeMeTreeConverter;
 import hudson.model.Run;
-import io.jenkins.cli.shaded.org.apache.commons.io.filefilter.WildcardFileFilter;
 
 public class DefaultMeasurementVisualizer {
    private static final Logger LOG = LogManager.getLogger(DefaultMeasurementVisualizer.class);
 
-   private final File dataFolder;
    private final String version;
    private final Run<?, ?> run;
    private final VisualizationFolderManager visualizationFolders;
    private final Set<String> tests;
    private final Map<String, TestcaseStatistic> noWarmupStatistics = new HashMap<>();
 
-   public DefaultMeasurementVisualizer(final File dataFolder, final String version, final Run<?, ?> run, final VisualizationFolderManager visualizationFolders,
-         final Set<String> tests) {
-      this.dataFolder = dataFolder;
+   public DefaultMeasurementVisualizer(final String version, final Run<?, ?> run, final VisualizationFolderManager visualizationFolders, final Set<String> tests) {
       this.version = version;
       this.run = run;
       this.visualizationFolders = visualizationFolders;
       this.tests = tests;
    }
 
-   public void visualizeMeasurements() {
+   /**
+    * Creates the visualization from a summary created by {@link MeasurementSummaryCreator}, without reading the measurement files again
+    */
+   public void visualizeMeasurements(final MeasurementSummary summary) {
       String longestPrefix = RCAVisualizer.getLongestPrefix(tests);
-      LOG.debug("Prefix: {} Keys: {}", longestPrefix, tests);
-
-      File detailResultsFolder = new File(dataFolder, "measurements");
-
-      File[] files = dataFolder.listFiles((FileFilter) new WildcardFileFilter("*.xml"));
-      LOG.debug("Searching in {} Files: {}", dataFolder, files != null ? files.length : "no files");
-      if (files != null) {
-         for (File testcaseFile : files) {
-            try {
-               Kopemedata data = XMLDataLoader.loadData(testcaseFile);
-
-               TestCase testcase = new TestCase(data.getTestcases(), "");
+      for (TestcaseSummary testcaseSummary : summary.getTestcases()) {
+         try {
+            addVisualization(longestPrefix, testcaseSummary.getTestcase(), testcaseSummary.getNoWarmupStatistic(), testcaseSummary.getTreeJSON());
+         } catch (IOException e) {
+            e.printStackTrace();
+         }
+      }
+   }
 
-               KoPeMeTreeConverter treeConverter = new KoPeMeTreeConverter(detailResultsFolder, version, testcase);
-               File testcaseVisualizationFile = generateJSFile(testcase, treeConverter);
+   private void addVisualization(final String longestPrefix, final TestCase testcase, final TestcaseStatistic statistic, final String treeJSON) throws IOException {
+      File testcaseVisualizationFile = generateJSFile(testcase, statistic, treeJSON);
 
-               LOG.debug("Adding action: " + testcase.getExecutable());
+      LOG.debug("Adding action: " + testcase.getExecutable());
 
-               String name = testcase.getExecutable().replace("#", "_").substring(longestPrefix.length());
+      String name = testcase.getExecutable().replace("#", "_").substring(longestPrefix.length());
 
-               final String content = FileUtils.readFileToString(testcaseVisualizationFile, StandardCharsets.UTF_8);
-               run.addAction(new MeasurementVisualizationAction("measurement_" + name, content));
-            } catch (JAXBException e) {
-               e.printStackTrace();
-            } catch (IOException e) {
-               e.printStackTrace();
-            }
-         }
-      }
+      File measurementResults = visualizationFolders.getMeasurementResultFolder();
+      FileUtils.copyFile(testcaseVisualizationFile, new File(measurementResults, testcaseVisualizationFile.getName()));
+      ActionDispatcher.get(run, ActionDispatcher.MEASUREMENTS).addAction(new MeasurementVisualizationAction("measurement_" + name, measurementResults.getName() + "/" + testcaseVisualizationFile.getName()));
    }
 
    public Map<String, TestcaseStatistic> getNoWarmupStatistics() {
       return noWarmupStatistics;
    }
 
-   private File generateJSFile(final TestCase testcase, final KoPeMeTreeConverter treeConverter) throws IOException {
-      GraphNode kopemeDataNode = treeConverter.getData();
-
-      LOG.info("Statistic: {}", kopemeDataNode.getStatistic());
-      noWarmupStatistics.put(testcase.getExecutable(), kopemeDataNode.getStatistic());
+   private File generateJSFile(final TestCase testcase, final TestcaseStatistic statistic, final String treeJSON) throws IOException {
+      LOG.info("Statistic: {}", statistic);
+      noWarmupStatistics.put(testcase.getExecutable(), statistic);
 
       File versionVisualizationFolder = new File(visualizationFolders.getVisualizationFolder(), version);
       File kopemeVisualizationFolder = new File(versionVisualizationFolder, "pure_kopeme");
@@ -96,15 +76,15 @@ public class DefaultMeasurementVisualizer {
          LOG.error("Creating file {} was not possibley", kopemeVisualizationFolder);
       }
       File testcaseVisualizationFile = new File(kopemeVisualizationFolder, testcase.getClazz() + "_" + testcase.getMethod() + ".json");
-      writeDataJS(testcaseVisualizationFile, kopemeDataNode);
+      writeDataJS(testcaseVisualizationFile, treeJSON);
       return testcaseVisualizationFile;
    }
 
-   private void writeDataJS(final File destFile, final GraphNode kopemeDataNode) throws IOException {
+   private void writeDataJS(final File destFile, final String treeJSON) throws IOException {
       try (final BufferedWriter fileWriter = Files.newWriter(destFile, StandardCharsets.UTF_8)) {
          fileWriter.write("var treeData = {};\n\n");
          fileWriter.write("var kopemeData = [\n");
-         fileWriter.write(Constants.OBJECTMAPPER.writeValueAsString(kopemeDataNode));
+         fileWriter.write(treeJSON);
          fileWriter.write("];\n");
       }
 
@@ -2,32 +2,45 @@ package de.dagere.peass.ci.helper;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
 import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import de.dagere.kopeme.datastorage.XMLDataLoader;
 import de.dagere.kopeme.generated.Kopemedata;
 import de.dagere.kopeme.generated.TestcaseType;
 import de.dagere.kopeme.generated.TestcaseType.Datacollector.Chunk;
 import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.measurement.dataloading.MultipleVMTestUtil;
 import de.dagere.peass.measurement.dataloading.ResultLoader;
 import io.jenkins.cli.shaded.org.apache.commons.io.filefilter.WildcardFileFilter;
 
 public class HistogramReader {
 
+   private static final Logger LOG = LogManager.getLogger(HistogramReader.class);
+
    private final MeasurementConfig measurementConfig;
    private final File fullResultsFolder;
    private Map<String, MeasurementConfig> updatedConfigurations = new HashMap<>();
+   private boolean streaming = true;
 
    public HistogramReader(final MeasurementConfig measurementConfig, final File fullResultsFolder) {
       this.measurementConfig = measurementConfig;
       this.fullResultsFolder = fullResultsFolder;
    }
 
+   /**
+    * Reads the histograms of all result files of the folder; the files are read in the same way as by {@link MeasurementSummaryCreator}, which additionally
+    * creates the tree visualization and reads the files in parallel.
+    */
    public Map<String, HistogramValues> readMeasurements() throws JAXBException {
       final Map<String, HistogramValues> measurements = new TreeMap<>();
       if (fullResultsFolder.exists() && fullResultsFolder.isDirectory()) {
@@ -38,28 +51,75 @@ public class HistogramReader {
          }
 
          for (File xmlResultFile : xmlFiles) {
-            readFile(measurements, xmlResultFile);
+            merge(measurements, readFile(xmlResultFile));
          }
       }
       return measurements;
    }
-   
+
    public Map<String, MeasurementConfig> getUpdatedConfigurations() {
       return updatedConfigurations;
    }
 
-   private void readFile(final Map<String, HistogramValues> measurements, final File xmlResultFile) throws JAXBException {
+   /**
+    * Defines whether result files are read by {@link StreamingChunkReader} (default) or by JAXB; JAXB is also used if streaming fails.
+    */
+   public void setStreaming(final boolean streaming) {
+      this.streaming = streaming;
+   }
+
+   /**
+    * Reads the histogram of one result file; this is thread-safe, so result files can be read concurrently and merged afterwards.
+    */
+   TestcaseHistogram readFile(final File xmlResultFile) throws JAXBException {
+      if (streaming) {
+         try {
+            ChunkValues chunk = StreamingChunkReader.readFirstChunk(xmlResultFile);
+            if (chunk != null) {
+               return createHistogram(chunk);
+            }
+         } catch (XMLStreamException | IOException | RuntimeException e) {
+            LOG.info("Streaming {} failed, falling back to JAXB: {}", xmlResultFile, e.getMessage());
+         }
+      }
       Kopemedata data = XMLDataLoader.loadData(xmlResultFile);
+      return createHistogram(data);
+   }
+
+   private TestcaseHistogram createHistogram(final ChunkValues chunk) {
+      TestCase testcase = new TestCase(chunk.getClazz(), chunk.getMethod(), "");
+      String testcaseKey = chunk.getClazz() + "#" + chunk.getMethod();
+
+      MeasurementConfig currentConfig = getCurrentConfiguration(chunk.getMinIterations(), chunk.getMinRepetitions());
+
+      double[] valuesAfter = chunk.getValues(currentConfig.getExecutionConfig().getVersion(), currentConfig.getAllIterations(), currentConfig.getRepetitions());
+      double[] valuesBefore = chunk.getValues(currentConfig.getExecutionConfig().getVersionOld(), currentConfig.getAllIterations(), currentConfig.getRepetitions());
+
+      return new TestcaseHistogram(testcase, testcaseKey, new HistogramValues(valuesAfter, valuesBefore, currentConfig), currentConfig);
+   }
+
+   private TestcaseHistogram createHistogram(final Kopemedata data) {
       // This assumes measurements are only executed once; if this is not the case, the matching result would need to be searched
-      final TestcaseType testcase = data.getTestcases().getTestcase().get(0);
-      Chunk chunk = testcase.getDatacollector().get(0).getChunk().get(0);
-      String testcaseKey = data.getTestcases().getClazz() + "#" + testcase.getName();
-      
-      MeasurementConfig currentConfig = getUpdatedConfiguration(testcaseKey, testcase, chunk);
-      
+      final TestcaseType testcaseData = data.getTestcases().getTestcase().get(0);
+      Chunk chunk = testcaseData.getDatacollector().get(0).getChunk().get(0);
+      TestCase testcase = new TestCase(data.getTestcases(), "");
+      String testcaseKey = data.getTestcases().getClazz() + "#" + testcaseData.getName();
+
+      MeasurementConfig currentConfig = getCurrentConfiguration(MultipleVMTestUtil.getMinIterationCount(chunk.getResult()),
+            MultipleVMTestUtil.getMinRepetitionCount(chunk.getResult()));
+
       HistogramValues values = loadResults(chunk, currentConfig);
-        
-      measurements.put(testcaseKey, values);
+
+      return new TestcaseHistogram(testcase, testcaseKey, values, currentConfig);
+   }
+
+   void merge(final Map<String, HistogramValues> measurements, final TestcaseHistogram histogram) {
+      MeasurementConfig currentConfig = histogram.currentConfig;
+      if (currentConfig.getAllIterations() != measurementConfig.getAllIterations() ||
+            currentConfig.getRepetitions() != measurementConfig.getRepetitions()) {
+         updatedConfigurations.put(histogram.testcaseKey, currentConfig);
+      }
+      measurements.put(histogram.testcaseKey, histogram.values);
    }
 
    private HistogramValues loadResults(final Chunk chunk, final MeasurementConfig currentConfig) {
@@ -70,24 +130,37 @@ public class HistogramReader {
       return values;
    }
 
-   private MeasurementConfig getUpdatedConfiguration(final String testcaseKey, final TestcaseType testcase, final Chunk chunk) {
+   private MeasurementConfig getCurrentConfiguration(final long minIterations, final long minRepetitions) {
       MeasurementConfig currentConfig = new MeasurementConfig(measurementConfig);
-      int iterations = (int) MultipleVMTestUtil.getMinIterationCount(chunk.getResult());
+      int iterations = (int) minIterations;
       if (iterations != currentConfig.getAllIterations()) {
          currentConfig.setIterations((int) Math.ceil(iterations/2d));
          currentConfig.setWarmup(iterations/2);
       }
       
-      currentConfig.setRepetitions((int) MultipleVMTestUtil.getMinRepetitionCount(chunk.getResult()));
-      
-      if (currentConfig.getAllIterations() != measurementConfig.getAllIterations() ||
-            currentConfig.getRepetitions() != measurementConfig.getRepetitions()) {
-         updatedConfigurations.put(testcaseKey, currentConfig);
-      }
+      currentConfig.setRepetitions((int) minRepetitions);
       return currentConfig;
    }
    
    public boolean measurementConfigurationUpdated() {
       return !updatedConfigurations.isEmpty();
    }
-}
\ No newline at end of file
+
+   static class TestcaseHistogram {
+      private final TestCase testcase;
+      private final String testcaseKey;
+      private final HistogramValues values;
+      private final MeasurementConfig currentConfig;
+
+      TestcaseHistogram(final TestCase testcase, final String testcaseKey, final HistogramValues values, final MeasurementConfig currentConfig) {
+         this.testcase = testcase;
+         this.testcaseKey = testcaseKey;
+         this.values = values;
+         this.currentConfig = currentConfig;
+      }
+
+      TestCase getTestcase() {
+         return testcase;
+      }
+   }
+}
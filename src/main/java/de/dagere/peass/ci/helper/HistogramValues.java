@@ -1,5 +1,6 @@
 package de.dagere.peass.ci.helper;
 
+import java.io.Serializable;
 import java.util.Arrays;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
@@ -7,7 +8,10 @@ import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.visualization.KoPeMeTreeConverter;
 
-public class HistogramValues {
+public class HistogramValues implements Serializable {
+   
+   private static final long serialVersionUID = -3003474437924683218L;
+
    
    private static final String NANOSECONDS = "ns";
    private static final String MICROSECONDS = "\u00B5s";
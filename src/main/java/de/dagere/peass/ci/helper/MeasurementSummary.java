@@ -0,0 +1,90 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+/**
+ * Everything the controller displays about a measurement, extracted from the KoPeMe XML files on the agent by {@link MeasurementSummaryCreator}. It is
+ * transfered over the remoting channel, so the controller does not need to parse the raw measurement data.
+ */
+public class MeasurementSummary implements Serializable {
+
+   private static final long serialVersionUID = -3591046470417826305L;
+
+   private final Map<String, HistogramValues> measurements = new TreeMap<>();
+   private final Map<String, MeasurementConfig> updatedConfigurations = new HashMap<>();
+   private final List<TestcaseSummary> testcases = new ArrayList<>();
+   private final Map<TestCase, boolean[]> currentRunning = new HashMap<>();
+   private final Map<TestCase, boolean[]> predecessorRunning = new HashMap<>();
+   private int parsedFiles;
+
+   public Map<String, HistogramValues> getMeasurements() {
+      return measurements;
+   }
+
+   public Map<String, MeasurementConfig> getUpdatedConfigurations() {
+      return updatedConfigurations;
+   }
+
+   public List<TestcaseSummary> getTestcases() {
+      return testcases;
+   }
+
+   public void setRunStatus(final TestCase testcase, final boolean[] current, final boolean[] predecessor) {
+      currentRunning.put(testcase, current);
+      predecessorRunning.put(testcase, predecessor);
+   }
+
+   /**
+    * Returns whether the run status of the given VM is contained; if not, it needs to be checked from the result files
+    */
+   public boolean hasRunStatus(final TestCase testcase, final int vmId) {
+      boolean[] current = currentRunning.get(testcase);
+      return current != null && vmId < current.length;
+   }
+
+   public boolean isCurrentRunning(final TestCase testcase, final int vmId) {
+      return currentRunning.get(testcase)[vmId];
+   }
+
+   public boolean isPredecessorRunning(final TestCase testcase, final int vmId) {
+      return predecessorRunning.get(testcase)[vmId];
+   }
+
+   /**
+    * Returns the count of VMs which measured a version of a test with a result, according to the run status of all testcases
+    */
+   public int getMeasuredVMs() {
+      return countRunning(currentRunning) + countRunning(predecessorRunning);
+   }
+
+   private static int countRunning(final Map<TestCase, boolean[]> running) {
+      int count = 0;
+      for (boolean[] vms : running.values()) {
+         for (boolean vmRunning : vms) {
+            if (vmRunning) {
+               count++;
+            }
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Returns the count of result files read for the summary, including the detail files which were only read until their first result
+    */
+   public int getParsedFiles() {
+      return parsedFiles;
+   }
+
+   public void setParsedFiles(final int parsedFiles) {
+      this.parsedFiles = parsedFiles;
+   }
+}
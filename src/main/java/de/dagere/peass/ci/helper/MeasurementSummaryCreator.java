@@ -0,0 +1,139 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import javax.xml.bind.JAXBException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import de.dagere.peass.ci.helper.HistogramReader.TestcaseHistogram;
+import de.dagere.peass.ci.logs.CorrectRunChecker;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+import de.dagere.peass.visualization.GraphNode;
+import de.dagere.peass.visualization.KoPeMeTreeConverter;
+import io.jenkins.cli.shaded.org.apache.commons.io.filefilter.WildcardFileFilter;
+
+/**
+ * Creates the {@link MeasurementSummary} of a full results folder. This is the only place where measurement results are parsed: every aggregated XML file is
+ * only streamed once for histogram and tree, and the detail files of the VMs are only read until their first result for the run status. Histograms, tree
+ * visualization and log actions all read the resulting summary.
+ */
+public class MeasurementSummaryCreator {
+
+   private static final Logger LOG = LogManager.getLogger(MeasurementSummaryCreator.class);
+
+   private final MeasurementConfig measurementConfig;
+   private final File fullResultsFolder;
+   private int parallelism = 1;
+   private boolean streaming = true;
+
+   public MeasurementSummaryCreator(final MeasurementConfig measurementConfig, final File fullResultsFolder) {
+      this.measurementConfig = measurementConfig;
+      this.fullResultsFolder = fullResultsFolder;
+   }
+
+   /**
+    * Sets the count of threads reading result files; values below 1 use one thread per available processor.
+    */
+   public void setParallelism(final int parallelism) {
+      this.parallelism = parallelism;
+   }
+
+   /**
+    * Defines whether result files are read by {@link StreamingChunkReader} (default) or by JAXB; JAXB is also used if streaming fails.
+    */
+   public void setStreaming(final boolean streaming) {
+      this.streaming = streaming;
+   }
+
+   public MeasurementSummary createSummary(final Set<TestCase> tests) {
+      MeasurementSummary summary = new MeasurementSummary();
+      File detailResultsFolder = new File(fullResultsFolder, "measurements");
+
+      HistogramReader histogramReader = new HistogramReader(measurementConfig, fullResultsFolder);
+      histogramReader.setStreaming(streaming);
+      int parsedFiles = 0;
+      File[] xmlFiles = fullResultsFolder.listFiles((FileFilter) new WildcardFileFilter("*.xml"));
+      if (xmlFiles != null) {
+         for (LoadedTestcase loaded : loadTestcases(histogramReader, xmlFiles, detailResultsFolder)) {
+            if (loaded != null) {
+               histogramReader.merge(summary.getMeasurements(), loaded.histogram);
+               summary.getTestcases().add(loaded.summary);
+               parsedFiles++;
+            }
+         }
+      } else {
+         LOG.info("No xml-Files were found in {}", fullResultsFolder);
+      }
+      summary.getUpdatedConfigurations().putAll(histogramReader.getUpdatedConfigurations());
+
+      for (TestCase testcase : tests) {
+         parsedFiles += addRunStatus(summary, detailResultsFolder, testcase);
+      }
+      summary.setParsedFiles(parsedFiles);
+      return summary;
+   }
+
+   private List<LoadedTestcase> loadTestcases(final HistogramReader histogramReader, final File[] xmlFiles, final File detailResultsFolder) {
+      try {
+         return new ParallelFileProcessor(parallelism).process(xmlFiles, xmlResultFile -> loadTestcase(histogramReader, xmlResultFile, detailResultsFolder));
+      } catch (ExecutionException e) {
+         throw new RuntimeException(e.getCause());
+      }
+   }
+
+   /**
+    * Reduces one result file to its histogram and summary in the worker thread; the file is streamed by {@link StreamingChunkReader}, so only the reduced
+    * values of all files are kept until they are merged.
+    */
+   private LoadedTestcase loadTestcase(final HistogramReader histogramReader, final File xmlResultFile, final File detailResultsFolder) {
+      try {
+         TestcaseHistogram histogram = histogramReader.readFile(xmlResultFile);
+
+         TestCase testcase = histogram.getTestcase();
+         KoPeMeTreeConverter treeConverter = new KoPeMeTreeConverter(detailResultsFolder, measurementConfig.getExecutionConfig().getVersion(), testcase);
+         GraphNode kopemeDataNode = treeConverter.getData();
+         TestcaseSummary testcaseSummary = new TestcaseSummary(testcase, kopemeDataNode.getStatistic(), Constants.OBJECTMAPPER.writeValueAsString(kopemeDataNode));
+         return new LoadedTestcase(histogram, testcaseSummary);
+      } catch (JAXBException | JsonProcessingException e) {
+         LOG.error("Could not summarize {}", xmlResultFile, e);
+         return null;
+      }
+   }
+
+   /**
+    * Adds the run status of every VM of the testcase and returns the count of detail files read for it
+    */
+   private int addRunStatus(final MeasurementSummary summary, final File detailResultsFolder, final TestCase testcase) {
+      int readFiles = 0;
+      boolean[] current = new boolean[measurementConfig.getVms()];
+      boolean[] predecessor = new boolean[measurementConfig.getVms()];
+      for (int vmId = 0; vmId < measurementConfig.getVms(); vmId++) {
+         CorrectRunChecker checker = new CorrectRunChecker(testcase, vmId, measurementConfig, detailResultsFolder);
+         current[vmId] = checker.isCurrentRunning();
+         predecessor[vmId] = checker.isPredecessorRunning();
+         readFiles += checker.getReadFiles();
+      }
+      summary.setRunStatus(testcase, current, predecessor);
+      return readFiles;
+   }
+
+   private static class LoadedTestcase {
+      private final TestcaseHistogram histogram;
+      private final TestcaseSummary summary;
+
+      LoadedTestcase(final TestcaseHistogram histogram, final TestcaseSummary summary) {
+         this.histogram = histogram;
+         this.summary = summary;
+      }
+   }
+}
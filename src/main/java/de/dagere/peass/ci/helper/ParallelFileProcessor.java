@@ -0,0 +1,93 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes files by a bounded pool of threads. The results are returned in the order of the file names, so merging them sequentially gives the same result
+ * as processing the files one after another.
+ */
+public class ParallelFileProcessor {
+
+   /**
+    * Processing step of one file; it is called concurrently, so it must not change shared state.
+    */
+   public interface FileFunction<T> {
+      T apply(File file) throws Exception;
+   }
+
+   private final int parallelism;
+
+   /**
+    * @param parallelism Maximum count of threads; values below 1 use one thread per available processor
+    */
+   public ParallelFileProcessor(final int parallelism) {
+      this.parallelism = parallelism < 1 ? Runtime.getRuntime().availableProcessors() : parallelism;
+   }
+
+   public int getParallelism() {
+      return parallelism;
+   }
+
+   /**
+    * Applies the function to all files and returns the results sorted by file name. If processing of a file fails, the exception of the first failed file (in
+    * file name order) is thrown as cause of an {@link ExecutionException}.
+    */
+   public <T> List<T> process(final File[] files, final FileFunction<T> function) throws ExecutionException {
+      File[] sortedFiles = files.clone();
+      Arrays.sort(sortedFiles, Comparator.comparing(File::getName));
+
+      List<T> results = new ArrayList<>(sortedFiles.length);
+      int threads = Math.min(parallelism, sortedFiles.length);
+      if (threads <= 1) {
+         for (File file : sortedFiles) {
+            try {
+               results.add(function.apply(file));
+            } catch (Exception e) {
+               throw new ExecutionException(e);
+            }
+         }
+         return results;
+      }
+
+      ExecutorService pool = Executors.newFixedThreadPool(threads, new ProcessorThreadFactory());
+      try {
+         List<Future<T>> futures = new ArrayList<>(sortedFiles.length);
+         for (File file : sortedFiles) {
+            futures.add(pool.submit(() -> function.apply(file)));
+         }
+         for (Future<T> future : futures) {
+            results.add(future.get());
+         }
+         return results;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new ExecutionException("Interrupted while processing files", e);
+      } finally {
+         pool.shutdownNow();
+      }
+   }
+
+   private static class ProcessorThreadFactory implements ThreadFactory {
+      private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+      private final int poolId = POOL_COUNT.incrementAndGet();
+      private final AtomicInteger threadCount = new AtomicInteger();
+
+      @Override
+      public Thread newThread(final Runnable runnable) {
+         Thread thread = new Thread(runnable, "peass-file-processor-" + poolId + "-" + threadCount.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      }
+   }
+}
@@ -2,8 +2,15 @@ package de.dagere.peass.ci.helper;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.bind.JAXBException;
 
@@ -20,6 +27,8 @@ import de.dagere.peass.analysis.changes.Change;
 import de.dagere.peass.analysis.changes.Changes;
 import de.dagere.peass.analysis.changes.ProjectChanges;
 import de.dagere.peass.ci.NonIncludedTestRemover;
+import de.dagere.peass.ci.helper.RCAResultIndex.RCAIndexEntry;
+import de.dagere.peass.ci.helper.RCAResultIndex.RCAStatus;
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependencyprocessors.ViewNotFoundException;
@@ -37,11 +46,19 @@ public class RCAExecutor {
 
    private static final Logger LOG = LogManager.getLogger(RCAExecutor.class);
 
+   /**
+    * Milliseconds to wait for cancelled analyses to end before their copies are deleted
+    */
+   private static final long CANCEL_TIMEOUT = 10 * 60 * 1000;
+
    private final MeasurementConfig config;
    private final File projectFolder;
    private final ProjectChanges changes;
    private final CauseSearcherConfig causeConfig;
    private final EnvironmentVariables env;
+   private final RCAResultIndex index;
+   private final RCAReuseCache reuseCache;
+   private int rcaThreads = 1;
 
    public RCAExecutor(final MeasurementConfig config, final File workspaceFolder, final ProjectChanges changes, final CauseSearcherConfig causeConfig,
          final EnvironmentVariables env) {
@@ -50,6 +67,16 @@ public class RCAExecutor {
       this.changes = changes;
       this.causeConfig = causeConfig;
       this.env = env;
+      File rcaFolder = new CauseSearchFolders(projectFolder).getRcaTreeFolder().getParentFile();
+      this.index = new RCAResultIndex(rcaFolder);
+      this.reuseCache = new RCAReuseCache(projectFolder, rcaFolder);
+   }
+
+   /**
+    * Sets the count of testcases analyzed concurrently; if more than one, every analysis runs in an isolated copy of the project
+    */
+   public void setRcaThreads(final int rcaThreads) {
+      this.rcaThreads = rcaThreads;
    }
 
    public void executeRCAs()
@@ -57,33 +84,144 @@ public class RCAExecutor {
       Changes versionChanges = changes.getVersion(config.getExecutionConfig().getVersion());
 
       boolean needsRCA = checkNeedsRCA(versionChanges);
+      index.save();
 
       if (needsRCA) {
          LOG.info("At least one testcase was not successfully executed in the last build for the current version - executing RCA");
 //         saveOldPeassFolder();
 
-         MeasurementConfig currentConfig = new MeasurementConfig(config);
-
+         List<TestCase> testsToAnalyze = new LinkedList<>();
          for (Entry<String, List<Change>> testcases : versionChanges.getTestcaseChanges().entrySet()) {
             for (Change change : testcases.getValue()) {
                final TestCase testCase = new TestCase(testcases.getKey(), change.getMethod());
                boolean match = NonIncludedTestRemover.isTestIncluded(testCase, config.getExecutionConfig());
                if (match) {
-                  try {
-                     analyseChange(currentConfig, testCase);
-                  } catch (Exception e) {
-                     System.out.println("Was unable to analyze: " + change.getMethod());
-                     e.printStackTrace();
-                  }
+                  testsToAnalyze.add(testCase);
                } else {
                   LOG.info("Skipping not included test: {}", testCase);
                }
             }
          }
+
+         if (rcaThreads > 1 && testsToAnalyze.size() > 1) {
+            executeParallel(testsToAnalyze);
+         } else {
+            MeasurementConfig currentConfig = new MeasurementConfig(config);
+            for (TestCase testCase : testsToAnalyze) {
+               try {
+                  if (reuseCachedResult(testCase)) {
+                     recordResult(testCase, RCAStatus.FINISHED);
+                  } else if (analyseChange(currentConfig, testCase, projectFolder)) {
+                     recordResult(testCase, RCAStatus.FINISHED);
+                     cacheResult(testCase);
+                  }
+               } catch (Exception e) {
+                  LOG.error("Was unable to analyze {}", testCase, e);
+                  recordResult(testCase, RCAStatus.FAILED);
+               }
+            }
+         }
+         index.save();
       }
 
    }
 
+   private void executeParallel(final List<TestCase> testsToAnalyze) throws IOException, InterruptedException {
+      List<TestCase> missingTests = new LinkedList<>();
+      for (TestCase testCase : testsToAnalyze) {
+         if (reuseCachedResult(testCase)) {
+            recordResult(testCase, RCAStatus.FINISHED);
+         } else if (needsExecution(testCase, getExpectedRCAFile(testCase))) {
+            missingTests.add(testCase);
+         }
+      }
+      if (missingTests.isEmpty()) {
+         return;
+      }
+      int threads = Math.min(rcaThreads, missingTests.size());
+      LOG.info("Analyzing {} testcases with {} threads", missingTests.size(), threads);
+      try (RCAWorkspacePool pool = new RCAWorkspacePool(projectFolder, threads)) {
+         ExecutorService executor = Executors.newFixedThreadPool(threads);
+         try {
+            List<Future<?>> results = new ArrayList<>();
+            for (TestCase testCase : missingTests) {
+               results.add(executor.submit(() -> {
+                  analyseInCopy(pool, testCase);
+                  return null;
+               }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+               try {
+                  results.get(i).get();
+               } catch (ExecutionException e) {
+                  LOG.error("Was unable to analyze {}", missingTests.get(i), e.getCause());
+               }
+            }
+         } finally {
+            stop(executor);
+         }
+      }
+   }
+
+   /**
+    * Cancels the analyses which are still running and waits until their threads ended, so the copies are not deleted while they are in use
+    */
+   private void stop(final ExecutorService executor) throws InterruptedException {
+      executor.shutdownNow();
+      if (!executor.awaitTermination(CANCEL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+         LOG.error("RCA threads did not end after cancellation");
+      }
+   }
+
+   private void analyseInCopy(final RCAWorkspacePool pool, final TestCase testCase) throws IOException, InterruptedException {
+      File copy = pool.acquire();
+      RCAStatus status = RCAStatus.FINISHED;
+      try {
+         // Every analysis gets its own configuration, since the execution changes it
+         analyseChange(new MeasurementConfig(config), testCase, copy);
+      } catch (Exception e) {
+         LOG.error("Was unable to analyze {}", testCase, e);
+         status = RCAStatus.FAILED;
+      } finally {
+         pool.release(copy);
+      }
+      recordResult(testCase, status);
+      if (status == RCAStatus.FINISHED) {
+         cacheResult(testCase);
+      }
+   }
+
+   private void recordResult(final TestCase testCase, final RCAStatus status) throws IOException {
+      index.record(config.getExecutionConfig().getVersion(), config.getExecutionConfig().getVersionOld(), testCase, status, getExpectedRCAFile(testCase));
+   }
+
+   /**
+    * Copies the result of an earlier RCA of the testcase if the sources of its call tree did not change; returns whether a result was reused
+    */
+   private boolean reuseCachedResult(final TestCase testCase) {
+      final File expectedResultFile = getExpectedRCAFile(testCase);
+      if (!needsExecution(testCase, expectedResultFile)) {
+         return false;
+      }
+      try {
+         return reuseCache.reuse(testCase, config.getExecutionConfig().getVersion(), config.getExecutionConfig().getVersionOld(), expectedResultFile);
+      } catch (IOException e) {
+         LOG.warn("Could not check for reusable RCA of {}", testCase, e);
+         return false;
+      }
+   }
+
+   private void cacheResult(final TestCase testCase) {
+      final File resultFile = getExpectedRCAFile(testCase);
+      if (resultFile.exists()) {
+         try {
+            reuseCache.record(testCase, config.getExecutionConfig().getVersion(), config.getExecutionConfig().getVersionOld(), resultFile);
+         } catch (IOException e) {
+            LOG.warn("Could not cache RCA of {}", testCase, e);
+         }
+      }
+   }
+
    private boolean checkNeedsRCA(final Changes versionChanges) throws IOException, JsonParseException, JsonMappingException {
       boolean needsRCA = false;
       for (Entry<String, List<Change>> testcases : versionChanges.getTestcaseChanges().entrySet()) {
@@ -95,9 +233,10 @@ public class RCAExecutor {
                if (!expectedResultFile.exists()) {
                   needsRCA = true;
                } else {
-                  CauseSearchData lastData = Constants.OBJECTMAPPER.readValue(expectedResultFile, CauseSearchData.class);
-                  if (lastData.getMeasurementConfig().getExecutionConfig().getVersion().equals(config.getExecutionConfig().getVersion())
-                        && lastData.getMeasurementConfig().getExecutionConfig().getVersionOld().equals(config.getExecutionConfig().getVersionOld())) {
+                  RCAIndexEntry lastResult = getIndexEntry(testCase, expectedResultFile);
+                  if (lastResult.getStatus() == RCAStatus.FINISHED
+                        && lastResult.getVersion().equals(config.getExecutionConfig().getVersion())
+                        && lastResult.getVersionOld().equals(config.getExecutionConfig().getVersionOld())) {
                      LOG.debug("Found version {} vs {} of testcase {}", config.getExecutionConfig().getVersion(), config.getExecutionConfig().getVersionOld(), testCase);
                      LOG.debug("RCA-file: {}", expectedResultFile.getAbsolutePath());
                   } else {
@@ -111,14 +250,41 @@ public class RCAExecutor {
       return needsRCA;
    }
 
-   private void analyseChange(final MeasurementConfig currentConfig, final TestCase testCase)
+   /**
+    * Returns the index entry of the result file; only if the file is not indexed yet or changed since indexing, it is parsed and indexed.
+    */
+   private RCAIndexEntry getIndexEntry(final TestCase testCase, final File expectedResultFile) throws IOException, JsonParseException, JsonMappingException {
+      String version = config.getExecutionConfig().getVersion();
+      RCAIndexEntry entry = index.getEntry(version, testCase, expectedResultFile);
+      if (entry == null) {
+         LOG.debug("Indexing RCA-file: {}", expectedResultFile.getAbsolutePath());
+         CauseSearchData lastData = Constants.OBJECTMAPPER.readValue(expectedResultFile, CauseSearchData.class);
+         String lastVersion = lastData.getMeasurementConfig().getExecutionConfig().getVersion();
+         String lastVersionOld = lastData.getMeasurementConfig().getExecutionConfig().getVersionOld();
+         index.record(lastVersion, lastVersionOld, testCase, RCAStatus.FINISHED, expectedResultFile);
+         entry = index.getEntry(lastVersion, testCase, expectedResultFile);
+      }
+      return entry;
+   }
+
+   private boolean analyseChange(final MeasurementConfig currentConfig, final TestCase testCase, final File executionFolder)
          throws IOException, InterruptedException, XmlPullParserException, AnalysisConfigurationException, ViewNotFoundException, JAXBException {
       final File expectedResultFile = getExpectedRCAFile(testCase);
       LOG.info("Testing {}", expectedResultFile);
-      if (!expectedResultFile.exists()) {
+      if (needsExecution(testCase, expectedResultFile)) {
          LOG.debug("Needs execution");
-         executeRCA(currentConfig, testCase);
+         executeRCA(currentConfig, testCase, executionFolder);
+         return true;
+      }
+      return false;
+   }
+
+   private boolean needsExecution(final TestCase testCase, final File expectedResultFile) {
+      if (!expectedResultFile.exists()) {
+         return true;
       }
+      RCAIndexEntry entry = index.getEntry(config.getExecutionConfig().getVersion(), testCase, expectedResultFile);
+      return entry != null && entry.getStatus() == RCAStatus.FAILED;
    }
 
    private File getExpectedRCAFile(final TestCase testCase) {
@@ -128,12 +294,12 @@ public class RCAExecutor {
       return expectedResultFile;
    }
 
-   private void executeRCA(final MeasurementConfig config, final TestCase testCase)
+   private void executeRCA(final MeasurementConfig config, final TestCase testCase, final File executionFolder)
          throws IOException, InterruptedException, XmlPullParserException, AnalysisConfigurationException, ViewNotFoundException, JAXBException {
       final CauseSearcherConfig causeSearcherConfig = new CauseSearcherConfig(testCase, causeConfig);
       config.setUseKieker(true);
 
-      final CauseSearchFolders alternateFolders = new CauseSearchFolders(projectFolder);
+      final CauseSearchFolders alternateFolders = new CauseSearchFolders(executionFolder);
       final BothTreeReader reader = new BothTreeReader(causeSearcherConfig, config, alternateFolders, env);
 
       CauseSearcher tester = RootCauseAnalysis.getCauseSeacher(config, causeSearcherConfig, alternateFolders, reader);
@@ -0,0 +1,226 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Index of the RCA result files of a project, stored next to the RCA tree folder. Every entry contains the versions, the status and the size, modification
+ * time and checksum of the result file, so checking whether an RCA is needed does not require parsing the result files, which contain whole call trees.
+ * If only the modification time of a result file differs, the checksum is compared; otherwise, if the state of a result file does not match its entry, the
+ * entry is not used and the file needs to be read again.
+ *
+ * @author DaGeRe
+ *
+ */
+public class RCAResultIndex {
+
+   private static final Logger LOG = LogManager.getLogger(RCAResultIndex.class);
+
+   public static final String INDEX_FILE_NAME = "rcaIndex.json";
+
+   public enum RCAStatus {
+      FINISHED, FAILED;
+   }
+
+   public static class RCAIndexEntry {
+      private String version;
+      private String versionOld;
+      private String testcase;
+      private RCAStatus status;
+      private long size;
+      private long lastModified;
+      private long checksum;
+
+      public String getVersion() {
+         return version;
+      }
+
+      public void setVersion(final String version) {
+         this.version = version;
+      }
+
+      public String getVersionOld() {
+         return versionOld;
+      }
+
+      public void setVersionOld(final String versionOld) {
+         this.versionOld = versionOld;
+      }
+
+      public String getTestcase() {
+         return testcase;
+      }
+
+      public void setTestcase(final String testcase) {
+         this.testcase = testcase;
+      }
+
+      public RCAStatus getStatus() {
+         return status;
+      }
+
+      public void setStatus(final RCAStatus status) {
+         this.status = status;
+      }
+
+      public long getSize() {
+         return size;
+      }
+
+      public void setSize(final long size) {
+         this.size = size;
+      }
+
+      public long getLastModified() {
+         return lastModified;
+      }
+
+      public void setLastModified(final long lastModified) {
+         this.lastModified = lastModified;
+      }
+
+      /**
+       * CRC32 of the result file at the time of indexing; -1 if no result file was written
+       */
+      public long getChecksum() {
+         return checksum;
+      }
+
+      public void setChecksum(final long checksum) {
+         this.checksum = checksum;
+      }
+
+      /**
+       * Checks whether the entry describes the current state of the result file
+       */
+      public boolean matches(final File resultFile) {
+         if (resultFile.exists()) {
+            return resultFile.length() == size && resultFile.lastModified() == lastModified;
+         } else {
+            return size == -1;
+         }
+      }
+
+      /**
+       * Checks whether the result file still has the indexed size and checksum; this is used if only the modification time differs, e.g. since the file
+       * was touched or copied, so the file does not need to be parsed again
+       */
+      public boolean hasSameContent(final File resultFile) {
+         if (!resultFile.exists() || resultFile.length() != size || checksum == -1) {
+            return false;
+         }
+         try {
+            return getChecksum(resultFile) == checksum;
+         } catch (IOException e) {
+            LOG.warn("Could not read {}", resultFile.getAbsolutePath(), e);
+            return false;
+         }
+      }
+   }
+
+   private final File indexFile;
+   private final Map<String, RCAIndexEntry> entries;
+   private boolean changed = false;
+
+   public RCAResultIndex(final File rcaFolder) {
+      indexFile = new File(rcaFolder, INDEX_FILE_NAME);
+      entries = readEntries(indexFile);
+   }
+
+   private static Map<String, RCAIndexEntry> readEntries(final File indexFile) {
+      if (indexFile.exists()) {
+         try {
+            return Constants.OBJECTMAPPER.readValue(indexFile, new TypeReference<TreeMap<String, RCAIndexEntry>>() {
+            });
+         } catch (IOException e) {
+            LOG.warn("RCA index {} not readable, all result files will be read again", indexFile.getAbsolutePath(), e);
+         }
+      }
+      return new TreeMap<>();
+   }
+
+   /**
+    * Returns the entry of the testcase in the given version, or null if no entry exists or the result file changed since indexing. If only the modification
+    * time of the result file changed, its checksum decides; a matching entry takes over the new modification time.
+    */
+   public synchronized RCAIndexEntry getEntry(final String version, final TestCase testcase, final File resultFile) {
+      RCAIndexEntry entry = entries.get(getKey(version, testcase));
+      if (entry == null) {
+         return null;
+      } else if (entry.matches(resultFile)) {
+         return entry;
+      } else if (entry.hasSameContent(resultFile)) {
+         entry.setLastModified(resultFile.lastModified());
+         changed = true;
+         return entry;
+      } else {
+         return null;
+      }
+   }
+
+   /**
+    * Adds or replaces the entry of the testcase, reading the current state of the result file
+    */
+   public synchronized void record(final String version, final String versionOld, final TestCase testcase, final RCAStatus status, final File resultFile)
+         throws IOException {
+      RCAIndexEntry entry = new RCAIndexEntry();
+      entry.setVersion(version);
+      entry.setVersionOld(versionOld);
+      entry.setTestcase(testcase.toString());
+      entry.setStatus(status);
+      if (resultFile.exists()) {
+         entry.setSize(resultFile.length());
+         entry.setLastModified(resultFile.lastModified());
+         entry.setChecksum(getChecksum(resultFile));
+      } else {
+         entry.setSize(-1);
+         entry.setChecksum(-1);
+      }
+      entries.put(getKey(version, testcase), entry);
+      changed = true;
+   }
+
+   /**
+    * Writes the index if an entry was recorded since loading or the last save
+    */
+   public synchronized void save() throws IOException {
+      if (changed) {
+         indexFile.getParentFile().mkdirs();
+         Constants.OBJECTMAPPER.writeValue(indexFile, entries);
+         changed = false;
+      }
+   }
+
+   public synchronized int size() {
+      return entries.size();
+   }
+
+   private static String getKey(final String version, final TestCase testcase) {
+      return version + " " + testcase.toString();
+   }
+
+   static long getChecksum(final File file) throws IOException {
+      CRC32 crc = new CRC32();
+      byte[] buffer = new byte[64 * 1024];
+      try (InputStream input = new FileInputStream(file)) {
+         int read;
+         while ((read = input.read(buffer)) != -1) {
+            crc.update(buffer, 0, read);
+         }
+      }
+      return crc.getValue();
+   }
+}
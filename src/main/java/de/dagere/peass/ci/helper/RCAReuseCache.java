@@ -0,0 +1,349 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Cache of RCA results, keyed by testcase, signature of the call tree and hash of the sources of all classes in the call tree in both versions. If the RCA
+ * of a testcase is needed for a version pair whose sources of the involved classes are identical to those of a cached result (e.g. after a rebase or
+ * cherry-pick, or if only unrelated files changed), the cached result is copied to the tree folder of the current version instead of executing the
+ * {@link de.dagere.peass.measurement.rca.searcher.CauseSearcher} again.
+ *
+ * The source hash uses the git blob ids of the source files in both versions, so no checkout is necessary.
+ *
+ * @author DaGeRe
+ *
+ */
+public class RCAReuseCache {
+
+   private static final Logger LOG = LogManager.getLogger(RCAReuseCache.class);
+
+   public static final String CACHE_FILE_NAME = "rcaCache.json";
+
+   private static final String MISSING_BLOB = "-";
+   private static final String MODULE_SEPARATOR = "\u00a7";
+
+   public static class RCACacheEntry {
+      private String version;
+      private String versionOld;
+      private String treeSignature;
+      private String sourceHash;
+      private List<String> sourceFiles = new LinkedList<>();
+      private String resultFile;
+
+      public String getVersion() {
+         return version;
+      }
+
+      public void setVersion(final String version) {
+         this.version = version;
+      }
+
+      public String getVersionOld() {
+         return versionOld;
+      }
+
+      public void setVersionOld(final String versionOld) {
+         this.versionOld = versionOld;
+      }
+
+      /**
+       * Hash of all calls of the call tree
+       */
+      public String getTreeSignature() {
+         return treeSignature;
+      }
+
+      public void setTreeSignature(final String treeSignature) {
+         this.treeSignature = treeSignature;
+      }
+
+      /**
+       * Hash of the git blob ids of the source files in the version and the old version
+       */
+      public String getSourceHash() {
+         return sourceHash;
+      }
+
+      public void setSourceHash(final String sourceHash) {
+         this.sourceHash = sourceHash;
+      }
+
+      /**
+       * Source files of the classes of the call tree, relative to the project folder
+       */
+      public List<String> getSourceFiles() {
+         return sourceFiles;
+      }
+
+      public void setSourceFiles(final List<String> sourceFiles) {
+         this.sourceFiles = sourceFiles;
+      }
+
+      /**
+       * Result file, relative to the RCA folder
+       */
+      public String getResultFile() {
+         return resultFile;
+      }
+
+      public void setResultFile(final String resultFile) {
+         this.resultFile = resultFile;
+      }
+   }
+
+   private final File projectFolder;
+   private final File rcaFolder;
+   private final File cacheFile;
+   private final Map<String, List<RCACacheEntry>> entries;
+
+   public RCAReuseCache(final File projectFolder, final File rcaFolder) {
+      this.projectFolder = projectFolder;
+      this.rcaFolder = rcaFolder;
+      this.cacheFile = new File(rcaFolder, CACHE_FILE_NAME);
+      this.entries = readEntries(cacheFile);
+   }
+
+   private static Map<String, List<RCACacheEntry>> readEntries(final File cacheFile) {
+      if (cacheFile.exists()) {
+         try {
+            return Constants.OBJECTMAPPER.readValue(cacheFile, new TypeReference<TreeMap<String, List<RCACacheEntry>>>() {
+            });
+         } catch (IOException e) {
+            LOG.warn("RCA cache {} not readable, starting with empty cache", cacheFile.getAbsolutePath(), e);
+         }
+      }
+      return new TreeMap<>();
+   }
+
+   /**
+    * Adds the result of an executed RCA to the cache; results whose call tree contains no class of the project are not cached
+    */
+   public synchronized void record(final TestCase testcase, final String version, final String versionOld, final File resultFile) throws IOException {
+      JsonNode root = Constants.OBJECTMAPPER.readTree(resultFile);
+      Set<String> calls = new TreeSet<>();
+      collectCalls(root.get("nodes"), calls);
+      List<String> sourceFiles = findSourceFiles(getClasses(calls));
+      if (sourceFiles.isEmpty()) {
+         LOG.debug("No source of the call tree of {} found, not caching", testcase);
+         return;
+      }
+
+      RCACacheEntry entry = new RCACacheEntry();
+      entry.setVersion(version);
+      entry.setVersionOld(versionOld);
+      entry.setTreeSignature(hash(String.join("\n", calls)));
+      entry.setSourceFiles(sourceFiles);
+      entry.setSourceHash(getSourceHash(version, versionOld, sourceFiles));
+      entry.setResultFile(rcaFolder.toPath().relativize(resultFile.toPath()).toString());
+
+      List<RCACacheEntry> testcaseEntries = entries.computeIfAbsent(testcase.toString(), test -> new ArrayList<>());
+      testcaseEntries.removeIf(existing -> existing.getVersion().equals(version) && existing.getVersionOld().equals(versionOld));
+      testcaseEntries.add(entry);
+      save();
+   }
+
+   /**
+    * Returns a cached result of the testcase whose involved sources are identical in the given version pair, or null if there is none
+    */
+   public synchronized RCACacheEntry findReusable(final TestCase testcase, final String version, final String versionOld) throws IOException {
+      List<RCACacheEntry> testcaseEntries = entries.get(testcase.toString());
+      if (testcaseEntries == null) {
+         return null;
+      }
+      Map<List<String>, String> sourceHashes = new HashMap<>();
+      for (Iterator<RCACacheEntry> iterator = testcaseEntries.iterator(); iterator.hasNext();) {
+         RCACacheEntry entry = iterator.next();
+         if (!new File(rcaFolder, entry.getResultFile()).exists()) {
+            iterator.remove();
+            continue;
+         }
+         if (entry.getVersion().equals(version) && entry.getVersionOld().equals(versionOld)) {
+            continue;
+         }
+         String sourceHash = sourceHashes.get(entry.getSourceFiles());
+         if (sourceHash == null) {
+            sourceHash = getSourceHash(version, versionOld, entry.getSourceFiles());
+            sourceHashes.put(entry.getSourceFiles(), sourceHash);
+         }
+         if (sourceHash.equals(entry.getSourceHash())) {
+            return entry;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Copies a reusable cached result to the result file of the given version pair; returns false if no cached result is reusable
+    */
+   public boolean reuse(final TestCase testcase, final String version, final String versionOld, final File resultFile) throws IOException {
+      RCACacheEntry entry = findReusable(testcase, version, versionOld);
+      if (entry == null) {
+         return false;
+      }
+      File cachedFile = new File(rcaFolder, entry.getResultFile());
+      LOG.info("Reusing RCA of {} from {} vs {}, since the sources of the call tree did not change", testcase, entry.getVersion(), entry.getVersionOld());
+      copyWithVersions(cachedFile, resultFile, version, versionOld);
+      File cachedDetails = new File(new File(cachedFile.getParentFile(), "details"), cachedFile.getName());
+      if (cachedDetails.exists()) {
+         copyWithVersions(cachedDetails, new File(new File(resultFile.getParentFile(), "details"), resultFile.getName()), version, versionOld);
+      }
+      return true;
+   }
+
+   private void copyWithVersions(final File source, final File destination, final String version, final String versionOld) throws IOException {
+      JsonNode data = Constants.OBJECTMAPPER.readTree(source);
+      JsonNode executionConfig = data.path("measurementConfig").path("executionConfig");
+      if (executionConfig instanceof ObjectNode) {
+         ((ObjectNode) executionConfig).put("version", version);
+         ((ObjectNode) executionConfig).put("versionOld", versionOld);
+      }
+      destination.getParentFile().mkdirs();
+      Constants.OBJECTMAPPER.writeValue(destination, data);
+   }
+
+   private synchronized void save() throws IOException {
+      cacheFile.getParentFile().mkdirs();
+      Constants.OBJECTMAPPER.writeValue(cacheFile, entries);
+   }
+
+   private static void collectCalls(final JsonNode node, final Set<String> calls) {
+      if (node == null || node.isNull()) {
+         return;
+      }
+      JsonNode call = node.get("call");
+      if (call != null) {
+         calls.add(call.asText());
+      }
+      JsonNode childs = node.get("childs");
+      if (childs != null) {
+         for (JsonNode child : childs) {
+            collectCalls(child, calls);
+         }
+      }
+   }
+
+   /**
+    * Returns the top level classes of the calls; calls have the format <code>module&sect;package.Clazz$Inner#method</code>, where module and inner class are
+    * optional
+    */
+   static Set<String> getClasses(final Set<String> calls) {
+      Set<String> classes = new TreeSet<>();
+      for (String call : calls) {
+         String clazz = call.contains("#") ? call.substring(0, call.indexOf('#')) : call;
+         if (clazz.contains(MODULE_SEPARATOR)) {
+            clazz = clazz.substring(clazz.indexOf(MODULE_SEPARATOR) + 1);
+         }
+         if (clazz.contains("$")) {
+            clazz = clazz.substring(0, clazz.indexOf('$'));
+         }
+         if (!clazz.isEmpty()) {
+            classes.add(clazz);
+         }
+      }
+      return classes;
+   }
+
+   private List<String> findSourceFiles(final Set<String> classes) throws IOException {
+      Set<String> suffixes = classes.stream().map(clazz -> "/" + clazz.replace('.', '/') + ".java").collect(Collectors.toSet());
+      Path projectPath = projectFolder.toPath();
+      try (Stream<Path> files = Files.walk(projectPath)) {
+         return files
+               .filter(file -> file.toString().endsWith(".java"))
+               .map(file -> projectPath.relativize(file).toString().replace(File.separatorChar, '/'))
+               .filter(file -> !file.startsWith(".git/") && !file.contains("/target/") && !file.startsWith("target/"))
+               .filter(file -> suffixes.stream().anyMatch(suffix -> ("/" + file).endsWith(suffix)))
+               .sorted()
+               .collect(Collectors.toList());
+      }
+   }
+
+   private String getSourceHash(final String version, final String versionOld, final List<String> sourceFiles) throws IOException {
+      Map<String, String> blobs = getBlobIds(version, sourceFiles);
+      Map<String, String> blobsOld = getBlobIds(versionOld, sourceFiles);
+      StringBuilder sources = new StringBuilder();
+      for (String sourceFile : sourceFiles) {
+         sources.append(sourceFile).append('=')
+               .append(blobsOld.getOrDefault(sourceFile, MISSING_BLOB)).append('/')
+               .append(blobs.getOrDefault(sourceFile, MISSING_BLOB)).append('\n');
+      }
+      return hash(sources.toString());
+   }
+
+   /**
+    * Returns the git blob id of each of the given files in the given version; files which do not exist in the version are not contained
+    */
+   protected Map<String, String> getBlobIds(final String version, final List<String> files) throws IOException {
+      List<String> command = new ArrayList<>();
+      command.add("git");
+      command.add("ls-tree");
+      command.add(version);
+      command.add("--");
+      command.addAll(files);
+      Process process = new ProcessBuilder(command).directory(projectFolder).redirectErrorStream(true).start();
+      Map<String, String> blobs = new HashMap<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            // Format: <mode> blob <id>\t<path>; other lines are error messages
+            int tab = line.indexOf('\t');
+            if (tab != -1) {
+               String[] parts = line.substring(0, tab).split(" ");
+               blobs.put(line.substring(tab + 1), parts[2]);
+            } else {
+               LOG.debug("git: {}", line);
+            }
+         }
+      }
+      try {
+         if (process.waitFor() != 0) {
+            throw new IOException("git ls-tree " + version + " failed in " + projectFolder.getAbsolutePath());
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new IOException(e);
+      }
+      return blobs;
+   }
+
+   private static String hash(final String value) {
+      try {
+         MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         StringBuilder hex = new StringBuilder();
+         for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(String.format("%02x", b));
+         }
+         return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+         throw new RuntimeException(e);
+      }
+   }
+}
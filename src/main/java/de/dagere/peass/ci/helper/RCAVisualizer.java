@@ -2,7 +2,6 @@ package de.dagere.peass.ci.helper;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -89,8 +88,8 @@ public class RCAVisualizer {
       LOG.info("Adding: " + rcaDestFile + " " + name);
       final String displayName = name.substring(longestPrefix.length());
 
-      final String content = FileUtils.readFileToString(rcaDestFile, StandardCharsets.UTF_8);
-      run.addAction(new RCAVisualizationAction(displayName, content));
+      final String dataFileName = rcaResults.getName() + "/" + destName;
+      run.addAction(new RCAVisualizationAction(displayName, dataFileName));
    }
 
    public static String getLongestPrefix(final Set<String> tests) {
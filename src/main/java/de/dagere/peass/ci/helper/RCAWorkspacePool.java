@@ -0,0 +1,101 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.folders.PeassFolders;
+
+/**
+ * Provides isolated copies of the project folder, so root cause analyses of different testcases can run concurrently without sharing the project, its
+ * temporary folders or the Kieker results. Every copy has its own Peass folder; after an analysis, its RCA results and logs are merged into the Peass folder of
+ * the original project, so they land in the usual {@link de.dagere.peass.folders.CauseSearchFolders#getRcaTreeFolder()} layout.
+ *
+ * @author DaGeRe
+ *
+ */
+public class RCAWorkspacePool implements AutoCloseable {
+
+   private static final Logger LOG = LogManager.getLogger(RCAWorkspacePool.class);
+
+   public static final String WORKSPACE_FOLDER_NAME = "rca_workspaces";
+   static final String RCA_FOLDER_NAME = "rca";
+   static final String LOG_FOLDER_NAME = "logs";
+
+   /**
+    * Folders of the Peass folder of a copy which are merged into the Peass folder of the project: the RCA results and the logs of the RCA executions, which
+    * are read by the log actions
+    */
+   private static final String[] MERGED_FOLDER_NAMES = { RCA_FOLDER_NAME, LOG_FOLDER_NAME };
+
+   private final File projectFolder;
+   private final File poolFolder;
+   private final BlockingQueue<Integer> freeSlots = new LinkedBlockingQueue<>();
+
+   public RCAWorkspacePool(final File projectFolder, final int size) {
+      this.projectFolder = projectFolder;
+      this.poolFolder = new File(projectFolder.getParentFile(), WORKSPACE_FOLDER_NAME);
+      for (int i = 0; i < size; i++) {
+         freeSlots.add(i);
+      }
+   }
+
+   /**
+    * Waits for a free copy and returns its project folder; the copy is created on first use of the slot and reused afterwards
+    */
+   public File acquire() throws IOException, InterruptedException {
+      int slot = freeSlots.take();
+      File copy = getCopy(slot);
+      if (!copy.exists()) {
+         LOG.debug("Creating RCA workspace {}", copy.getAbsolutePath());
+         try {
+            FileUtils.copyDirectory(projectFolder, copy);
+         } catch (IOException e) {
+            freeSlots.add(slot);
+            throw e;
+         }
+      }
+      return copy;
+   }
+
+   /**
+    * Merges the RCA results and logs of the copy into the Peass folder of the project and makes the copy available again
+    */
+   public void release(final File copy) throws IOException {
+      try {
+         mergeResults(copy);
+      } finally {
+         freeSlots.add(Integer.parseInt(copy.getParentFile().getName()));
+      }
+   }
+
+   private synchronized void mergeResults(final File copy) throws IOException {
+      for (String folderName : MERGED_FOLDER_NAMES) {
+         File copyFolder = new File(PeassFolders.getPeassFolder(copy), folderName);
+         if (copyFolder.exists()) {
+            File folder = new File(PeassFolders.getPeassFolder(projectFolder), folderName);
+            LOG.debug("Merging {} into {}", copyFolder.getAbsolutePath(), folder.getAbsolutePath());
+            FileUtils.copyDirectory(copyFolder, folder);
+         }
+      }
+   }
+
+   File getCopy(final int slot) {
+      return new File(new File(poolFolder, Integer.toString(slot)), projectFolder.getName());
+   }
+
+   /**
+    * Deletes all copies
+    */
+   @Override
+   public void close() throws IOException {
+      if (poolFolder.exists()) {
+         FileUtils.deleteDirectory(poolFolder);
+      }
+   }
+}
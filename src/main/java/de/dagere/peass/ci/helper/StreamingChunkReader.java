@@ -0,0 +1,164 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the first chunk of the first datacollector of the first testcase of a KoPeMe result file with StAX, without building the JAXB object graph. Only
+ * value, iterations, repetitions and version of each result are read; nested full data is skipped, and reading stops after the chunk.
+ */
+public class StreamingChunkReader {
+
+   private static final XMLInputFactory FACTORY = createFactory();
+
+   private static XMLInputFactory createFactory() {
+      XMLInputFactory factory = XMLInputFactory.newInstance();
+      factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      return factory;
+   }
+
+   private StreamingChunkReader() {
+   }
+
+   /**
+    * Returns the values of the first chunk, or null if the file contains no chunk
+    */
+   public static ChunkValues readFirstChunk(final File xmlFile) throws IOException, XMLStreamException {
+      try (InputStream input = new BufferedInputStream(new FileInputStream(xmlFile))) {
+         XMLStreamReader reader = FACTORY.createXMLStreamReader(input);
+         try {
+            return readFirstChunk(reader);
+         } finally {
+            reader.close();
+         }
+      }
+   }
+
+   /**
+    * Checks whether the first datacollector of the first testcase directly contains a result, as it is the case for the detail result file of a successful VM.
+    * Reading stops at the first result, so the measured values are not parsed.
+    */
+   public static boolean hasResult(final File xmlFile) throws IOException, XMLStreamException {
+      try (InputStream input = new BufferedInputStream(new FileInputStream(xmlFile))) {
+         XMLStreamReader reader = FACTORY.createXMLStreamReader(input);
+         try {
+            int depth = 0;
+            int testcaseCount = 0;
+            int datacollectorCount = 0;
+            int datacollectorDepth = -1;
+            while (reader.hasNext()) {
+               int event = reader.next();
+               if (event == XMLStreamConstants.START_ELEMENT) {
+                  depth++;
+                  String name = reader.getLocalName();
+                  if (datacollectorDepth != -1) {
+                     if (depth == datacollectorDepth + 1 && "result".equals(name)) {
+                        return true;
+                     }
+                  } else if ("testcase".equals(name)) {
+                     testcaseCount++;
+                  } else if ("datacollector".equals(name) && testcaseCount == 1) {
+                     datacollectorCount++;
+                     if (datacollectorCount == 1) {
+                        datacollectorDepth = depth;
+                     }
+                  }
+               } else if (event == XMLStreamConstants.END_ELEMENT) {
+                  if (depth == datacollectorDepth) {
+                     return false;
+                  }
+                  depth--;
+               }
+            }
+            return false;
+         } finally {
+            reader.close();
+         }
+      }
+   }
+
+   private static ChunkValues readFirstChunk(final XMLStreamReader reader) throws XMLStreamException {
+      String clazz = null;
+      String method = null;
+      int testcaseCount = 0;
+      int datacollectorCount = 0;
+      ChunkValues chunk = null;
+
+      int depth = 0;
+      int chunkDepth = -1;
+      int resultDepth = -1;
+      int versionDepth = -1;
+
+      double value = Double.NaN;
+      long iterations = -1;
+      long repetitions = -1;
+      String version = null;
+
+      while (reader.hasNext()) {
+         int event = reader.next();
+         if (event == XMLStreamConstants.START_ELEMENT) {
+            depth++;
+            String name = reader.getLocalName();
+            if (resultDepth != -1) {
+               if (depth == resultDepth + 1) {
+                  if ("value".equals(name)) {
+                     value = Double.parseDouble(reader.getElementText().trim());
+                     depth--;
+                  } else if ("iterations".equals(name)) {
+                     iterations = Long.parseLong(reader.getElementText().trim());
+                     depth--;
+                  } else if ("repetitions".equals(name)) {
+                     repetitions = Long.parseLong(reader.getElementText().trim());
+                     depth--;
+                  } else if ("version".equals(name)) {
+                     versionDepth = depth;
+                  }
+               } else if (depth == versionDepth + 1 && "gitversion".equals(name)) {
+                  version = reader.getElementText().trim();
+                  depth--;
+               }
+            } else if (chunkDepth != -1) {
+               if (depth == chunkDepth + 1 && "result".equals(name)) {
+                  resultDepth = depth;
+                  value = Double.NaN;
+                  iterations = -1;
+                  repetitions = -1;
+                  version = null;
+               }
+            } else if ("testcases".equals(name) && clazz == null) {
+               clazz = reader.getAttributeValue(null, "class");
+            } else if ("testcase".equals(name)) {
+               testcaseCount++;
+               if (testcaseCount == 1) {
+                  method = reader.getAttributeValue(null, "name");
+               }
+            } else if ("datacollector".equals(name) && testcaseCount == 1) {
+               datacollectorCount++;
+            } else if ("chunk".equals(name) && testcaseCount == 1 && datacollectorCount == 1) {
+               chunkDepth = depth;
+               chunk = new ChunkValues(clazz, method);
+            }
+         } else if (event == XMLStreamConstants.END_ELEMENT) {
+            if (depth == versionDepth) {
+               versionDepth = -1;
+            } else if (depth == resultDepth) {
+               chunk.addResult(value, iterations, repetitions, version);
+               resultDepth = -1;
+            } else if (depth == chunkDepth) {
+               return chunk;
+            }
+            depth--;
+         }
+      }
+      return chunk;
+   }
+}
@@ -0,0 +1,36 @@
+package de.dagere.peass.ci.helper;
+
+import java.io.Serializable;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+/**
+ * Visualization data of one measured testcase: the statistic without warmup and the KoPeMe tree as JSON.
+ */
+public class TestcaseSummary implements Serializable {
+
+   private static final long serialVersionUID = 2167394440962592186L;
+
+   private final TestCase testcase;
+   private final TestcaseStatistic noWarmupStatistic;
+   private final String treeJSON;
+
+   public TestcaseSummary(final TestCase testcase, final TestcaseStatistic noWarmupStatistic, final String treeJSON) {
+      this.testcase = testcase;
+      this.noWarmupStatistic = noWarmupStatistic;
+      this.treeJSON = treeJSON;
+   }
+
+   public TestCase getTestcase() {
+      return testcase;
+   }
+
+   public TestcaseStatistic getNoWarmupStatistic() {
+      return noWarmupStatistic;
+   }
+
+   public String getTreeJSON() {
+      return treeJSON;
+   }
+}
@@ -43,6 +43,19 @@ public class VisualizationFolderManager {
       return rcaResults;
    }
 
+   /**
+    * Returns the folder of the measurement visualization data of the run; in contrast to the visualization folder, it is not overwritten by the next build
+    */
+   public File getMeasurementResultFolder() {
+      File measurementResults = new File(run.getRootDir(), "measurement_visualization");
+      if (!measurementResults.exists()) {
+         if (!measurementResults.mkdirs()) {
+            throw new RuntimeException("Could not create " + measurementResults.getAbsolutePath());
+         }
+      }
+      return measurementResults;
+   }
+
    public File getDataFolder() {
       String rcaResultFolder = projectName + "_peass";
       File dataFolder = new File(localWorkspace, rcaResultFolder);
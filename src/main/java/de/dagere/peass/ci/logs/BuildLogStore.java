@@ -0,0 +1,116 @@
+package de.dagere.peass.ci.logs;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the logs of one build in the build folder, so log actions only need to store the name of their log instead of its content. Since the local workspace
+ * is overwritten by the next build, the logs are copied on creation of the actions. After all actions of a step are created, {@link #archive()} moves the
+ * copied logs into the compressed {@link LogArchive} of the build; logs are read from the archive without unpacking it.
+ */
+public class BuildLogStore {
+
+   private static final Logger LOG = LogManager.getLogger(BuildLogStore.class);
+
+   public static final String LOG_FOLDER_NAME = "peass-logs";
+   private static final String LOG_SUFFIX = ".txt";
+
+   private final File logFolder;
+   private final LogArchive archive;
+
+   public BuildLogStore(final File runRootDir) {
+      this.logFolder = new File(runRootDir, LOG_FOLDER_NAME);
+      this.archive = new LogArchive(logFolder);
+   }
+
+   public File getLogFolder() {
+      return logFolder;
+   }
+
+   /**
+    * Copies the given log into the store and returns the name by which it can be read, or null if the log does not exist
+    */
+   public String store(final File logFile, final String name) throws IOException {
+      if (!logFile.exists()) {
+         return null;
+      }
+      if (!logFolder.exists() && !logFolder.mkdirs()) {
+         throw new IOException("Could not create " + logFolder.getAbsolutePath());
+      }
+      Files.copy(logFile.toPath(), getFile(name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+      return name;
+   }
+
+   /**
+    * Moves all logs which were stored since the last call into the archive
+    */
+   public void archive() throws IOException {
+      File[] logFiles = logFolder.listFiles((FileFilter) file -> file.isFile() && file.getName().endsWith(LOG_SUFFIX));
+      if (logFiles == null || logFiles.length == 0) {
+         return;
+      }
+      Arrays.sort(logFiles, Comparator.comparing(File::getName));
+      archive.append(logFiles);
+      for (File logFile : logFiles) {
+         Files.delete(logFile.toPath());
+      }
+      LOG.debug("Archived {} logs in {}", logFiles.length, archive.getArchiveFile());
+   }
+
+   public boolean exists(final String name) throws IOException {
+      return name != null && (getFile(name).exists() || archive.getEntry(name) != null);
+   }
+
+   public long getLength(final String name) throws IOException {
+      File file = getFile(name);
+      if (file.exists()) {
+         return file.length();
+      }
+      return getEntry(name).getLength();
+   }
+
+   public InputStream open(final String name) throws IOException {
+      File file = getFile(name);
+      if (file.exists()) {
+         return new BufferedInputStream(new FileInputStream(file));
+      }
+      return archive.open(getEntry(name));
+   }
+
+   private LogArchive.Entry getEntry(final String name) throws IOException {
+      LogArchive.Entry entry = archive.getEntry(name);
+      if (entry == null) {
+         throw new IOException("Log " + name + " does not exist in " + logFolder);
+      }
+      return entry;
+   }
+
+   private File getFile(final String name) {
+      return new File(logFolder, name);
+   }
+
+   /**
+    * Creates a file name from the given parts which is usable on all file systems
+    */
+   public static String createName(final Object... parts) {
+      StringBuilder name = new StringBuilder();
+      for (Object part : parts) {
+         if (name.length() > 0) {
+            name.append('_');
+         }
+         name.append(String.valueOf(part).replaceAll("[^A-Za-z0-9.-]", "_"));
+      }
+      return name.append(LOG_SUFFIX).toString();
+   }
+}
@@ -0,0 +1,77 @@
+package de.dagere.peass.ci.logs;
+
+/**
+ * A single byte range of a HTTP range request (RFC 7233), e.g. <code>bytes=0-1023</code>, <code>bytes=1024-</code> or <code>bytes=-500</code>.
+ */
+public class ByteRange {
+
+   /**
+    * Range which starts behind the end of the content; it needs to be answered by 416
+    */
+   public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+   private static final String BYTES_PREFIX = "bytes=";
+
+   private final long start;
+   private final long end;
+
+   public ByteRange(final long start, final long end) {
+      this.start = start;
+      this.end = end;
+   }
+
+   public long getStart() {
+      return start;
+   }
+
+   /**
+    * Returns the last byte of the range (inclusive)
+    */
+   public long getEnd() {
+      return end;
+   }
+
+   public long getLength() {
+      return end - start + 1;
+   }
+
+   /**
+    * Parses the value of a range header for content of the given length. Returns null if the whole content should be served, i.e. if there is no header, the
+    * header is malformed or it contains multiple ranges, and {@link #UNSATISFIABLE} if the range can not be served.
+    */
+   public static ByteRange parse(final String header, final long contentLength) {
+      if (header == null || !header.startsWith(BYTES_PREFIX) || header.contains(",")) {
+         return null;
+      }
+      String range = header.substring(BYTES_PREFIX.length()).trim();
+      int separator = range.indexOf('-');
+      if (separator == -1) {
+         return null;
+      }
+      try {
+         String startPart = range.substring(0, separator).trim();
+         String endPart = range.substring(separator + 1).trim();
+         if (startPart.isEmpty()) {
+            if (endPart.isEmpty()) {
+               return null;
+            }
+            long suffixLength = Long.parseLong(endPart);
+            if (suffixLength <= 0 || contentLength == 0) {
+               return UNSATISFIABLE;
+            }
+            return new ByteRange(Math.max(0, contentLength - suffixLength), contentLength - 1);
+         }
+         long start = Long.parseLong(startPart);
+         long end = endPart.isEmpty() ? Long.MAX_VALUE : Long.parseLong(endPart);
+         if (start < 0 || end < start) {
+            return null;
+         }
+         if (start >= contentLength) {
+            return UNSATISFIABLE;
+         }
+         return new ByteRange(start, Math.min(end, contentLength - 1));
+      } catch (NumberFormatException e) {
+         return null;
+      }
+   }
+}
@@ -1,22 +1,21 @@
 package de.dagere.peass.ci.logs;
 
 import java.io.File;
+import java.io.IOException;
 
-import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import de.dagere.kopeme.datastorage.XMLDataLoader;
-import de.dagere.kopeme.generated.Kopemedata;
-import de.dagere.kopeme.generated.TestcaseType.Datacollector;
+import de.dagere.peass.ci.helper.StreamingChunkReader;
 import de.dagere.peass.ci.helper.VisualizationFolderManager;
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.PeassFolders;
 
 /**
- * Checks wether a measurement run is correct by checking the XML result files
+ * Checks wether a measurement run is correct by checking the XML result files; the files are only read until the first result is found.
  * @author reichelt
  *
  */
@@ -26,11 +25,13 @@ public class CorrectRunChecker {
 
    boolean currentRunning = false;
    boolean predecessorRunning = false;
+   private int readFiles = 0;
 
    public CorrectRunChecker(final TestCase testcase, final int vmId, final MeasurementConfig measurementConfig, final VisualizationFolderManager visualizationFolders) {
-      File basicResultFolder = visualizationFolders.getResultsFolders().getVersionFullResultsFolder(measurementConfig);
-      File detailResultsFolder = new File(basicResultFolder, "measurements");
-      
+      this(testcase, vmId, measurementConfig, new File(visualizationFolders.getResultsFolders().getVersionFullResultsFolder(measurementConfig), "measurements"));
+   }
+
+   public CorrectRunChecker(final TestCase testcase, final int vmId, final MeasurementConfig measurementConfig, final File detailResultsFolder) {
       String pathCurrent = PeassFolders.getRelativeFullResultPath(testcase, measurementConfig.getExecutionConfig().getVersion(), measurementConfig.getExecutionConfig().getVersion(), vmId);
       File resultFileCurrent = new File(detailResultsFolder, pathCurrent); 
       currentRunning = checkIsRunning(vmId, resultFileCurrent);
@@ -43,15 +44,14 @@ public class CorrectRunChecker {
    private boolean checkIsRunning(final int vmId, final File resultFileCurrent) {
       boolean isRunning = false;
       if (resultFileCurrent.exists()) {
+         readFiles++;
          try {
             LOG.debug("Checking: {} - {} ", vmId, resultFileCurrent.getAbsolutePath());
-            Kopemedata data = XMLDataLoader.loadData(resultFileCurrent);
-            Datacollector datacollector = data.getTestcases().getTestcase().get(0).getDatacollector().get(0);
-            if (datacollector.getResult().get(0) != null) {
+            if (StreamingChunkReader.hasResult(resultFileCurrent)) {
                isRunning = true;
                LOG.debug("File and result are existing - success");
             }
-         } catch (JAXBException e) {
+         } catch (XMLStreamException | IOException e) {
             e.printStackTrace();
          }
       } else {
@@ -68,4 +68,11 @@ public class CorrectRunChecker {
       return predecessorRunning;
    }
 
+   /**
+    * Returns the count of result files which existed and were therefore read, i.e. 0, 1 or 2
+    */
+   public int getReadFiles() {
+      return readFiles;
+   }
+
 }
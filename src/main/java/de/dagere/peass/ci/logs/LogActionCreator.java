@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Set;
 
 import de.dagere.peass.ci.PeassProcessConfiguration;
+import de.dagere.peass.ci.helper.MeasurementSummary;
 import de.dagere.peass.ci.helper.VisualizationFolderManager;
 import de.dagere.peass.ci.logs.measurement.MeasurementActionCreator;
 import de.dagere.peass.ci.logs.rca.RCAActionCreator;
@@ -31,16 +32,27 @@ public class LogActionCreator {
       RTSLogFileReader rtsReader = new RTSLogFileReader(visualizationFolders, peassConfig.getMeasurementConfig());
       RTSActionCreator rtsActionCreator = new RTSActionCreator(rtsReader, run, peassConfig.getMeasurementConfig());
       rtsActionCreator.createRTSActions(staticChanges);
+      archiveLogs();
       return rtsActionCreator.getLogSummary();
    }
 
+   public void setMeasurementSummary(final MeasurementSummary measurementSummary) {
+      reader.setMeasurementSummary(measurementSummary);
+   }
+
    public void createMeasurementActions(final Set<TestCase> tests) throws IOException {
       MeasurementActionCreator measurementActionCreator = new MeasurementActionCreator(reader, run, peassConfig.getMeasurementConfig());
       measurementActionCreator.createMeasurementActions(tests);
+      archiveLogs();
    }
    
    public void createRCAActions() throws IOException {
       RCAActionCreator rcaActionCreator = new RCAActionCreator(reader, run, peassConfig.getMeasurementConfig());
       rcaActionCreator.createRCAActions();
+      archiveLogs();
+   }
+
+   private void archiveLogs() throws IOException {
+      new BuildLogStore(run.getRootDir()).archive();
    }
 }
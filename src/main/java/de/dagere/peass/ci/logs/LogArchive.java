@@ -0,0 +1,145 @@
+package de.dagere.peass.ci.logs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+
+/**
+ * Archive of the logs of one build: every log is one gzip member of <code>logs.gz</code>, and <code>logs.idx</code> contains one line
+ * <code>name\toffset\tcompressedLength\tlength</code> per log. A log is read by decompressing only its member, and further logs can be appended without
+ * rewriting the archive.
+ */
+public class LogArchive {
+
+   public static final String ARCHIVE_FILE_NAME = "logs.gz";
+   public static final String INDEX_FILE_NAME = "logs.idx";
+
+   private final File archiveFile;
+   private final File indexFile;
+   private Map<String, Entry> index;
+
+   public static class Entry {
+      private final long offset;
+      private final long compressedLength;
+      private final long length;
+
+      public Entry(final long offset, final long compressedLength, final long length) {
+         this.offset = offset;
+         this.compressedLength = compressedLength;
+         this.length = length;
+      }
+
+      public long getOffset() {
+         return offset;
+      }
+
+      public long getCompressedLength() {
+         return compressedLength;
+      }
+
+      public long getLength() {
+         return length;
+      }
+   }
+
+   public LogArchive(final File folder) {
+      archiveFile = new File(folder, ARCHIVE_FILE_NAME);
+      indexFile = new File(folder, INDEX_FILE_NAME);
+   }
+
+   public File getArchiveFile() {
+      return archiveFile;
+   }
+
+   public File getIndexFile() {
+      return indexFile;
+   }
+
+   /**
+    * Returns the entry of the given log, or null if it is not archived
+    */
+   public Entry getEntry(final String name) throws IOException {
+      return getIndex().get(name);
+   }
+
+   public InputStream open(final Entry entry) throws IOException {
+      FileChannel channel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.READ);
+      try {
+         channel.position(entry.getOffset());
+         InputStream member = new BoundedInputStream(Channels.newInputStream(channel), entry.getCompressedLength());
+         return new GZIPInputStream(new BufferedInputStream(member));
+      } catch (IOException e) {
+         channel.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Appends the given files as entries named by their file name; files which are already archived are replaced, since the index is read in order.
+    */
+   public synchronized void append(final File[] files) throws IOException {
+      Map<String, Entry> currentIndex = getIndex();
+      long offset = archiveFile.length();
+      try (OutputStream archive = new FileOutputStream(archiveFile, true);
+            BufferedWriter indexWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(indexFile, true), StandardCharsets.UTF_8))) {
+         for (File file : files) {
+            CountingOutputStream countingStream = new CountingOutputStream(new BufferedOutputStream(archive)) {
+               @Override
+               public void close() throws IOException {
+                  flush();
+               }
+            };
+            try (InputStream input = Files.newInputStream(file.toPath());
+                  GZIPOutputStream gzip = new GZIPOutputStream(countingStream)) {
+               IOUtils.copyLarge(input, gzip);
+            }
+            long compressedLength = countingStream.getByteCount();
+            Entry entry = new Entry(offset, compressedLength, file.length());
+            indexWriter.write(file.getName() + "\t" + offset + "\t" + compressedLength + "\t" + entry.getLength());
+            indexWriter.write('\n');
+            currentIndex.put(file.getName(), entry);
+            offset += compressedLength;
+         }
+      }
+   }
+
+   private synchronized Map<String, Entry> getIndex() throws IOException {
+      if (index == null) {
+         index = new LinkedHashMap<>();
+         if (indexFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8))) {
+               String line;
+               while ((line = reader.readLine()) != null) {
+                  String[] parts = line.split("\t");
+                  if (parts.length == 4) {
+                     index.put(parts[0], new Entry(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3])));
+                  }
+               }
+            }
+         }
+      }
+      return index;
+   }
+}
@@ -0,0 +1,107 @@
+package de.dagere.peass.ci.logs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Reads logs of a {@link BuildLogStore} with bounded memory: pages only show the beginning of a log, and the complete log is streamed, optionally as a single
+ * byte range.
+ */
+public class LogContent {
+
+   /**
+    * Count of bytes that is shown on the page of a log; the rest is available by the raw log
+    */
+   public static final int MAX_INLINE_BYTES = 1024 * 1024;
+
+   private static final int BUFFER_SIZE = 64 * 1024;
+
+   private LogContent() {
+   }
+
+   public static boolean isTruncated(final BuildLogStore store, final String name) {
+      try {
+         return store.exists(name) && store.getLength(name) > MAX_INLINE_BYTES;
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   /**
+    * Returns at most {@link #MAX_INLINE_BYTES} of the log, or the given message if the log does not exist; a truncated log ends with its last complete
+    * character.
+    */
+   public static String readHead(final BuildLogStore store, final String name, final String missingMessage) throws IOException {
+      if (!store.exists(name)) {
+         return missingMessage;
+      }
+      long fullLength = store.getLength(name);
+      int length = (int) Math.min(fullLength, MAX_INLINE_BYTES);
+      byte[] head = new byte[length];
+      try (InputStream input = store.open(name)) {
+         int read = IOUtils.read(input, head);
+         int complete = read < fullLength ? getCompleteLength(head, read) : read;
+         return new String(head, 0, complete, StandardCharsets.UTF_8);
+      }
+   }
+
+   /**
+    * Returns the length of the given UTF-8 bytes without a multi-byte character which is cut at the end
+    */
+   static int getCompleteLength(final byte[] bytes, final int length) {
+      int start = length - 1;
+      // Continuation bytes have the form 10xxxxxx; a character has at most 3 of them
+      while (start >= 0 && length - start < 4 && (bytes[start] & 0xC0) == 0x80) {
+         start--;
+      }
+      if (start < 0) {
+         return length;
+      }
+      int lead = bytes[start] & 0xFF;
+      int characterLength = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+      return start + characterLength > length ? start : length;
+   }
+
+   /**
+    * Streams the log as plain text; a single range of the Range header is answered with 206.
+    */
+   public static void serve(final StaplerRequest req, final StaplerResponse rsp, final BuildLogStore store, final String name) throws IOException {
+      if (!store.exists(name)) {
+         rsp.sendError(HttpServletResponse.SC_NOT_FOUND, "Log does not exist");
+         return;
+      }
+      long contentLength = store.getLength(name);
+      ByteRange range = ByteRange.parse(req.getHeader("Range"), contentLength);
+
+      rsp.setHeader("Accept-Ranges", "bytes");
+      if (range == ByteRange.UNSATISFIABLE) {
+         rsp.setHeader("Content-Range", "bytes */" + contentLength);
+         rsp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+         return;
+      }
+      if (range == null) {
+         range = new ByteRange(0, contentLength - 1);
+         rsp.setStatus(HttpServletResponse.SC_OK);
+      } else {
+         rsp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+         rsp.setHeader("Content-Range", "bytes " + range.getStart() + "-" + range.getEnd() + "/" + contentLength);
+      }
+      rsp.setContentType("text/plain;charset=UTF-8");
+      rsp.setHeader("Content-Length", Long.toString(Math.max(0, range.getLength())));
+
+      try (InputStream input = store.open(name)) {
+         IOUtils.skipFully(input, range.getStart());
+         OutputStream output = rsp.getOutputStream();
+         IOUtils.copyLarge(input, output, 0, range.getLength(), new byte[BUFFER_SIZE]);
+         output.flush();
+      }
+   }
+}
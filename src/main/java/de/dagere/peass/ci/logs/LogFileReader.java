@@ -17,6 +17,7 @@ import org.apache.logging.log4j.Logger;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
+import de.dagere.peass.ci.helper.MeasurementSummary;
 import de.dagere.peass.ci.helper.VisualizationFolderManager;
 import de.dagere.peass.ci.logs.rca.RCALevel;
 import de.dagere.peass.config.MeasurementConfig;
@@ -32,6 +33,7 @@ public class LogFileReader {
 
    private final VisualizationFolderManager visualizationFolders;
    private final MeasurementConfig measurementConfig;
+   private MeasurementSummary measurementSummary;
 
    public LogFileReader(final VisualizationFolderManager visualizationFolders, final MeasurementConfig measurementConfig) {
       this.visualizationFolders = visualizationFolders;
@@ -39,6 +41,13 @@ public class LogFileReader {
 
    }
 
+   /**
+    * Sets the summary created on the agent; if it contains the run status of a VM, the result files are not read for the status.
+    */
+   public void setMeasurementSummary(final MeasurementSummary measurementSummary) {
+      this.measurementSummary = measurementSummary;
+   }
+
    public Map<TestCase, List<LogFiles>> readAllTestcases(final Set<TestCase> tests) {
       Map<TestCase, List<LogFiles>> logFiles = new HashMap<>();
       for (TestCase testcase : tests) {
@@ -70,10 +79,19 @@ public class LogFileReader {
 
          LOG.debug("Trying whether {} exists {}", predecessorFile, predecessorFile.exists());
          while (predecessorFile.exists()) {
-            CorrectRunChecker checker = new CorrectRunChecker(testcase, tryIndex, measurementConfig, visualizationFolders);
+            final boolean predecessorRunning;
+            final boolean currentRunning;
+            if (measurementSummary != null && measurementSummary.hasRunStatus(testcase, tryIndex)) {
+               predecessorRunning = measurementSummary.isPredecessorRunning(testcase, tryIndex);
+               currentRunning = measurementSummary.isCurrentRunning(testcase, tryIndex);
+            } else {
+               CorrectRunChecker checker = new CorrectRunChecker(testcase, tryIndex, measurementConfig, visualizationFolders);
+               predecessorRunning = checker.isPredecessorRunning();
+               currentRunning = checker.isCurrentRunning();
+            }
 
             File currentFile = getVersionFile(testcase, logFolder, tryIndex, filenameSuffix, measurementConfig.getExecutionConfig().getVersion());
-            LogFiles vmidLogFile = new LogFiles(predecessorFile, currentFile, checker.isPredecessorRunning(), checker.isCurrentRunning());
+            LogFiles vmidLogFile = new LogFiles(predecessorFile, currentFile, predecessorRunning, currentRunning);
             currentFiles.add(vmidLogFile);
 
             tryIndex++;
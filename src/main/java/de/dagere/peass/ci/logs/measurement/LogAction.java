@@ -2,27 +2,41 @@ package de.dagere.peass.ci.logs.measurement;
 
 import java.io.IOException;
 
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
 import de.dagere.peass.ci.VisibleAction;
+import de.dagere.peass.ci.logs.BuildLogStore;
+import de.dagere.peass.ci.logs.LogContent;
 import de.dagere.peass.dependency.analysis.data.TestCase;
+import hudson.model.Item;
 
+/**
+ * Presents the log of one VM; the log itself is kept in the {@link BuildLogStore} of the build and only read on request.
+ */
 public class LogAction extends VisibleAction {
    
    protected final String displayName;
    private final TestCase test;
    private final int vmId;
    private final String version;
-   private final String logData;
+   private final String logName;
+   private transient BuildLogStore logStore;
+   /**
+    * Content of the log for builds created before logs were kept in the {@link BuildLogStore}
+    */
+   private String logData;
 
-   public LogAction(final TestCase test, final int vmId, final String version, final String logData) {
-      this("measurelog_" + test.toString().replace("#", "_") + "_" + vmId + "_" + version.substring(0, 6), test, vmId, version, logData);
+   public LogAction(final TestCase test, final int vmId, final String version, final String logName) {
+      this("measurelog_" + test.toString().replace("#", "_") + "_" + vmId + "_" + version.substring(0, 6), test, vmId, version, logName);
    }
 
-   protected LogAction(final String displayName, final TestCase test, final int vmId, final String version, final String logData) {
+   protected LogAction(final String displayName, final TestCase test, final int vmId, final String version, final String logName) {
       this.displayName = displayName;
       this.test = test;
       this.vmId = vmId;
       this.version = version;
-      this.logData = logData;
+      this.logName = logName;
    }
 
    @Override
@@ -42,12 +56,39 @@ public class LogAction extends VisibleAction {
       return version;
    }
 
-   public String getLogData() {
-      return logData;
+   public String getLogName() {
+      return logName;
    }
 
+   /**
+    * Returns the beginning of the log; logs which are longer than {@link LogContent#MAX_INLINE_BYTES} are only completely available by {@link #doRaw}
+    */
    public String getLog() throws IOException {
-      return logData;
+      if (logData != null) {
+         return logData;
+      }
+      return LogContent.readHead(getLogStore(), logName, "Log file could not be found");
+   }
+
+   public boolean isLogTruncated() {
+      return logData == null && LogContent.isTruncated(getLogStore(), logName);
+   }
+
+   public void doRaw(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      getRun().checkPermission(Item.READ);
+      if (logData != null) {
+         rsp.setContentType("text/plain;charset=UTF-8");
+         rsp.getWriter().write(logData);
+      } else {
+         LogContent.serve(req, rsp, getLogStore(), logName);
+      }
+   }
+
+   private BuildLogStore getLogStore() {
+      if (logStore == null) {
+         logStore = new BuildLogStore(getRun().getRootDir());
+      }
+      return logStore;
    }
 
    @Override
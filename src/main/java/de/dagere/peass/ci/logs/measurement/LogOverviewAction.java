@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.VisibleAction;
 import de.dagere.peass.ci.logs.LogFiles;
 import de.dagere.peass.dependency.analysis.data.TestCase;
@@ -32,6 +33,13 @@ public class LogOverviewAction extends VisibleAction {
       return versionOld;
    }
 
+   /**
+    * Prefix of the links to the bundled actions of this build, see {@link ActionDispatcher#getLinkPrefix(hudson.model.Run, String)}
+    */
+   public String getLinkPrefix() {
+      return ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.MEASUREMENT_LOGS);
+   }
+
    @Override
    public String getIconFileName() {
       return "notepad.png";
@@ -1,15 +1,15 @@
 package de.dagere.peass.ci.logs.measurement;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import de.dagere.peass.ci.ActionDispatcher;
+import de.dagere.peass.ci.logs.BuildLogStore;
 import de.dagere.peass.ci.logs.InternalLogAction;
 import de.dagere.peass.ci.logs.LogFileReader;
 import de.dagere.peass.ci.logs.LogFiles;
@@ -51,15 +51,19 @@ public class MeasurementActionCreator {
    }
 
    private void createLogActions(final Run<?, ?> run, final Map<TestCase, List<LogFiles>> logFiles) throws IOException {
+      BuildLogStore logStore = new BuildLogStore(run.getRootDir());
+      ActionDispatcher dispatcher = ActionDispatcher.get(run, ActionDispatcher.MEASUREMENT_LOGS);
+      String version = measurementConfig.getExecutionConfig().getVersion();
+      String versionOld = measurementConfig.getExecutionConfig().getVersionOld();
       for (Map.Entry<TestCase, List<LogFiles>> entry : logFiles.entrySet()) {
          LOG.debug("Creating {} log actions for {}", entry.getValue().size(), entry.getKey());
          TestCase testcase = entry.getKey();
          int vmId = 0;
          for (LogFiles files : entry.getValue()) {
-            String logData = FileUtils.readFileToString(files.getCurrent(), StandardCharsets.UTF_8);
-            run.addAction(new LogAction(testcase, vmId, measurementConfig.getExecutionConfig().getVersion(), logData));
-            String logDataOld = FileUtils.readFileToString(files.getPredecessor(), StandardCharsets.UTF_8);
-            run.addAction(new LogAction(testcase, vmId, measurementConfig.getExecutionConfig().getVersionOld(), logDataOld));
+            String logName = logStore.store(files.getCurrent(), BuildLogStore.createName("measurement", testcase, vmId, version));
+            dispatcher.addAction(new LogAction(testcase, vmId, version, logName));
+            String logNameOld = logStore.store(files.getPredecessor(), BuildLogStore.createName("measurement", testcase, vmId, versionOld));
+            dispatcher.addAction(new LogAction(testcase, vmId, versionOld, logNameOld));
             vmId++;
          }
       }
@@ -2,12 +2,11 @@ package de.dagere.peass.ci.logs.rca;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
-
+import de.dagere.peass.ci.ActionDispatcher;
+import de.dagere.peass.ci.logs.BuildLogStore;
 import de.dagere.peass.ci.logs.InternalLogAction;
 import de.dagere.peass.ci.logs.LogFileReader;
 import de.dagere.peass.ci.logs.LogFiles;
@@ -19,11 +18,13 @@ public class RCAActionCreator {
    private final LogFileReader reader;
    private final Run<?, ?> run;
    private final MeasurementConfig measurementConfig;
+   private final BuildLogStore logStore;
 
    public RCAActionCreator(final LogFileReader reader, final Run<?, ?> run, final MeasurementConfig measurementConfig) {
       this.reader = reader;
       this.run = run;
       this.measurementConfig = measurementConfig;
+      this.logStore = new BuildLogStore(run.getRootDir());
    }
 
    public void createRCAActions() throws IOException {
@@ -69,13 +70,7 @@ public class RCAActionCreator {
    }
 
    private void addLog(final Map.Entry<TestCase, List<RCALevel>> testcase, final int levelId, final int vmId, final File logFile, final String version) throws IOException {
-      String logData;
-      if (logFile.exists()) {
-         logData = FileUtils.readFileToString(logFile, StandardCharsets.UTF_8);
-      } else {
-         logData = "Log file could not be found";
-      }
-      
-      run.addAction(new RCALogAction(testcase.getKey(), vmId, levelId, version, logData));
+      String logName = logStore.store(logFile, BuildLogStore.createName("rca", testcase.getKey(), levelId, vmId, version));
+      ActionDispatcher.get(run, ActionDispatcher.RCA_LOGS).addAction(new RCALogAction(testcase.getKey(), vmId, levelId, version, logName));
    }
 }
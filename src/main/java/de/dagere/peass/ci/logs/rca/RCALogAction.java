@@ -7,8 +7,8 @@ public class RCALogAction extends LogAction {
 
    private int level;
 
-   public RCALogAction(final TestCase test, final int vmId, final int level, final String version, final String logData) {
-      super("rcalog_" + test.toString().replace("#", "_") + "_" + vmId + "_" + version.substring(0, 6) + "_" + level, test, vmId, version, logData);
+   public RCALogAction(final TestCase test, final int vmId, final int level, final String version, final String logName) {
+      super("rcalog_" + test.toString().replace("#", "_") + "_" + vmId + "_" + version.substring(0, 6) + "_" + level, test, vmId, version, logName);
       this.level = level;
    }
    
@@ -3,6 +3,7 @@ package de.dagere.peass.ci.logs.rca;
 import java.util.List;
 import java.util.Map;
 
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.VisibleAction;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 
@@ -30,6 +31,13 @@ public class RCALogOverviewAction extends VisibleAction {
       return versionOld;
    }
 
+   /**
+    * Prefix of the links to the bundled actions of this build, see {@link ActionDispatcher#getLinkPrefix(hudson.model.Run, String)}
+    */
+   public String getLinkPrefix() {
+      return ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.RCA_LOGS);
+   }
+
    @Override
    public String getIconFileName() {
       return "notepad.png";
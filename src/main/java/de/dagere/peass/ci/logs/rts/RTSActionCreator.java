@@ -10,6 +10,8 @@ import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import de.dagere.peass.ci.ActionDispatcher;
+import de.dagere.peass.ci.logs.BuildLogStore;
 import de.dagere.peass.ci.logs.InternalLogAction;
 import de.dagere.peass.ci.logs.RTSLogFileReader;
 import de.dagere.peass.ci.process.RTSInfos;
@@ -80,7 +82,7 @@ public class RTSActionCreator {
           */
          processSuccessRunSucceeded.put(processSuccessRun.getKey(), reader.isVersionRunWasSuccess());
          ProcessSuccessLogAction processSuccessAction = new ProcessSuccessLogAction("processSuccessRun_" + processSuccessRun.getKey(), logData, processSuccessRun.getKey());
-         run.addAction(processSuccessAction);
+         ActionDispatcher.get(run, ActionDispatcher.RTS_LOGS).addAction(processSuccessAction);
       }
       return processSuccessRuns;
    }
@@ -88,25 +90,18 @@ public class RTSActionCreator {
    private Map<TestCase, RTSLogData> createVersionRTSData(final String version) throws IOException {
       Map<TestCase, RTSLogData> rtsVmRuns = reader.getRtsVmRuns(version);
       LOG.info("RTS Runs: {}", rtsVmRuns.size());
+      BuildLogStore logStore = new BuildLogStore(run.getRootDir());
+      ActionDispatcher dispatcher = ActionDispatcher.get(run, ActionDispatcher.RTS_LOGS);
       for (Map.Entry<TestCase, RTSLogData> rtsLogData : rtsVmRuns.entrySet()) {
-         String methodLogData = getLogData(rtsLogData.getValue().getMethodFile());
-         String cleanLogData = getLogData(rtsLogData.getValue().getCleanFile());
-         RTSLogAction logAction = new RTSLogAction(rtsLogData.getValue().getVersion(), rtsLogData.getKey(), cleanLogData, methodLogData);
-         run.addAction(logAction);
+         String logVersion = rtsLogData.getValue().getVersion();
+         String methodLogName = logStore.store(rtsLogData.getValue().getMethodFile(), BuildLogStore.createName("rts", rtsLogData.getKey(), logVersion, "method"));
+         String cleanLogName = logStore.store(rtsLogData.getValue().getCleanFile(), BuildLogStore.createName("rts", rtsLogData.getKey(), logVersion, "clean"));
+         RTSLogAction logAction = new RTSLogAction(logVersion, rtsLogData.getKey(), cleanLogName, methodLogName);
+         dispatcher.addAction(logAction);
       }
       return rtsVmRuns;
    }
 
-   private String getLogData(final File methodFile) throws IOException {
-      String methodLogData;
-      if (methodFile.exists()) {
-         methodLogData = FileUtils.readFileToString(methodFile, StandardCharsets.UTF_8);
-      } else {
-         methodLogData = "Log could not be loaded";
-      }
-      return methodLogData;
-   }
-
    public RTSLogSummary getLogSummary() {
       return logSummary;
    }
@@ -1,19 +1,35 @@
 package de.dagere.peass.ci.logs.rts;
 
+import java.io.IOException;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
 import de.dagere.peass.ci.VisibleAction;
+import de.dagere.peass.ci.logs.BuildLogStore;
+import de.dagere.peass.ci.logs.LogContent;
 import de.dagere.peass.dependency.analysis.data.TestCase;
+import hudson.model.Item;
 
 public class RTSLogAction extends VisibleAction {
+   private static final String MISSING_MESSAGE = "Log could not be loaded";
+
    private final String version;
    private final TestCase testcase;
-   private final String cleanLog;
-   private final String log;
+   private final String cleanLogName;
+   private final String logName;
+   private transient BuildLogStore logStore;
+   /**
+    * Content of the logs for builds created before logs were kept in the {@link BuildLogStore}
+    */
+   private String cleanLog;
+   private String log;
 
-   public RTSLogAction(final String version, final TestCase testcase, final String cleanLog, final String log) {
+   public RTSLogAction(final String version, final TestCase testcase, final String cleanLogName, final String logName) {
       this.version = version;
       this.testcase = testcase;
-      this.cleanLog = cleanLog;
-      this.log = log;
+      this.cleanLogName = cleanLogName;
+      this.logName = logName;
    }
    
    @Override
@@ -29,12 +45,51 @@ public class RTSLogAction extends VisibleAction {
       return testcase;
    }
 
-   public String getCleanLog() {
-      return cleanLog;
+   public String getCleanLog() throws IOException {
+      if (cleanLog != null) {
+         return cleanLog;
+      }
+      return LogContent.readHead(getLogStore(), cleanLogName, MISSING_MESSAGE);
+   }
+
+   public String getLog() throws IOException {
+      if (log != null) {
+         return log;
+      }
+      return LogContent.readHead(getLogStore(), logName, MISSING_MESSAGE);
+   }
+
+   public boolean isCleanLogTruncated() {
+      return cleanLog == null && LogContent.isTruncated(getLogStore(), cleanLogName);
+   }
+
+   public boolean isLogTruncated() {
+      return log == null && LogContent.isTruncated(getLogStore(), logName);
+   }
+
+   public void doRaw(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      serve(req, rsp, log, logName);
+   }
+
+   public void doCleanRaw(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      serve(req, rsp, cleanLog, cleanLogName);
+   }
+
+   private void serve(final StaplerRequest req, final StaplerResponse rsp, final String legacyContent, final String name) throws IOException {
+      getRun().checkPermission(Item.READ);
+      if (legacyContent != null) {
+         rsp.setContentType("text/plain;charset=UTF-8");
+         rsp.getWriter().write(legacyContent);
+      } else {
+         LogContent.serve(req, rsp, getLogStore(), name);
+      }
    }
 
-   public String getLog() {
-      return log;
+   private BuildLogStore getLogStore() {
+      if (logStore == null) {
+         logStore = new BuildLogStore(getRun().getRootDir());
+      }
+      return logStore;
    }
 
    @Override
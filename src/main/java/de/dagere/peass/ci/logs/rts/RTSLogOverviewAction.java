@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.VisibleAction;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 
@@ -75,6 +76,13 @@ public class RTSLogOverviewAction extends VisibleAction {
       this.staticallySelectedTests = staticallySelectedTests;
    }
 
+   /**
+    * Prefix of the links to the bundled actions of this build, see {@link ActionDispatcher#getLinkPrefix(hudson.model.Run, String)}
+    */
+   public String getLinkPrefix() {
+      return ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.RTS_LOGS);
+   }
+
    @Override
    public String getIconFileName() {
       return "notepad.png";
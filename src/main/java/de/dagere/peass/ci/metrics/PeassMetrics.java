@@ -0,0 +1,154 @@
+package de.dagere.peass.ci.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Plugin-wide metrics of all Peass jobs of the controller, labelled by job. They are written in the Prometheus text exposition format by
+ * {@link PeassMetricsRootAction}, so they can be scraped without further plugins. The metrics only live in memory and start at 0 when the controller starts,
+ * as usual for Prometheus counters.
+ *
+ * @author DaGeRe
+ *
+ */
+public class PeassMetrics {
+
+   private static final PeassMetrics INSTANCE = new PeassMetrics();
+
+   /**
+    * Upper bounds of the buckets of the parse latency in seconds
+    */
+   static final double[] PARSE_BUCKETS = { 0.1, 0.5, 1, 5, 10, 30, 60, 300 };
+
+   private final Map<String, LongAdder> measurementVMs = new ConcurrentSkipListMap<>();
+   private final Map<String, LongAdder> rcaRuns = new ConcurrentSkipListMap<>();
+   private final Map<String, LongAdder> selectedTests = new ConcurrentSkipListMap<>();
+   private final Map<String, LongAdder> transferBytes = new ConcurrentSkipListMap<>();
+   private final Map<String, Histogram> parseLatency = new ConcurrentSkipListMap<>();
+   private final Map<String, AtomicLong> trendFileBytes = new ConcurrentSkipListMap<>();
+
+   /**
+    * Returns the metrics of the controller
+    */
+   public static PeassMetrics get() {
+      return INSTANCE;
+   }
+
+   public void addMeasurementVMs(final String job, final long vms) {
+      getCounter(measurementVMs, job).add(vms);
+   }
+
+   public void addRCARun(final String job) {
+      getCounter(rcaRuns, job).increment();
+   }
+
+   public void addSelectedTests(final String job, final long tests) {
+      getCounter(selectedTests, job).add(tests);
+   }
+
+   public void addTransferBytes(final String job, final long bytes) {
+      getCounter(transferBytes, job).add(bytes);
+   }
+
+   /**
+    * Adds the duration of reading the measurement results of one build
+    */
+   public void observeParseLatency(final String job, final long milliseconds) {
+      parseLatency.computeIfAbsent(job, key -> new Histogram()).observe(milliseconds / 1000d);
+   }
+
+   public void setTrendFileBytes(final String job, final long bytes) {
+      trendFileBytes.computeIfAbsent(job, key -> new AtomicLong()).set(bytes);
+   }
+
+   private static LongAdder getCounter(final Map<String, LongAdder> counters, final String job) {
+      return counters.computeIfAbsent(job, key -> new LongAdder());
+   }
+
+   /**
+    * Writes all metrics in the Prometheus text exposition format (version 0.0.4)
+    */
+   public void write(final Writer writer) throws IOException {
+      write(writer, job -> true);
+   }
+
+   /**
+    * Writes the metrics of the jobs accepted by the filter in the Prometheus text exposition format (version 0.0.4)
+    */
+   public void write(final Writer writer, final Predicate<String> jobFilter) throws IOException {
+      writeCounter(writer, "peass_measurement_vms_total", "Count of measurement VMs with a result, each measuring one version of one test", measurementVMs,
+            jobFilter);
+      writeCounter(writer, "peass_rca_runs_total", "Count of root cause analysis executions", rcaRuns, jobFilter);
+      writeCounter(writer, "peass_rts_selected_tests_total", "Count of tests selected by regression test selection", selectedTests, jobFilter);
+      writeCounter(writer, "peass_transfer_bytes_total", "Bytes of results transferred from the agents to the controller", transferBytes, jobFilter);
+
+      writer.write("# HELP peass_parse_latency_seconds Duration of reading the measurement results of a build\n");
+      writer.write("# TYPE peass_parse_latency_seconds histogram\n");
+      for (Map.Entry<String, Histogram> entry : parseLatency.entrySet()) {
+         if (jobFilter.test(entry.getKey())) {
+            entry.getValue().write(writer, "peass_parse_latency_seconds", getJobLabel(entry.getKey()));
+         }
+      }
+
+      writer.write("# HELP peass_trend_file_bytes Size of the trend data of the job\n");
+      writer.write("# TYPE peass_trend_file_bytes gauge\n");
+      for (Map.Entry<String, AtomicLong> entry : trendFileBytes.entrySet()) {
+         if (jobFilter.test(entry.getKey())) {
+            writer.write("peass_trend_file_bytes{" + getJobLabel(entry.getKey()) + "} " + entry.getValue().get() + "\n");
+         }
+      }
+   }
+
+   private void writeCounter(final Writer writer, final String name, final String help, final Map<String, LongAdder> counters,
+         final Predicate<String> jobFilter) throws IOException {
+      writer.write("# HELP " + name + " " + help + "\n");
+      writer.write("# TYPE " + name + " counter\n");
+      for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+         if (jobFilter.test(entry.getKey())) {
+            writer.write(name + "{" + getJobLabel(entry.getKey()) + "} " + entry.getValue().sum() + "\n");
+         }
+      }
+   }
+
+   static String getJobLabel(final String job) {
+      String escaped = job.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+      return "job=\"" + escaped + "\"";
+   }
+
+   private static class Histogram {
+      private final LongAdder[] buckets = new LongAdder[PARSE_BUCKETS.length];
+      private final LongAdder count = new LongAdder();
+      private final DoubleAdder sum = new DoubleAdder();
+
+      Histogram() {
+         for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+         }
+      }
+
+      void observe(final double value) {
+         for (int i = 0; i < buckets.length; i++) {
+            if (value <= PARSE_BUCKETS[i]) {
+               buckets[i].increment();
+            }
+         }
+         count.increment();
+         sum.add(value);
+      }
+
+      void write(final Writer writer, final String name, final String label) throws IOException {
+         for (int i = 0; i < buckets.length; i++) {
+            writer.write(name + "_bucket{" + label + ",le=\"" + PARSE_BUCKETS[i] + "\"} " + buckets[i].sum() + "\n");
+         }
+         writer.write(name + "_bucket{" + label + ",le=\"+Inf\"} " + count.sum() + "\n");
+         writer.write(name + "_sum{" + label + "} " + sum.sum() + "\n");
+         writer.write(name + "_count{" + label + "} " + count.sum() + "\n");
+      }
+   }
+}
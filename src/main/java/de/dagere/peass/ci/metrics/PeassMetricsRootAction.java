@@ -0,0 +1,61 @@
+package de.dagere.peass.ci.metrics;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.RootAction;
+import jenkins.model.Jenkins;
+
+/**
+ * Exposes {@link PeassMetrics} at <code>${rootURL}/peass-metrics/</code> in the Prometheus text exposition format. Reading requires the overall read
+ * permission, so scrapers need to authenticate like other API clients. Only the metrics of jobs the caller may read ({@link Item#READ}) are written; the
+ * metrics of deleted or renamed jobs are only visible to administrators.
+ *
+ * @author DaGeRe
+ *
+ */
+@Extension
+public class PeassMetricsRootAction implements RootAction {
+
+   public static final String URL_NAME = "peass-metrics";
+
+   public void doIndex(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      Jenkins.get().checkPermission(Jenkins.READ);
+
+      rsp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+      Writer writer = new OutputStreamWriter(rsp.getOutputStream(), StandardCharsets.UTF_8);
+      PeassMetrics.get().write(writer, PeassMetricsRootAction::isReadable);
+      writer.flush();
+   }
+
+   private static boolean isReadable(final String jobName) {
+      Jenkins jenkins = Jenkins.get();
+      if (jenkins.hasPermission(Jenkins.ADMINISTER)) {
+         return true;
+      }
+      Item item = jenkins.getItemByFullName(jobName);
+      return item != null && item.hasPermission(Item.READ);
+   }
+
+   @Override
+   public String getIconFileName() {
+      return null;
+   }
+
+   @Override
+   public String getDisplayName() {
+      return "Peass Metrics";
+   }
+
+   @Override
+   public String getUrlName() {
+      return URL_NAME;
+   }
+}
@@ -0,0 +1,81 @@
+package de.dagere.peass.ci.metrics;
+
+import java.io.Serializable;
+
+/**
+ * Resource usage of one phase of a build on the controller, e.g. the regression test selection or the transfer of its results.
+ *
+ * @author DaGeRe
+ *
+ */
+public class PhaseMetric implements Serializable {
+
+   private static final long serialVersionUID = 6279345718345239121L;
+
+   private final String phase;
+   private final long startTime;
+   private long duration;
+   private long bytesTransferred;
+   private int filesTransferred;
+   private int filesParsed;
+   private long peakHeap;
+
+   public PhaseMetric(final String phase, final long startTime) {
+      this.phase = phase;
+      this.startTime = startTime;
+   }
+
+   public String getPhase() {
+      return phase;
+   }
+
+   public long getStartTime() {
+      return startTime;
+   }
+
+   /**
+    * Wall time of the phase in milliseconds
+    */
+   public long getDuration() {
+      return duration;
+   }
+
+   public void setDuration(final long duration) {
+      this.duration = duration;
+   }
+
+   public long getBytesTransferred() {
+      return bytesTransferred;
+   }
+
+   public void addBytesTransferred(final long bytes) {
+      bytesTransferred += bytes;
+   }
+
+   public int getFilesTransferred() {
+      return filesTransferred;
+   }
+
+   public void addFilesTransferred(final int files) {
+      filesTransferred += files;
+   }
+
+   public int getFilesParsed() {
+      return filesParsed;
+   }
+
+   public void addFilesParsed(final int files) {
+      filesParsed += files;
+   }
+
+   /**
+    * Peak of the used heap of the controller during the phase in bytes; -1 if the JVM does not report the peak
+    */
+   public long getPeakHeap() {
+      return peakHeap;
+   }
+
+   public void setPeakHeap(final long peakHeap) {
+      this.peakHeap = peakHeap;
+   }
+}
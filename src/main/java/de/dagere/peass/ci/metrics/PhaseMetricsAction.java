@@ -0,0 +1,86 @@
+package de.dagere.peass.ci.metrics;
+
+import java.util.List;
+import java.util.Locale;
+
+import de.dagere.peass.ci.VisibleAction;
+
+/**
+ * Shows how the wall time of a build is divided into the phases executed on the controller, together with transferred bytes, parsed files and the peak heap
+ * of each phase.
+ *
+ * @author DaGeRe
+ *
+ */
+public class PhaseMetricsAction extends VisibleAction {
+
+   public static final String URL_NAME = "phaseMetrics";
+
+   private final List<PhaseMetric> phases;
+
+   public PhaseMetricsAction(final List<PhaseMetric> phases) {
+      this.phases = phases;
+   }
+
+   public List<PhaseMetric> getPhases() {
+      return phases;
+   }
+
+   /**
+    * Returns the sum of the durations of all phases in milliseconds
+    */
+   public long getTotalDuration() {
+      long total = 0;
+      for (PhaseMetric phase : phases) {
+         total += phase.getDuration();
+      }
+      return total;
+   }
+
+   public long getTotalBytesTransferred() {
+      long total = 0;
+      for (PhaseMetric phase : phases) {
+         total += phase.getBytesTransferred();
+      }
+      return total;
+   }
+
+   public long getMaxPeakHeap() {
+      long max = -1;
+      for (PhaseMetric phase : phases) {
+         max = Math.max(max, phase.getPeakHeap());
+      }
+      return max;
+   }
+
+   public String formatDuration(final long milliseconds) {
+      return String.format(Locale.US, "%.1f s", milliseconds / 1000d);
+   }
+
+   public String formatBytes(final long bytes) {
+      if (bytes < 0) {
+         return "-";
+      } else if (bytes < 1024) {
+         return bytes + " B";
+      } else if (bytes < 1024 * 1024) {
+         return String.format(Locale.US, "%.1f KiB", bytes / 1024d);
+      } else {
+         return String.format(Locale.US, "%.1f MiB", bytes / (1024d * 1024));
+      }
+   }
+
+   @Override
+   public String getIconFileName() {
+      return "/plugin/peass-ci/images/trend.png";
+   }
+
+   @Override
+   public String getDisplayName() {
+      return "Peass Phase Metrics";
+   }
+
+   @Override
+   public String getUrlName() {
+      return URL_NAME;
+   }
+}
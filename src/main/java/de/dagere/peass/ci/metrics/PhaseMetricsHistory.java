@@ -0,0 +1,79 @@
+package de.dagere.peass.ci.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Phase metrics of several builds, aligned by build, so they can be charted directly: the i-th value of every list belongs to the i-th build. Phases missing in
+ * a build, e.g. RCA if no change was found, have the duration 0.
+ *
+ * @author DaGeRe
+ *
+ */
+public class PhaseMetricsHistory {
+
+   private final List<Integer> builds = new ArrayList<>();
+   private final Map<String, List<Long>> durations = new LinkedHashMap<>();
+   private final List<Long> bytesTransferred = new ArrayList<>();
+   private final List<Integer> filesParsed = new ArrayList<>();
+   private final List<Long> peakHeap = new ArrayList<>();
+
+   public static PhaseMetricsHistory create(final SortedMap<Integer, List<PhaseMetric>> metricsByBuild) {
+      PhaseMetricsHistory history = new PhaseMetricsHistory();
+      for (List<PhaseMetric> phases : metricsByBuild.values()) {
+         for (PhaseMetric phase : phases) {
+            history.durations.putIfAbsent(phase.getPhase(), new ArrayList<>());
+         }
+      }
+      for (Map.Entry<Integer, List<PhaseMetric>> build : metricsByBuild.entrySet()) {
+         history.add(build.getKey(), build.getValue());
+      }
+      return history;
+   }
+
+   private void add(final int build, final List<PhaseMetric> phases) {
+      builds.add(build);
+      Map<String, Long> buildDurations = new LinkedHashMap<>();
+      long bytes = 0;
+      int parsed = 0;
+      long peak = -1;
+      for (PhaseMetric phase : phases) {
+         buildDurations.merge(phase.getPhase(), phase.getDuration(), Long::sum);
+         bytes += phase.getBytesTransferred();
+         parsed += phase.getFilesParsed();
+         peak = Math.max(peak, phase.getPeakHeap());
+      }
+      for (Map.Entry<String, List<Long>> phaseDurations : durations.entrySet()) {
+         phaseDurations.getValue().add(buildDurations.getOrDefault(phaseDurations.getKey(), 0L));
+      }
+      bytesTransferred.add(bytes);
+      filesParsed.add(parsed);
+      peakHeap.add(peak);
+   }
+
+   public List<Integer> getBuilds() {
+      return builds;
+   }
+
+   /**
+    * Returns the durations in milliseconds by phase, in the order in which the phases were first executed
+    */
+   public Map<String, List<Long>> getDurations() {
+      return durations;
+   }
+
+   public List<Long> getBytesTransferred() {
+      return bytesTransferred;
+   }
+
+   public List<Integer> getFilesParsed() {
+      return filesParsed;
+   }
+
+   public List<Long> getPeakHeap() {
+      return peakHeap;
+   }
+}
@@ -0,0 +1,95 @@
+package de.dagere.peass.ci.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the {@link PhaseMetric} of the phases of one build. A phase is recorded by
+ *
+ * <pre>
+ * try (PhaseMetricsRecorder.Phase phase = recorder.start("RTS")) {
+ *    ...
+ *    phase.getMetric().addFilesParsed(count);
+ * }
+ * </pre>
+ *
+ * The peak heap is the maximum of the used heap sampled every {@value #HEAP_SAMPLE_INTERVAL} ms during the phase; the peak usage of the memory pools is not
+ * reset, since it is global state of the JVM. Short peaks between two samples are therefore missed. Since the heap is shared with all other builds of the
+ * controller, the peak heap shows the load of the controller during the phase rather than the allocation of the phase itself.
+ *
+ * @author DaGeRe
+ *
+ */
+public class PhaseMetricsRecorder {
+
+   /**
+    * Interval of sampling the used heap during a phase in milliseconds
+    */
+   public static final long HEAP_SAMPLE_INTERVAL = 100;
+
+   private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+   public class Phase implements AutoCloseable {
+      private final PhaseMetric metric;
+      private final long start;
+      private final ScheduledExecutorService heapSampler;
+      private volatile long peakHeap;
+
+      private Phase(final PhaseMetric metric) {
+         this.metric = metric;
+         this.start = System.nanoTime();
+         sampleHeap();
+         heapSampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "peass-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+         });
+         heapSampler.scheduleAtFixedRate(this::sampleHeap, HEAP_SAMPLE_INTERVAL, HEAP_SAMPLE_INTERVAL, TimeUnit.MILLISECONDS);
+      }
+
+      public PhaseMetric getMetric() {
+         return metric;
+      }
+
+      private void sampleHeap() {
+         long used = MEMORY.getHeapMemoryUsage().getUsed();
+         if (used > peakHeap) {
+            peakHeap = used;
+         }
+      }
+
+      @Override
+      public void close() {
+         heapSampler.shutdownNow();
+         try {
+            heapSampler.awaitTermination(1, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         sampleHeap();
+         metric.setDuration((System.nanoTime() - start) / 1000000);
+         metric.setPeakHeap(peakHeap);
+         synchronized (PhaseMetricsRecorder.this) {
+            phases.add(metric);
+         }
+      }
+   }
+
+   private final List<PhaseMetric> phases = new ArrayList<>();
+
+   public Phase start(final String phaseName) {
+      return new Phase(new PhaseMetric(phaseName, System.currentTimeMillis()));
+   }
+
+   /**
+    * Returns the metrics of all finished phases in the order of their end
+    */
+   public synchronized List<PhaseMetric> getPhases() {
+      return new ArrayList<>(phases);
+   }
+}
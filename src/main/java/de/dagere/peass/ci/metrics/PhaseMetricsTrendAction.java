@@ -0,0 +1,94 @@
+package de.dagere.peass.ci.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import de.dagere.peass.utils.Constants;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Run;
+
+/**
+ * Charts the {@link PhaseMetricsAction}s of the last builds of a job, so it is visible whether the time of a build is spent in the measured project (RTS,
+ * measurement and RCA on the agent) or in the plugin itself (transfer, parsing, visualization).
+ *
+ * @author DaGeRe
+ *
+ */
+public class PhaseMetricsTrendAction implements Action {
+
+   private static final int DEFAULT_MAX_BUILDS = 50;
+   private static final int MAX_BUILDS_LIMIT = 1000;
+
+   private final Job<?, ?> project;
+
+   public PhaseMetricsTrendAction(final Job<?, ?> project) {
+      this.project = project;
+   }
+
+   public Job<?, ?> getProject() {
+      return project;
+   }
+
+   /**
+    * Returns the metrics of the last builds which recorded phase metrics; since every build needs to be loaded, the count of builds is limited.
+    */
+   public PhaseMetricsHistory getHistory(final int maxBuilds) {
+      SortedMap<Integer, List<PhaseMetric>> metricsByBuild = new TreeMap<>();
+      for (Run<?, ?> run : project.getBuilds().limit(maxBuilds)) {
+         PhaseMetricsAction action = run.getAction(PhaseMetricsAction.class);
+         if (action != null) {
+            metricsByBuild.put(run.getNumber(), action.getPhases());
+         }
+      }
+      return PhaseMetricsHistory.create(metricsByBuild);
+   }
+
+   /**
+    * Returns the {@link PhaseMetricsHistory} as JSON, e.g. <code>history?maxBuilds=100</code>; maxBuilds is limited to 1000 and needs to be at least 1
+    */
+   public void doHistory(final StaplerRequest req, final StaplerResponse rsp) throws IOException {
+      project.checkPermission(Item.READ);
+
+      int maxBuilds = DEFAULT_MAX_BUILDS;
+      String maxBuildsParameter = req.getParameter("maxBuilds");
+      if (maxBuildsParameter != null && !maxBuildsParameter.isEmpty()) {
+         try {
+            maxBuilds = Math.min(Integer.parseInt(maxBuildsParameter), MAX_BUILDS_LIMIT);
+         } catch (NumberFormatException e) {
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+         }
+         if (maxBuilds < 1) {
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, "maxBuilds needs to be at least 1: " + maxBuildsParameter);
+            return;
+         }
+      }
+
+      rsp.setContentType("application/json;charset=UTF-8");
+      Constants.OBJECTMAPPER.writeValue(rsp.getOutputStream(), getHistory(maxBuilds));
+   }
+
+   @Override
+   public String getIconFileName() {
+      return "/plugin/peass-ci/images/trend.png";
+   }
+
+   @Override
+   public String getDisplayName() {
+      return "Peass Phase Metrics";
+   }
+
+   @Override
+   public String getUrlName() {
+      return PhaseMetricsAction.URL_NAME;
+   }
+}
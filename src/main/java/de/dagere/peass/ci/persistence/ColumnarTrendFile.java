@@ -0,0 +1,153 @@
+package de.dagere.peass.ci.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compact columnar snapshot of the trend of a job, which is loaded memory-mapped instead of parsing the JSON segments of the {@link TrendStore}. The
+ * snapshot is only a derived cache: it contains the {@link TrendFingerprint} of the JSON files it was created from and is ignored if they changed since.
+ *
+ * Format (big endian): magic, version, fingerprint (lastModified, size, fileCount), testcase count, and per testcase its UTF-8 name (length-prefixed), the
+ * point count n and the columns int[n] builds, double[n] means, double[n] deviations, double[n] calls and double[n] VMs.
+ */
+public class ColumnarTrendFile {
+
+   private static final Logger LOG = LogManager.getLogger(ColumnarTrendFile.class);
+
+   public static final String SNAPSHOT_FILE_NAME = "trend.bin";
+
+   private static final int MAGIC = 0x50545246; // "PTRF"
+   private static final int FORMAT_VERSION = 1;
+
+   private final File file;
+
+   public ColumnarTrendFile(final File trendFolder) {
+      this.file = new File(trendFolder, SNAPSHOT_FILE_NAME);
+   }
+
+   public File getFile() {
+      return file;
+   }
+
+   /**
+    * Reads the snapshot if it exists and has been created from trend files with the given fingerprint; otherwise, null is returned.
+    */
+   public TrendModel read(final TrendFingerprint expectedFingerprint) throws IOException {
+      if (!file.exists()) {
+         return null;
+      }
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            LOG.info("Ignoring {}, since it has an unknown format", file);
+            return null;
+         }
+         TrendFingerprint fingerprint = new TrendFingerprint(buffer.getLong(), buffer.getLong(), buffer.getInt());
+         if (!fingerprint.equals(expectedFingerprint)) {
+            LOG.debug("Ignoring outdated {}", file);
+            return null;
+         }
+         int testcaseCount = buffer.getInt();
+         LinkedHashMap<String, TrendSeries> series = new LinkedHashMap<>();
+         for (int i = 0; i < testcaseCount; i++) {
+            String testcase = readString(buffer);
+            series.put(testcase, readSeries(buffer));
+         }
+         return TrendModel.of(series);
+      } catch (RuntimeException e) {
+         // A truncated or otherwise broken snapshot is rebuilt from the JSON data
+         LOG.warn("Could not read {}: {}", file, e.getMessage());
+         return null;
+      }
+   }
+
+   private String readString(final ByteBuffer buffer) {
+      byte[] bytes = new byte[buffer.getInt()];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   private TrendSeries readSeries(final ByteBuffer buffer) {
+      int size = buffer.getInt();
+      int[] builds = new int[size];
+      buffer.asIntBuffer().get(builds);
+      buffer.position(buffer.position() + size * Integer.BYTES);
+      double[] means = readColumn(buffer, size);
+      double[] deviations = readColumn(buffer, size);
+      double[] calls = readColumn(buffer, size);
+      double[] vms = readColumn(buffer, size);
+      return new TrendSeries(builds, means, deviations, calls, vms);
+   }
+
+   private double[] readColumn(final ByteBuffer buffer, final int size) {
+      double[] column = new double[size];
+      buffer.asDoubleBuffer().get(column);
+      buffer.position(buffer.position() + size * Double.BYTES);
+      return column;
+   }
+
+   /**
+    * Writes the snapshot atomically, so concurrent readers either see the old or the new snapshot. If writing fails, the temporary file is removed.
+    */
+   public void write(final TrendFingerprint fingerprint, final TrendModel model) throws IOException {
+      File temporaryFile = Files.createTempFile(file.getParentFile().toPath(), SNAPSHOT_FILE_NAME, ".tmp").toFile();
+      boolean moved = false;
+      try {
+         writeSnapshot(temporaryFile, fingerprint, model);
+         Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         moved = true;
+      } finally {
+         if (!moved) {
+            Files.deleteIfExists(temporaryFile.toPath());
+         }
+      }
+   }
+
+   private void writeSnapshot(final File temporaryFile, final TrendFingerprint fingerprint, final TrendModel model) throws IOException {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+         out.writeInt(MAGIC);
+         out.writeInt(FORMAT_VERSION);
+         out.writeLong(fingerprint.getLastModified());
+         out.writeLong(fingerprint.getSize());
+         out.writeInt(fingerprint.getFileCount());
+         out.writeInt(model.getTestcases().size());
+         for (String testcase : model.getTestcases()) {
+            byte[] name = testcase.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+            writeSeries(out, model.getSeries(testcase));
+         }
+      }
+   }
+
+   private void writeSeries(final DataOutputStream out, final TrendSeries series) throws IOException {
+      out.writeInt(series.size());
+      for (int build : series.getBuilds()) {
+         out.writeInt(build);
+      }
+      writeColumn(out, series.getMeans());
+      writeColumn(out, series.getDeviations());
+      writeColumn(out, series.getCalls());
+      writeColumn(out, series.getVms());
+   }
+
+   private void writeColumn(final DataOutputStream out, final double[] column) throws IOException {
+      for (double value : column) {
+         out.writeDouble(value);
+      }
+   }
+}
@@ -0,0 +1,79 @@
+package de.dagere.peass.ci.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import de.dagere.peass.ci.logs.LogFiles;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Stores the duration of one VM pair (predecessor and current version) of every testcase, learned from the end dates of the VM logs of previous builds. A
+ * new duration is averaged with the stored one, so single outliers do not dominate the prediction.
+ *
+ * @author DaGeRe
+ *
+ */
+public class TestDurationHistory {
+
+   private static final Logger LOG = LogManager.getLogger(TestDurationHistory.class);
+
+   public static final String DURATION_FILE_NAME = "durations.json";
+
+   private final File durationFile;
+   private final Map<String, Long> durations;
+
+   public TestDurationHistory(final File localWorkspace) throws IOException {
+      durationFile = new File(localWorkspace, DURATION_FILE_NAME);
+      if (durationFile.exists()) {
+         durations = Constants.OBJECTMAPPER.readValue(durationFile, new TypeReference<TreeMap<String, Long>>() {
+         });
+      } else {
+         durations = new TreeMap<>();
+      }
+   }
+
+   /**
+    * Returns the duration of one VM pair of the testcase in milliseconds, or null if it has not been measured with at least two VMs before
+    */
+   public Long getVMDuration(final TestCase testcase) {
+      return durations.get(testcase.toString());
+   }
+
+   /**
+    * Adds the durations of the VM logs of one build and saves the history.
+    */
+   public void update(final Map<TestCase, List<LogFiles>> logFiles) throws IOException {
+      for (Map.Entry<TestCase, List<LogFiles>> testcase : logFiles.entrySet()) {
+         long duration = getVMDuration(testcase.getValue());
+         if (duration > 0) {
+            Long oldDuration = durations.get(testcase.getKey().toString());
+            long newDuration = oldDuration != null ? (oldDuration + duration) / 2 : duration;
+            durations.put(testcase.getKey().toString(), newDuration);
+         }
+      }
+      LOG.debug("Saving {} test durations", durations.size());
+      Constants.OBJECTMAPPER.writeValue(durationFile, durations);
+   }
+
+   /**
+    * Returns the mean duration of one VM pair, derived from the end dates of the logs of the current version, or -1 if less than two VMs were executed.
+    * The first VM is not included, since its start is not known.
+    */
+   public static long getVMDuration(final List<LogFiles> vmLogs) {
+      if (vmLogs.size() < 2) {
+         return -1;
+      }
+      long firstEnd = vmLogs.get(0).getEndDateCurrent().getTime();
+      long lastEnd = vmLogs.get(vmLogs.size() - 1).getEndDateCurrent().getTime();
+      return Math.max(0, (lastEnd - firstEnd) / (vmLogs.size() - 1));
+   }
+}
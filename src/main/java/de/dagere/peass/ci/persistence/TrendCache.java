@@ -0,0 +1,86 @@
+package de.dagere.peass.ci.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Controller-wide cache of the trend models of the jobs, so rendering the trend page does not read the trend data once per testcase and plot. Entries are
+ * validated by the {@link TrendFingerprint} of the trend files on each access, and the least recently used job is evicted once {@link #MAX_ENTRIES} jobs are
+ * cached. On a cache miss, the {@link ColumnarTrendFile} snapshot is used if it is up to date, so the JSON segments are only parsed after the trend changed.
+ */
+public class TrendCache {
+
+   private static final Logger LOG = LogManager.getLogger(TrendCache.class);
+
+   static final int MAX_ENTRIES = 32;
+
+   private static final Map<File, CachedModel> CACHE = Collections.synchronizedMap(new LinkedHashMap<File, CachedModel>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<File, CachedModel> eldest) {
+         return size() > MAX_ENTRIES;
+      }
+   });
+
+   private static class CachedModel {
+      private final TrendFingerprint fingerprint;
+      private final TrendModel model;
+
+      public CachedModel(final TrendFingerprint fingerprint, final TrendModel model) {
+         this.fingerprint = fingerprint;
+         this.model = model;
+      }
+   }
+
+   private TrendCache() {
+   }
+
+   public static TrendModel getModel(final File localWorkspace) throws IOException {
+      TrendFingerprint fingerprint = TrendFingerprint.of(localWorkspace);
+      CachedModel cached = CACHE.get(localWorkspace);
+      if (cached != null && cached.fingerprint.equals(fingerprint)) {
+         return cached.model;
+      }
+
+      TrendStore store = TrendFileUtil.getStore(localWorkspace);
+      // Migration may have changed the files, so the fingerprint is taken again before reading; concurrent appends only cause an additional reload
+      TrendFingerprint loadedFingerprint = TrendFingerprint.of(localWorkspace);
+      TrendModel model = loadModel(store, loadedFingerprint);
+      CACHE.put(localWorkspace, new CachedModel(loadedFingerprint, model));
+      return model;
+   }
+
+   private static TrendModel loadModel(final TrendStore store, final TrendFingerprint fingerprint) throws IOException {
+      if (!store.exists()) {
+         return TrendModel.EMPTY;
+      }
+      ColumnarTrendFile snapshot = new ColumnarTrendFile(store.getTrendFolder());
+      TrendModel model = snapshot.read(fingerprint);
+      if (model == null) {
+         LOG.debug("Loading trend of {}", store.getTrendFolder());
+         model = TrendModel.fromValues(store.readAll());
+         try {
+            snapshot.write(fingerprint, model);
+         } catch (IOException | RuntimeException e) {
+            // The snapshot only speeds up the next load, so the page is still shown with the model read from the segments
+            LOG.warn("Could not write trend snapshot of {}", store.getTrendFolder(), e);
+         }
+      }
+      return model;
+   }
+
+   public static void invalidate(final File localWorkspace) {
+      CACHE.remove(localWorkspace);
+   }
+
+   static int size() {
+      return CACHE.size();
+   }
+}
@@ -0,0 +1,117 @@
+package de.dagere.peass.ci.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a {@link TrendSeries} to a maximum count of points for plotting. The first and the last build are always kept.
+ */
+public class TrendDownsampler {
+
+   public enum Mode {
+      /**
+       * Largest-Triangle-Three-Buckets: keeps the point of each bucket that spans the largest triangle with its neighbours, which preserves the visual shape
+       */
+      LTTB,
+      /**
+       * Keeps the minimum and the maximum mean of each bucket, which preserves every spike
+       */
+      MINMAX;
+
+      public static Mode fromString(final String value) {
+         if (value == null || value.isEmpty()) {
+            return LTTB;
+         }
+         return Mode.valueOf(value.toUpperCase());
+      }
+   }
+
+   private TrendDownsampler() {
+   }
+
+   public static TrendSeries downsample(final TrendSeries series, final int maxPoints, final Mode mode) {
+      if (maxPoints <= 0 || series.size() <= maxPoints || maxPoints < 3) {
+         return series;
+      }
+      final int[] indices;
+      if (mode == Mode.MINMAX) {
+         indices = minMaxIndices(series, maxPoints);
+      } else {
+         indices = lttbIndices(series, maxPoints);
+      }
+      return series.select(indices);
+   }
+
+   static int[] lttbIndices(final TrendSeries series, final int maxPoints) {
+      final int[] x = series.getBuilds();
+      final double[] y = series.getMeans();
+      final int size = x.length;
+      final int[] indices = new int[maxPoints];
+      final double bucketSize = (double) (size - 2) / (maxPoints - 2);
+
+      int selected = 0;
+      indices[0] = 0;
+      for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+         int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+         int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+         double averageX = 0;
+         double averageY = 0;
+         for (int i = nextStart; i < nextEnd; i++) {
+            averageX += x[i];
+            averageY += y[i];
+         }
+         int nextCount = Math.max(nextEnd - nextStart, 1);
+         averageX /= nextCount;
+         averageY /= nextCount;
+
+         int start = (int) Math.floor(bucket * bucketSize) + 1;
+         int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+         double maxArea = -1;
+         int maxIndex = start;
+         for (int i = start; i < end; i++) {
+            double area = Math.abs((x[selected] - averageX) * (y[i] - y[selected]) - (x[selected] - x[i]) * (averageY - y[selected]));
+            if (area > maxArea) {
+               maxArea = area;
+               maxIndex = i;
+            }
+         }
+         indices[bucket + 1] = maxIndex;
+         selected = maxIndex;
+      }
+      indices[maxPoints - 1] = size - 1;
+      return indices;
+   }
+
+   static int[] minMaxIndices(final TrendSeries series, final int maxPoints) {
+      final double[] y = series.getMeans();
+      final int size = y.length;
+      final int bucketCount = Math.max((maxPoints - 2) / 2, 1);
+      final double bucketSize = (double) (size - 2) / bucketCount;
+
+      int[] indices = new int[bucketCount * 2 + 2];
+      int count = 0;
+      indices[count++] = 0;
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+         int start = (int) Math.floor(bucket * bucketSize) + 1;
+         int end = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+         if (start >= end) {
+            continue;
+         }
+         int minIndex = start;
+         int maxIndex = start;
+         for (int i = start; i < end; i++) {
+            if (y[i] < y[minIndex]) {
+               minIndex = i;
+            }
+            if (y[i] > y[maxIndex]) {
+               maxIndex = i;
+            }
+         }
+         indices[count++] = Math.min(minIndex, maxIndex);
+         if (minIndex != maxIndex) {
+            indices[count++] = Math.max(minIndex, maxIndex);
+         }
+      }
+      indices[count++] = size - 1;
+      return Arrays.copyOf(indices, count);
+   }
+}
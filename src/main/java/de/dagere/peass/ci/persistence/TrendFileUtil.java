@@ -2,6 +2,7 @@ package de.dagere.peass.ci.persistence;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -12,27 +13,32 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.measurement.analysis.ProjectStatistics;
 import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
-import de.dagere.peass.utils.Constants;
 import hudson.model.Run;
 
 public class TrendFileUtil {
 
+   /**
+    * Name of the trend file in the old monolithic format; it is only read for migration to the {@link TrendStore}
+    */
    public static final String TREND_FILE_NAME = "trend.json";
 
+   private static final int COMPACTION_INTERVAL = 100;
+
    public static void persistTrend(final Run<?, ?> run, final File localWorkspace, final ProjectStatistics statistics)
          throws IOException, JsonParseException, JsonMappingException, JsonGenerationException {
-      File trendFile = new File(localWorkspace, TREND_FILE_NAME);
-      BuildMeasurementValues values = getValues(trendFile);
+      TrendStore store = getStore(localWorkspace);
       if (statistics.getStatistics().size() > 0) {
-         if (values.getValues().size() == 0) {
-            addFakePredecessorStatistics(run, statistics, values);
+         if (store.isEmpty()) {
+            addFakePredecessorStatistics(run, statistics, store);
+         }
+         store.append(getTestcaseStatistics(statistics), run.getNumber());
+         if (run.getNumber() % COMPACTION_INTERVAL == 0) {
+            store.compact();
          }
-         values.addMeasurement(statistics, run.getNumber());
-         Constants.OBJECTMAPPER.writeValue(trendFile, values);
       }
    }
 
-   private static void addFakePredecessorStatistics(final Run<?, ?> run, final ProjectStatistics statistics, final BuildMeasurementValues values) {
+   private static void addFakePredecessorStatistics(final Run<?, ?> run, final ProjectStatistics statistics, final TrendStore store) throws IOException {
       final ProjectStatistics fakePredecessorStatistics = new ProjectStatistics();
       final Entry<String, Map<TestCase, TestcaseStatistic>> currentEntry = statistics.getStatistics().entrySet().iterator().next();
       final String version = currentEntry.getKey();
@@ -44,23 +50,34 @@ public class TrendFileUtil {
          predecessor.setVMs(entry.getValue().getVMs());
          fakePredecessorStatistics.addMeasurement(version + "~1", entry.getKey(), predecessor);
       }
-      values.addMeasurement(fakePredecessorStatistics, run.getNumber() - 1);
+      store.append(getTestcaseStatistics(fakePredecessorStatistics), run.getNumber() - 1);
+   }
+
+   private static Map<String, TestcaseStatistic> getTestcaseStatistics(final ProjectStatistics statistics) {
+      Map<String, TestcaseStatistic> testcaseStatistics = new LinkedHashMap<>();
+      for (Entry<String, Map<TestCase, TestcaseStatistic>> version : statistics.getStatistics().entrySet()) {
+         for (Entry<TestCase, TestcaseStatistic> testcase : version.getValue().entrySet()) {
+            testcaseStatistics.put(testcase.getKey().toString(), testcase.getValue());
+         }
+      }
+      return testcaseStatistics;
    }
 
    public static BuildMeasurementValues readMeasurementValues(final File localWorkspace) throws JsonParseException, JsonMappingException, IOException, InterruptedException {
-      final File trendFile = new File(localWorkspace, TREND_FILE_NAME);
-      System.out.println(trendFile.getAbsolutePath() + " " + trendFile.exists());
-      final BuildMeasurementValues values = getValues(trendFile);
-      return values;
+      TrendStore store = getStore(localWorkspace);
+      return store.readAll();
    }
 
-   private static BuildMeasurementValues getValues(final File trendFile) throws IOException, JsonParseException, JsonMappingException {
-      BuildMeasurementValues values;
-      if (trendFile.exists()) {
-         values = Constants.OBJECTMAPPER.readValue(trendFile, BuildMeasurementValues.class);
-      } else {
-         values = new BuildMeasurementValues();
+   /**
+    * Returns the trend store of the workspace; if only a trend file in the old monolithic format exists, it is migrated to the store once.
+    */
+   public static TrendStore getStore(final File localWorkspace) throws IOException {
+      TrendStore store = new TrendStore(localWorkspace);
+      File legacyTrendFile = new File(localWorkspace, TREND_FILE_NAME);
+      // The check is repeated by migrate under the lock, since concurrent callers may pass this check
+      if (legacyTrendFile.exists() && store.migrate(legacyTrendFile)) {
+         store.compact();
       }
-      return values;
+      return store;
    }
 }
@@ -0,0 +1,82 @@
+package de.dagere.peass.ci.persistence;
+
+import java.io.File;
+
+/**
+ * Cheap change detection for the trend data of a job: the newest modification time, the total size and the count of the trend files. Since the trend store is
+ * append-only, every change of the trend changes the size of at least one file.
+ */
+public class TrendFingerprint {
+
+   private final long lastModified;
+   private final long size;
+   private final int fileCount;
+
+   public TrendFingerprint(final long lastModified, final long size, final int fileCount) {
+      this.lastModified = lastModified;
+      this.size = size;
+      this.fileCount = fileCount;
+   }
+
+   public static TrendFingerprint of(final File localWorkspace) {
+      TrendStore store = new TrendStore(localWorkspace);
+      long lastModified = 0;
+      long size = 0;
+      int fileCount = 0;
+
+      File[] files = new File[] { new File(localWorkspace, TrendFileUtil.TREND_FILE_NAME), store.getIndexFile() };
+      for (File file : files) {
+         if (file.exists()) {
+            lastModified = Math.max(lastModified, file.lastModified());
+            size += file.length();
+            fileCount++;
+         }
+      }
+      File[] segments = new File(store.getTrendFolder(), TrendStore.SEGMENT_FOLDER_NAME).listFiles();
+      if (segments != null) {
+         for (File segment : segments) {
+            lastModified = Math.max(lastModified, segment.lastModified());
+            size += segment.length();
+            fileCount++;
+         }
+      }
+      return new TrendFingerprint(lastModified, size, fileCount);
+   }
+
+   public long getLastModified() {
+      return lastModified;
+   }
+
+   public long getSize() {
+      return size;
+   }
+
+   public int getFileCount() {
+      return fileCount;
+   }
+
+   @Override
+   public boolean equals(final Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!(obj instanceof TrendFingerprint)) {
+         return false;
+      }
+      TrendFingerprint other = (TrendFingerprint) obj;
+      return lastModified == other.lastModified && size == other.size && fileCount == other.fileCount;
+   }
+
+   @Override
+   public int hashCode() {
+      int result = Long.hashCode(lastModified);
+      result = 31 * result + Long.hashCode(size);
+      result = 31 * result + fileCount;
+      return result;
+   }
+
+   @Override
+   public String toString() {
+      return "TrendFingerprint [lastModified=" + lastModified + ", size=" + size + ", fileCount=" + fileCount + "]";
+   }
+}
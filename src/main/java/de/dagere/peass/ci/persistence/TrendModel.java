@@ -0,0 +1,40 @@
+package de.dagere.peass.ci.persistence;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, plot-ready view of the trend of a job; one {@link TrendSeries} per testcase, in the order of the trend store.
+ */
+public class TrendModel {
+
+   public static final TrendModel EMPTY = new TrendModel(new LinkedHashMap<>());
+
+   private final Map<String, TrendSeries> series;
+
+   private TrendModel(final LinkedHashMap<String, TrendSeries> series) {
+      this.series = Collections.unmodifiableMap(series);
+   }
+
+   static TrendModel of(final LinkedHashMap<String, TrendSeries> series) {
+      return new TrendModel(series);
+   }
+
+   public static TrendModel fromValues(final BuildMeasurementValues values) {
+      LinkedHashMap<String, TrendSeries> series = new LinkedHashMap<>();
+      for (Map.Entry<String, TestMeasurementValues> testcase : values.getValues().entrySet()) {
+         series.put(testcase.getKey(), TrendSeries.fromValues(testcase.getValue()));
+      }
+      return new TrendModel(series);
+   }
+
+   public Set<String> getTestcases() {
+      return series.keySet();
+   }
+
+   public TrendSeries getSeries(final String testcase) {
+      return series.get(testcase);
+   }
+}
@@ -0,0 +1,35 @@
+package de.dagere.peass.ci.persistence;
+
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+/**
+ * One line of a trend segment: the statistic of one testcase in one build.
+ */
+public class TrendRecord {
+   private int build;
+   private TestcaseStatistic statistic;
+
+   public TrendRecord() {
+   }
+
+   public TrendRecord(final int build, final TestcaseStatistic statistic) {
+      this.build = build;
+      this.statistic = statistic;
+   }
+
+   public int getBuild() {
+      return build;
+   }
+
+   public void setBuild(final int build) {
+      this.build = build;
+   }
+
+   public TestcaseStatistic getStatistic() {
+      return statistic;
+   }
+
+   public void setStatistic(final TestcaseStatistic statistic) {
+      this.statistic = statistic;
+   }
+}
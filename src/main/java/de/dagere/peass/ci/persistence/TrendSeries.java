@@ -0,0 +1,151 @@
+package de.dagere.peass.ci.persistence;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+/**
+ * Precomputed plot data of one testcase: the build numbers (ascending) as x values and the mean values and their deviation bounds as y values, plus the calls
+ * and VMs of each build. All values are kept in primitive arrays (columns).
+ */
+public class TrendSeries {
+   private final int[] builds;
+   private final double[] means;
+   private final double[] deviations;
+   private final double[] calls;
+   private final double[] vms;
+   private final double[] lowerBounds;
+   private final double[] upperBounds;
+
+   public TrendSeries(final int[] builds, final double[] means, final double[] deviations, final double[] calls, final double[] vms) {
+      this.builds = builds;
+      this.means = means;
+      this.deviations = deviations;
+      this.calls = calls;
+      this.vms = vms;
+      lowerBounds = new double[builds.length];
+      upperBounds = new double[builds.length];
+      for (int i = 0; i < builds.length; i++) {
+         lowerBounds[i] = means[i] - deviations[i];
+         upperBounds[i] = means[i] + deviations[i];
+      }
+   }
+
+   public static TrendSeries fromValues(final TestMeasurementValues values) {
+      // Re-executed builds keep the position of their first execution in the store, so the builds are sorted here once
+      Map<Integer, TestcaseStatistic> sorted = new TreeMap<>(values.getStatistics());
+      int size = sorted.size();
+      int[] builds = new int[size];
+      double[] means = new double[size];
+      double[] deviations = new double[size];
+      double[] calls = new double[size];
+      double[] vms = new double[size];
+      int index = 0;
+      for (Map.Entry<Integer, TestcaseStatistic> build : sorted.entrySet()) {
+         TestcaseStatistic statistic = build.getValue();
+         builds[index] = build.getKey();
+         means[index] = statistic.getMeanCurrent();
+         deviations[index] = statistic.getDeviationCurrent();
+         calls[index] = statistic.getCalls();
+         vms[index] = statistic.getVMs();
+         index++;
+      }
+      return new TrendSeries(builds, means, deviations, calls, vms);
+   }
+
+   /**
+    * Returns the part of the series with from &lt;= build &lt;= to
+    */
+   public TrendSeries window(final int from, final int to) {
+      int start = lowerIndex(from);
+      int end = lowerIndex(to == Integer.MAX_VALUE ? to : to + 1);
+      if (start == 0 && end == builds.length) {
+         return this;
+      }
+      if (start >= end) {
+         return new TrendSeries(new int[0], new double[0], new double[0], new double[0], new double[0]);
+      }
+      return new TrendSeries(Arrays.copyOfRange(builds, start, end),
+            Arrays.copyOfRange(means, start, end),
+            Arrays.copyOfRange(deviations, start, end),
+            Arrays.copyOfRange(calls, start, end),
+            Arrays.copyOfRange(vms, start, end));
+   }
+
+   /**
+    * Returns the series reduced to the given indices, which need to be ascending
+    */
+   public TrendSeries select(final int[] indices) {
+      int[] selectedBuilds = new int[indices.length];
+      double[] selectedMeans = new double[indices.length];
+      double[] selectedDeviations = new double[indices.length];
+      double[] selectedCalls = new double[indices.length];
+      double[] selectedVms = new double[indices.length];
+      for (int i = 0; i < indices.length; i++) {
+         selectedBuilds[i] = builds[indices[i]];
+         selectedMeans[i] = means[indices[i]];
+         selectedDeviations[i] = deviations[indices[i]];
+         selectedCalls[i] = calls[indices[i]];
+         selectedVms[i] = vms[indices[i]];
+      }
+      return new TrendSeries(selectedBuilds, selectedMeans, selectedDeviations, selectedCalls, selectedVms);
+   }
+
+   /**
+    * Index of the first build that is &gt;= the given build number
+    */
+   private int lowerIndex(final int build) {
+      int index = Arrays.binarySearch(builds, build);
+      return index >= 0 ? index : -index - 1;
+   }
+
+   public int size() {
+      return builds.length;
+   }
+
+   public int[] getBuilds() {
+      return builds;
+   }
+
+   public double[] getMeans() {
+      return means;
+   }
+
+   public double[] getDeviations() {
+      return deviations;
+   }
+
+   public double[] getCalls() {
+      return calls;
+   }
+
+   public double[] getVms() {
+      return vms;
+   }
+
+   public double[] getLowerBounds() {
+      return lowerBounds;
+   }
+
+   public double[] getUpperBounds() {
+      return upperBounds;
+   }
+
+   public String getBuildsReadable() {
+      return Arrays.toString(builds);
+   }
+
+   public String getMeansReadable() {
+      return Arrays.toString(means);
+   }
+
+   public String getLowerBoundsReadable() {
+      return Arrays.toString(lowerBounds);
+   }
+
+   public String getUpperBoundsReadable() {
+      return Arrays.toString(upperBounds);
+   }
+}
@@ -0,0 +1,242 @@
+package de.dagere.peass.ci.persistence;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Stores the measurement trend of a job as one append-only segment per testcase plus an append-only index. Adding a build only appends one line to the segment of every
+ * measured testcase (and one index line for every new testcase), so the costs do not grow with the length of the history.
+ *
+ * Layout inside the trend folder:
+ * <ul>
+ * <li><code>index.txt</code>: One line <code>segmentFileName\ttestcase</code> per testcase, in order of first occurence</li>
+ * <li><code>segments/*.jsonl</code>: One {@link TrendRecord} as JSON per line</li>
+ * </ul>
+ *
+ * If the same build is added twice, the last record wins; {@link #compact()} removes such superseded records and sorts the segments by build number.
+ *
+ * @author DaGeRe
+ *
+ */
+public class TrendStore {
+
+   private static final Logger LOG = LogManager.getLogger(TrendStore.class);
+
+   public static final String TREND_FOLDER_NAME = "trend";
+   public static final String INDEX_FILE_NAME = "index.txt";
+   public static final String SEGMENT_FOLDER_NAME = "segments";
+
+   private static final String SEGMENT_SUFFIX = ".jsonl";
+   private static final int MAX_SEGMENT_NAME_LENGTH = 150;
+
+   private static final ObjectWriter LINE_WRITER = Constants.OBJECTMAPPER.writerFor(TrendRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+   private static final ObjectReader LINE_READER = Constants.OBJECTMAPPER.readerFor(TrendRecord.class);
+
+   private final File trendFolder;
+   private final File indexFile;
+   private final File segmentFolder;
+
+   public TrendStore(final File localWorkspace) {
+      trendFolder = new File(localWorkspace, TREND_FOLDER_NAME);
+      indexFile = new File(trendFolder, INDEX_FILE_NAME);
+      segmentFolder = new File(trendFolder, SEGMENT_FOLDER_NAME);
+   }
+
+   public File getTrendFolder() {
+      return trendFolder;
+   }
+
+   public File getIndexFile() {
+      return indexFile;
+   }
+
+   public boolean exists() {
+      return indexFile.exists();
+   }
+
+   public boolean isEmpty() throws IOException {
+      return readIndex().isEmpty();
+   }
+
+   /**
+    * Appends the statistics of one build; only the segments of the given testcases are touched.
+    */
+   public void append(final Map<String, TestcaseStatistic> testcaseStatistics, final int buildNumber) throws IOException {
+      synchronized (TrendStore.class) {
+         createFolders();
+         Map<String, String> index = readIndex();
+         for (Map.Entry<String, TestcaseStatistic> testcase : testcaseStatistics.entrySet()) {
+            String segmentName = index.get(testcase.getKey());
+            if (segmentName == null) {
+               segmentName = createSegmentName(testcase.getKey(), index.values());
+               appendIndexLine(testcase.getKey(), segmentName);
+               index.put(testcase.getKey(), segmentName);
+            }
+            appendRecord(new File(segmentFolder, segmentName), new TrendRecord(buildNumber, testcase.getValue()));
+         }
+      }
+   }
+
+   public Set<String> getTestcases() throws IOException {
+      return readIndex().keySet();
+   }
+
+   public TestMeasurementValues readTestcase(final String testcase) throws IOException {
+      String segmentName = readIndex().get(testcase);
+      if (segmentName == null) {
+         return null;
+      }
+      return readSegment(new File(segmentFolder, segmentName));
+   }
+
+   public BuildMeasurementValues readAll() throws IOException {
+      BuildMeasurementValues values = new BuildMeasurementValues();
+      for (Map.Entry<String, String> testcase : readIndex().entrySet()) {
+         values.getValues().put(testcase.getKey(), readSegment(new File(segmentFolder, testcase.getValue())));
+      }
+      return values;
+   }
+
+   /**
+    * Imports a trend in the old monolithic format; afterwards, the old file is renamed, so the import is only executed once. Returns false if the file was
+    * already migrated by a concurrent caller.
+    */
+   public boolean migrate(final File legacyTrendFile) throws IOException {
+      synchronized (TrendStore.class) {
+         if (!legacyTrendFile.exists()) {
+            return false;
+         }
+         LOG.info("Migrating {} to {}", legacyTrendFile, trendFolder);
+         BuildMeasurementValues legacyValues = Constants.OBJECTMAPPER.readValue(legacyTrendFile, BuildMeasurementValues.class);
+         createFolders();
+         Map<String, String> index = readIndex();
+         for (Map.Entry<String, TestMeasurementValues> testcase : legacyValues.getValues().entrySet()) {
+            String segmentName = index.get(testcase.getKey());
+            if (segmentName == null) {
+               segmentName = createSegmentName(testcase.getKey(), index.values());
+               appendIndexLine(testcase.getKey(), segmentName);
+               index.put(testcase.getKey(), segmentName);
+            }
+            File segment = new File(segmentFolder, segmentName);
+            for (Map.Entry<Integer, TestcaseStatistic> build : testcase.getValue().getStatistics().entrySet()) {
+               appendRecord(segment, new TrendRecord(build.getKey(), build.getValue()));
+            }
+         }
+         File migratedFile = new File(legacyTrendFile.getParentFile(), legacyTrendFile.getName() + ".migrated");
+         Files.move(legacyTrendFile.toPath(), migratedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         return true;
+      }
+   }
+
+   /**
+    * Rewrites every segment so it contains each build only once, sorted by build number.
+    */
+   public void compact() throws IOException {
+      synchronized (TrendStore.class) {
+         for (Map.Entry<String, String> testcase : readIndex().entrySet()) {
+            File segment = new File(segmentFolder, testcase.getValue());
+            Map<Integer, TestcaseStatistic> sorted = new TreeMap<>(readSegment(segment).getStatistics());
+
+            File compacted = new File(segmentFolder, testcase.getValue() + ".tmp");
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(compacted), StandardCharsets.UTF_8))) {
+               for (Map.Entry<Integer, TestcaseStatistic> build : sorted.entrySet()) {
+                  writer.write(LINE_WRITER.writeValueAsString(new TrendRecord(build.getKey(), build.getValue())));
+                  writer.write('\n');
+               }
+            }
+            Files.move(compacted.toPath(), segment.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         }
+         LOG.debug("Compacted {}", trendFolder);
+      }
+   }
+
+   private void createFolders() {
+      if (!segmentFolder.exists() && !segmentFolder.mkdirs()) {
+         throw new RuntimeException("Could not create " + segmentFolder.getAbsolutePath());
+      }
+   }
+
+   private Map<String, String> readIndex() throws IOException {
+      Map<String, String> index = new LinkedHashMap<>();
+      if (indexFile.exists()) {
+         try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+               int separatorIndex = line.indexOf('\t');
+               if (separatorIndex != -1) {
+                  index.put(line.substring(separatorIndex + 1), line.substring(0, separatorIndex));
+               }
+            }
+         }
+      }
+      return index;
+   }
+
+   private void appendIndexLine(final String testcase, final String segmentName) throws IOException {
+      try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(indexFile, true), StandardCharsets.UTF_8))) {
+         writer.write(segmentName + "\t" + testcase);
+         writer.write('\n');
+      }
+   }
+
+   private void appendRecord(final File segment, final TrendRecord record) throws IOException {
+      try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(segment, true), StandardCharsets.UTF_8))) {
+         writer.write(LINE_WRITER.writeValueAsString(record));
+         writer.write('\n');
+      }
+   }
+
+   private TestMeasurementValues readSegment(final File segment) throws IOException {
+      TestMeasurementValues values = new TestMeasurementValues();
+      if (segment.exists()) {
+         try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(segment), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+               if (!line.isEmpty()) {
+                  TrendRecord record = LINE_READER.readValue(line);
+                  values.getStatistics().put(record.getBuild(), record.getStatistic());
+               }
+            }
+         }
+      }
+      return values;
+   }
+
+   static String createSegmentName(final String testcase, final Collection<String> usedNames) {
+      String base = testcase.replaceAll("[^A-Za-z0-9._-]", "_");
+      if (base.length() > MAX_SEGMENT_NAME_LENGTH) {
+         base = base.substring(0, MAX_SEGMENT_NAME_LENGTH);
+      }
+      String candidate = base + SEGMENT_SUFFIX;
+      int counter = 1;
+      while (usedNames.contains(candidate)) {
+         candidate = base + "_" + counter + SEGMENT_SUFFIX;
+         counter++;
+      }
+      return candidate;
+   }
+}
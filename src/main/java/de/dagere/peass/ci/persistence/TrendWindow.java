@@ -0,0 +1,49 @@
+package de.dagere.peass.ci.persistence;
+
+/**
+ * JSON answer of the trend series endpoint: the (possibly downsampled) points of one testcase in the requested build window.
+ */
+public class TrendWindow {
+   private final String testcase;
+   private final int totalPoints;
+   private final int[] builds;
+   private final double[] means;
+   private final double[] lowerBounds;
+   private final double[] upperBounds;
+
+   public TrendWindow(final String testcase, final int totalPoints, final TrendSeries series) {
+      this.testcase = testcase;
+      this.totalPoints = totalPoints;
+      this.builds = series.getBuilds();
+      this.means = series.getMeans();
+      this.lowerBounds = series.getLowerBounds();
+      this.upperBounds = series.getUpperBounds();
+   }
+
+   public String getTestcase() {
+      return testcase;
+   }
+
+   /**
+    * Count of points in the window before downsampling
+    */
+   public int getTotalPoints() {
+      return totalPoints;
+   }
+
+   public int[] getBuilds() {
+      return builds;
+   }
+
+   public double[] getMeans() {
+      return means;
+   }
+
+   public double[] getLowerBounds() {
+      return lowerBounds;
+   }
+
+   public double[] getUpperBounds() {
+      return upperBounds;
+   }
+}
@@ -0,0 +1,353 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.ci.ContinuousFolderUtil;
+import de.dagere.peass.ci.PeassProcessConfiguration;
+import de.dagere.peass.ci.metrics.PeassMetrics;
+import de.dagere.peass.ci.remote.RemoteMeasurer;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.ResultsFolders;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.slaves.WorkspaceList;
+import hudson.util.DirScanner;
+import jenkins.model.Jenkins;
+
+/**
+ * Measures the tests on all online agents with the configured label: The tests are partitioned, the workspace is copied to every agent and each agent
+ * measures its partition using {@link RemoteMeasurer}. Afterwards, the results of all agents are copied to the local workspace, where the measurement files
+ * (one per test) are united and statistics and changes of the current version are merged, so {@link de.dagere.peass.ci.helper.HistogramReader} and the
+ * visualization read them like the results of one agent.
+ *
+ * @author DaGeRe
+ *
+ */
+public class DistributedMeasurer {
+
+   private static final Logger LOG = LogManager.getLogger(DistributedMeasurer.class);
+
+   private static final String NODE_FOLDER_NAME = "peass-distributed";
+
+   /**
+    * Milliseconds to wait for a cancelled measurement to end before its node stays locked
+    */
+   private static final long CANCEL_TIMEOUT = 10 * 60 * 1000;
+
+   private final PeassProcessConfiguration peassConfig;
+   private final FilePath workspace;
+   private final File localWorkspace;
+   private final String projectName;
+   private final String jobName;
+   private final TaskListener listener;
+
+   public DistributedMeasurer(final PeassProcessConfiguration peassConfig, final FilePath workspace, final File localWorkspace, final String projectName,
+         final String jobName, final TaskListener listener) {
+      this.peassConfig = peassConfig;
+      this.workspace = workspace;
+      this.localWorkspace = localWorkspace;
+      this.projectName = projectName;
+      this.jobName = jobName;
+      this.listener = listener;
+   }
+
+   /**
+    * Returns the online agents with the configured label; the list is empty if no agent is available
+    */
+   public List<Node> getNodes() {
+      List<Node> nodes = new LinkedList<>();
+      Label label = Jenkins.get().getLabel(peassConfig.getMeasurementNodeLabel());
+      if (label != null) {
+         for (Node node : label.getNodes()) {
+            Computer computer = node.toComputer();
+            if (computer != null && computer.isOnline() && computer.getChannel() != null) {
+               nodes.add(node);
+            }
+         }
+      }
+      nodes.sort(Comparator.comparing(Node::getNodeName));
+      return nodes;
+   }
+
+   /**
+    * Measures the tests on the given nodes and transfers the merged results to the local workspace; returns whether the measurement worked on all nodes.
+    */
+   public boolean measure(final Set<TestCase> tests, final List<Node> nodes) throws IOException, InterruptedException {
+      List<Set<TestCase>> partitions = partition(tests, nodes.size());
+      List<NodeMeasurement> measurements = new ArrayList<>();
+      for (int i = 0; i < nodes.size(); i++) {
+         if (!partitions.get(i).isEmpty()) {
+            measurements.add(new AgentMeasurement(nodes.get(i), partitions.get(i)));
+         }
+      }
+      return measure(measurements);
+   }
+
+   /**
+    * Runs the given measurements concurrently and merges their results; if one of them fails, the others are cancelled, and the workspace of every node is
+    * only released after its measurement finished.
+    */
+   public boolean measure(final List<? extends NodeMeasurement> measurements) throws IOException, InterruptedException {
+      ExecutorService executor = Executors.newFixedThreadPool(measurements.size());
+      boolean worked = true;
+      try {
+         // Results are taken in the order the nodes finish, so a failing node stops the others without waiting for earlier nodes
+         CompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+         Map<Future<Boolean>, NodeMeasurement> nodes = new HashMap<>();
+         for (NodeMeasurement measurement : measurements) {
+            nodes.put(completion.submit(measurement::measure), measurement);
+         }
+         for (int i = 0; i < measurements.size(); i++) {
+            Future<Boolean> result = completion.take();
+            boolean nodeWorked = getResult(result);
+            listener.getLogger().println("Measurement on " + nodes.get(result).getNodeName() + " worked: " + nodeWorked);
+            worked &= nodeWorked;
+         }
+         mergeResults(measurements);
+      } finally {
+         stop(executor, measurements);
+      }
+      return worked;
+   }
+
+   /**
+    * Cancels the measurements which are still running, waits until the local threads ended and releases the nodes; finished measurements are not affected
+    * by the cancellation.
+    */
+   private void stop(final ExecutorService executor, final List<? extends NodeMeasurement> measurements) throws InterruptedException {
+      for (NodeMeasurement measurement : measurements) {
+         measurement.cancel();
+      }
+      executor.shutdownNow();
+      if (!executor.awaitTermination(CANCEL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+         LOG.error("Measurement threads did not end after cancellation");
+      }
+      for (NodeMeasurement measurement : measurements) {
+         measurement.release();
+      }
+   }
+
+   private boolean getResult(final Future<Boolean> result) throws IOException, InterruptedException {
+      try {
+         return result.get();
+      } catch (ExecutionException e) {
+         if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+         } else if (e.getCause() instanceof InterruptedException) {
+            throw (InterruptedException) e.getCause();
+         } else {
+            throw new RuntimeException(e.getCause());
+         }
+      }
+   }
+
+   /**
+    * Copies the results of every node to the local workspace and merges them by {@link MeasurementResultMerger}
+    */
+   public void mergeResults(final List<? extends NodeMeasurement> measurements) throws IOException, InterruptedException {
+      MeasurementResultMerger merger = new MeasurementResultMerger(peassConfig, localWorkspace, projectName, listener);
+      for (NodeMeasurement measurement : measurements) {
+         merger.add(measurement.getNodeName(), measurement.getWorkspace());
+      }
+      merger.write();
+      PeassMetrics.get().addTransferBytes(jobName, merger.getTransferredBytes());
+   }
+
+   /**
+    * Removes the results of the version from the results folder beside the given workspace. The folder of a node is kept between builds, so without this, a
+    * build of the same version with another partition would merge the results of tests which the node measured in the earlier build.
+    */
+   public static void clearVersionResults(final FilePath workspace, final String projectName, final MeasurementConfig measurementConfig)
+         throws IOException, InterruptedException {
+      ResultsFolders results = new ResultsFolders(ContinuousFolderUtil.getLocalFolder(new File(workspace.getRemote())), projectName);
+      String version = measurementConfig.getExecutionConfig().getVersion();
+      String versionOld = measurementConfig.getExecutionConfig().getVersionOld();
+      File[] versionResults = { results.getVersionFullResultsFolder(measurementConfig), results.getChangeFile(), results.getStatisticsFile(),
+            results.getMeasurementLogFile(version, versionOld) };
+      for (File versionResult : versionResults) {
+         new FilePath(workspace.getChannel(), versionResult.getPath()).deleteRecursive();
+      }
+   }
+
+   /**
+    * Distributes the tests round-robin in the order of their names, so every partition gets a similar count of tests and the partition of a test does not
+    * change between builds with the same tests.
+    */
+   public static List<Set<TestCase>> partition(final Set<TestCase> tests, final int partitionCount) {
+      List<TestCase> sortedTests = new ArrayList<>(tests);
+      sortedTests.sort(Comparator.comparing(TestCase::getExecutable));
+      List<Set<TestCase>> partitions = new ArrayList<>(partitionCount);
+      for (int i = 0; i < partitionCount; i++) {
+         partitions.add(new LinkedHashSet<>());
+      }
+      for (int i = 0; i < sortedTests.size(); i++) {
+         partitions.get(i % partitionCount).add(sortedTests.get(i));
+      }
+      return partitions;
+   }
+
+   /**
+    * The measurement of a partition of the tests on one node
+    */
+   public interface NodeMeasurement {
+      String getNodeName();
+
+      /**
+       * Returns the workspace containing the results of the node; this is only defined after {@link #measure()}
+       */
+      FilePath getWorkspace();
+
+      boolean measure() throws IOException, InterruptedException;
+
+      /**
+       * Cancels the measurement if it is still running; the measurement on the node may need some time to react, so it may still run afterwards
+       */
+      void cancel();
+
+      /**
+       * Waits until a cancelled measurement finished on the node and releases the workspace of the node
+       */
+      void release() throws InterruptedException;
+   }
+
+   private class AgentMeasurement implements NodeMeasurement {
+      private final Node node;
+      private final Set<TestCase> tests;
+      private FilePath workspace;
+      private WorkspaceList.Lease lease;
+      private Future<Boolean> remoteResult;
+      private boolean cancelled;
+      private boolean cancelledRemote;
+
+      AgentMeasurement(final Node node, final Set<TestCase> tests) {
+         this.node = node;
+         this.tests = tests;
+      }
+
+      @Override
+      public String getNodeName() {
+         return node.getNodeName();
+      }
+
+      @Override
+      public synchronized FilePath getWorkspace() {
+         return workspace;
+      }
+
+      /**
+       * Measures the tests of the node; if the node already contains the workspace of the build, the workspace is used directly, otherwise the workspace
+       * is copied to a folder of the node, which stays locked until {@link #release()}.
+       */
+      @Override
+      public boolean measure() throws IOException, InterruptedException {
+         Computer computer = node.toComputer();
+         if (computer == null || computer.getChannel() == null) {
+            throw new IOException("Node " + node.getNodeName() + " went offline");
+         }
+         if (computer.getChannel() == DistributedMeasurer.this.workspace.getChannel()) {
+            synchronized (this) {
+               workspace = DistributedMeasurer.this.workspace;
+            }
+            return measureTests();
+         }
+         FilePath jobFolder = node.getRootPath().child(NODE_FOLDER_NAME).child(jobName.replaceAll("[^A-Za-z0-9._-]", "_"));
+         WorkspaceList.Lease allocated = computer.getWorkspaceList().allocate(jobFolder);
+         synchronized (this) {
+            lease = allocated;
+            workspace = lease.path.child(projectName);
+            checkCancelled();
+         }
+         listener.getLogger().println("Copying workspace to " + node.getNodeName() + ": " + workspace.getRemote());
+         workspace.mkdirs();
+         workspace.deleteContents();
+         clearVersionResults(workspace, projectName, peassConfig.getMeasurementConfig());
+         DistributedMeasurer.this.workspace.copyRecursiveTo(new DirScanner.Glob(ResultTransfer.ALL_FILES, "", false), workspace, "Copy workspace to measurement node");
+         return measureTests();
+      }
+
+      private boolean measureTests() throws IOException, InterruptedException {
+         LOG.debug("Measuring {} tests on {}", tests.size(), node.getNodeName());
+         listener.getLogger().println("Measuring " + tests.size() + " tests on " + node.getNodeName());
+         Future<Boolean> result;
+         synchronized (this) {
+            checkCancelled();
+            remoteResult = workspace.actAsync(new RemoteMeasurer(peassConfig, listener, tests));
+            result = remoteResult;
+         }
+         try {
+            return getResult(result);
+         } catch (CancellationException e) {
+            throw new InterruptedException("Measurement on " + node.getNodeName() + " was cancelled");
+         }
+      }
+
+      private void checkCancelled() throws InterruptedException {
+         if (cancelled) {
+            throw new InterruptedException("Measurement on " + node.getNodeName() + " was cancelled");
+         }
+      }
+
+      @Override
+      public synchronized void cancel() {
+         cancelled = true;
+         if (remoteResult != null && !remoteResult.isDone()) {
+            listener.getLogger().println("Cancelling measurement on " + node.getNodeName());
+            remoteResult.cancel(true);
+            cancelledRemote = true;
+         }
+      }
+
+      @Override
+      public void release() throws InterruptedException {
+         FilePath cancelledWorkspace;
+         synchronized (this) {
+            cancelledWorkspace = cancelledRemote ? workspace : null;
+         }
+         if (cancelledWorkspace != null && !awaitRemoteFinish(cancelledWorkspace)) {
+            listener.getLogger().println("Measurement on " + node.getNodeName() + " did not end after cancellation, " + cancelledWorkspace.getRemote()
+                  + " stays locked");
+            return;
+         }
+         synchronized (this) {
+            if (lease != null) {
+               lease.release();
+               lease = null;
+            }
+         }
+      }
+
+      private boolean awaitRemoteFinish(final FilePath cancelledWorkspace) throws InterruptedException {
+         try {
+            return cancelledWorkspace.act(new RemoteMeasurer.FinishWaiter(CANCEL_TIMEOUT));
+         } catch (IOException e) {
+            // If the node can not be reached anymore, the measurement ended with the process of the agent
+            LOG.info("Could not wait for the end of the measurement on {}: {}", node.getNodeName(), e.getMessage());
+            return true;
+         }
+      }
+   }
+}
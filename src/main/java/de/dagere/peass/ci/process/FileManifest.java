@@ -0,0 +1,76 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * List of files (relative path, size and modification time) of a result folder, which is created on the agent and compared on the controller to transfer
+ * only new or changed files.
+ */
+public class FileManifest implements Serializable {
+
+   private static final long serialVersionUID = 2925316946447457337L;
+
+   private final Map<String, FileState> files = new TreeMap<>();
+
+   public static class FileState implements Serializable {
+      private static final long serialVersionUID = -4606017811367264014L;
+
+      private final long size;
+      private final long lastModified;
+
+      public FileState(final long size, final long lastModified) {
+         this.size = size;
+         this.lastModified = lastModified;
+      }
+
+      public long getSize() {
+         return size;
+      }
+
+      public long getLastModified() {
+         return lastModified;
+      }
+
+      /**
+       * Checks whether the given (local) file is a copy of this file. Since tar archives only contain the modification time in seconds, milliseconds are not
+       * compared.
+       */
+      public boolean matches(final File file) {
+         return file.isFile() && file.length() == size && file.lastModified() / 1000 == lastModified / 1000;
+      }
+   }
+
+   public void add(final String relativePath, final long size, final long lastModified) {
+      files.put(relativePath, new FileState(size, lastModified));
+   }
+
+   public Map<String, FileState> getFiles() {
+      return files;
+   }
+
+   public long getTotalSize() {
+      long totalSize = 0;
+      for (FileState state : files.values()) {
+         totalSize += state.getSize();
+      }
+      return totalSize;
+   }
+
+   /**
+    * Returns the relative paths of all files that are missing or differ in the given local copy of the folder.
+    */
+   public List<String> getChangedFiles(final File localFolder) {
+      List<String> changed = new ArrayList<>();
+      for (Map.Entry<String, FileState> file : files.entrySet()) {
+         if (!file.getValue().matches(new File(localFolder, file.getKey()))) {
+            changed.add(file.getKey());
+         }
+      }
+      return changed;
+   }
+}
@@ -0,0 +1,33 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import hudson.util.DirScanner;
+import hudson.util.FileVisitor;
+
+/**
+ * Visits exactly the given files (relative to the scanned folder), so only they are packed when copying a folder.
+ */
+public class ListedFilesScanner extends DirScanner {
+
+   private static final long serialVersionUID = -1407392373925962434L;
+
+   private final ArrayList<String> relativePaths;
+
+   public ListedFilesScanner(final List<String> relativePaths) {
+      this.relativePaths = new ArrayList<>(relativePaths);
+   }
+
+   @Override
+   public void scan(final File dir, final FileVisitor visitor) throws IOException {
+      for (String relativePath : relativePaths) {
+         File file = new File(dir, relativePath);
+         if (file.isFile()) {
+            visitor.visit(file, relativePath);
+         }
+      }
+   }
+}
@@ -2,12 +2,15 @@ package de.dagere.peass.ci.process;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.xml.bind.JAXBException;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -22,18 +25,32 @@ import de.dagere.peass.ci.MeasureVersionAction;
 import de.dagere.peass.ci.PeassProcessConfiguration;
 import de.dagere.peass.ci.RTSResult;
 import de.dagere.peass.ci.helper.DefaultMeasurementVisualizer;
-import de.dagere.peass.ci.helper.HistogramReader;
 import de.dagere.peass.ci.helper.HistogramValues;
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
 import de.dagere.peass.ci.helper.RCAVisualizer;
 import de.dagere.peass.ci.helper.VisualizationFolderManager;
 import de.dagere.peass.ci.logs.LogActionCreator;
+import de.dagere.peass.ci.logs.LogFileReader;
 import de.dagere.peass.ci.logs.rts.AggregatedRTSResult;
 import de.dagere.peass.ci.logs.rts.RTSLogSummary;
+import de.dagere.peass.ci.metrics.PeassMetrics;
+import de.dagere.peass.ci.metrics.PhaseMetric;
+import de.dagere.peass.ci.metrics.PhaseMetricsRecorder;
+import de.dagere.peass.ci.metrics.PhaseMetricsRecorder.Phase;
+import de.dagere.peass.ci.persistence.TestDurationHistory;
+import de.dagere.peass.ci.progress.MeasurementProgressAction;
+import de.dagere.peass.ci.progress.MeasurementProgressSink;
+import de.dagere.peass.ci.persistence.TestMeasurementValues;
 import de.dagere.peass.ci.persistence.TrendFileUtil;
+import de.dagere.peass.ci.persistence.TrendStore;
+import de.dagere.peass.ci.process.MeasurementPlan.Segment;
+import de.dagere.peass.ci.remote.RemoteMeasurementSummarizer;
 import de.dagere.peass.ci.remote.RemoteMeasurer;
 import de.dagere.peass.ci.remote.RemoteRCA;
 import de.dagere.peass.ci.remote.RemoteRTS;
 import de.dagere.peass.ci.rts.RTSVisualizationCreator;
+import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.ResultsFolders;
 import de.dagere.peass.measurement.analysis.ProjectStatistics;
@@ -42,9 +59,10 @@ import de.dagere.peass.measurement.rca.RCAStrategy;
 import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
 import de.dagere.peass.utils.Constants;
 import hudson.FilePath;
+import hudson.model.Node;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import hudson.util.DirScanner;
+import hudson.remoting.VirtualChannel;
 
 public class LocalPeassProcessManager {
 
@@ -57,6 +75,12 @@ public class LocalPeassProcessManager {
    private final ResultsFolders results;
    private final LogActionCreator logActionCreator;
    private final VisualizationFolderManager visualizationFolders;
+   private final String projectName;
+   private final String jobName;
+   private final Run<?, ?> run;
+   private final PhaseMetricsRecorder metrics = new PhaseMetricsRecorder();
+   private MeasurementSummary measurementSummary;
+   private final Map<String, Integer> plannedVMs = new HashMap<>();
 
    public LocalPeassProcessManager(final PeassProcessConfiguration peassConfig, final FilePath workspace, final File localWorkspace, final TaskListener listener,
          final Run<?, ?> run) {
@@ -64,26 +88,43 @@ public class LocalPeassProcessManager {
       this.workspace = workspace;
       this.localWorkspace = localWorkspace;
       this.listener = listener;
-      String projectName = new File(workspace.getRemote()).getName();
+      this.projectName = new File(workspace.getRemote()).getName();
+      this.jobName = run.getParent().getFullName();
+      this.run = run;
       this.results = new ResultsFolders(localWorkspace, projectName);
       visualizationFolders = new VisualizationFolderManager(localWorkspace, projectName, run);
       this.logActionCreator = new LogActionCreator(peassConfig, run, visualizationFolders);
 
    }
 
+   /**
+    * Returns the metrics of all phases executed so far
+    */
+   public List<PhaseMetric> getPhaseMetrics() {
+      return metrics.getPhases();
+   }
+
    public AggregatedRTSResult rts() throws IOException, InterruptedException {
       RemoteRTS rts = new RemoteRTS(peassConfig, listener);
-      RTSResult result = workspace.act(rts);
-      copyFromRemote();
+      final RTSResult result;
+      try (Phase phase = metrics.start("RTS")) {
+         result = workspace.act(rts);
+      }
+      if (result != null && result.getTests() != null) {
+         PeassMetrics.get().addSelectedTests(jobName, result.getTests().size());
+      }
       if (result != null) {
          String versionOld = result.getVersionOld();
          listener.getLogger().println("Setting predecessor version, obtained by RTS: " + versionOld);
          peassConfig.getMeasurementConfig().getExecutionConfig().setVersionOld(versionOld);
       }
+      copyFromRemote(TransferPhase.RTS);
       if (peassConfig.isDisplayRTSLogs()) {
-         RTSInfos infos = RTSInfos.readInfosFromFolders(results, peassConfig);
-         RTSLogSummary summary = logActionCreator.createRTSActions(infos);
-         return new AggregatedRTSResult(summary, result);
+         try (Phase phase = metrics.start("RTS logs")) {
+            RTSInfos infos = RTSInfos.readInfosFromFolders(results, peassConfig);
+            RTSLogSummary summary = logActionCreator.createRTSActions(infos);
+            return new AggregatedRTSResult(summary, result);
+         }
       }
       if (result != null && result.getTests() != null) {
          return new AggregatedRTSResult(null, result);
@@ -94,81 +135,257 @@ public class LocalPeassProcessManager {
    }
 
    public boolean measure(final Set<TestCase> tests) throws IOException, InterruptedException {
-      final RemoteMeasurer remotePerformer = new RemoteMeasurer(peassConfig, listener, tests);
-      boolean worked = workspace.act(remotePerformer);
+      final boolean worked;
+      final DistributedMeasurer distributedMeasurer = new DistributedMeasurer(peassConfig, workspace, localWorkspace, projectName, jobName, listener);
+      final List<Node> nodes = peassConfig.isDistributedMeasurement() ? distributedMeasurer.getNodes() : Collections.emptyList();
+      if (!nodes.isEmpty()) {
+         listener.getLogger().println("Distributing measurement to " + nodes.size() + " agents with label " + peassConfig.getMeasurementNodeLabel());
+         try (Phase phase = metrics.start("Measurement")) {
+            worked = distributedMeasurer.measure(tests, nodes);
+         }
+         // The results of the agents are only united on the controller, so they are summarized there
+         measurementSummary = null;
+      } else {
+         if (peassConfig.isDistributedMeasurement()) {
+            listener.getLogger().println("No online agent with label " + peassConfig.getMeasurementNodeLabel() + "; measuring in the workspace");
+         }
+         MeasurementPlan plan = createMeasurementPlan(tests);
+         for (Map.Entry<TestCase, Integer> testVMs : plan.getVMs().entrySet()) {
+            plannedVMs.put(testVMs.getKey().toString(), testVMs.getValue());
+         }
+         List<Segment> segments = plan.getSegments();
+         try (Phase phase = metrics.start("Measurement")) {
+            worked = measureInWorkspace(tests, segments);
+         }
+         if (segments.size() > 1) {
+            // The results of the segments are only united on the controller, so they are summarized there
+            measurementSummary = null;
+         } else {
+            final PhaseMetric summaryMetric;
+            try (Phase phase = metrics.start("Measurement summary (agent)")) {
+               measurementSummary = workspace.act(new RemoteMeasurementSummarizer(peassConfig.getMeasurementConfig(), tests, listener,
+                     peassConfig.getResultParsingThreads()));
+               if (measurementSummary != null) {
+                  phase.getMetric().addFilesParsed(measurementSummary.getParsedFiles());
+               }
+               summaryMetric = phase.getMetric();
+            }
+            // Without a summary of the agent, the results are read on the controller, which observes the latency itself
+            if (measurementSummary != null) {
+               PeassMetrics.get().observeParseLatency(jobName, summaryMetric.getDuration());
+            }
+            copyFromRemote(TransferPhase.MEASUREMENT);
+         }
+      }
       listener.getLogger().println("Measurement worked: " + worked);
-      copyFromRemote();
-      if (peassConfig.isDisplayLogs()) {
-         logActionCreator.createMeasurementActions(tests);
+      if (measurementSummary == null) {
+         measurementSummary = ingestMeasurements(tests);
+      }
+      PeassMetrics.get().addMeasurementVMs(jobName, measurementSummary.getMeasuredVMs());
+      logActionCreator.setMeasurementSummary(measurementSummary);
+      try (Phase phase = metrics.start("Measurement logs")) {
+         updateDurationHistory(tests);
+         if (peassConfig.isDisplayLogs()) {
+            logActionCreator.createMeasurementActions(tests);
+         }
       }
       return worked;
    }
 
+   /**
+    * Measures the tests in the order of the {@link MeasurementPlan}; if the time budget requires to skip VMs of some tests, every segment of the plan is
+    * measured by its own call. The calls share the result files of the version, so the results of every segment are copied and merged by a
+    * {@link MeasurementResultMerger} right after its call.
+    */
+   private boolean measureInWorkspace(final Set<TestCase> tests, final List<Segment> segments) throws IOException, InterruptedException {
+      MeasurementProgressAction progressAction = new MeasurementProgressAction(tests.size(), peassConfig.getMeasurementConfig().getVms(), listener.getLogger());
+      run.addAction(progressAction);
+      MeasurementProgressSink progressSink = exportProgressSink(progressAction);
+      MeasurementResultMerger merger = segments.size() > 1 ? new MeasurementResultMerger(peassConfig, localWorkspace, projectName, listener) : null;
+      boolean worked = true;
+      try {
+         for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            int vms = segment.getVMs();
+            PeassProcessConfiguration segmentConfig = vms == peassConfig.getMeasurementConfig().getVms() ? peassConfig : peassConfig.withVMs(vms);
+            listener.getLogger().println("Measuring " + segment.getTests().size() + " tests with " + vms + " VMs");
+            RemoteMeasurer measurer = new RemoteMeasurer(segmentConfig, listener, segment.getTests());
+            measurer.setProgressSink(progressSink);
+            worked &= workspace.act(measurer);
+            if (merger != null) {
+               merger.add("segment " + (i + 1) + " (" + vms + " VMs)", workspace);
+            }
+         }
+         if (merger != null) {
+            merger.write();
+            PeassMetrics.get().addTransferBytes(jobName, merger.getTransferredBytes());
+         }
+      } finally {
+         progressAction.setFinished();
+      }
+      return worked;
+   }
+
+   /**
+    * Exports the progress action to the channel of the workspace, so the agent can send progress to it; for a workspace on the controller, the action itself
+    * is returned.
+    */
+   private MeasurementProgressSink exportProgressSink(final MeasurementProgressAction progressAction) {
+      VirtualChannel channel = workspace.getChannel();
+      if (channel == null) {
+         return null;
+      }
+      return channel.export(MeasurementProgressSink.class, progressAction);
+   }
+
+   private MeasurementPlan createMeasurementPlan(final Set<TestCase> tests) throws IOException {
+      TestDurationHistory durationHistory = new TestDurationHistory(localWorkspace);
+      TrendStore trendStore = TrendFileUtil.getStore(localWorkspace);
+      Map<TestCase, Long> vmDurations = new HashMap<>();
+      Map<TestCase, TestcaseStatistic> lastStatistics = new HashMap<>();
+      for (TestCase test : tests) {
+         Long vmDuration = durationHistory.getVMDuration(test);
+         if (vmDuration != null) {
+            vmDurations.put(test, vmDuration);
+         }
+         TestMeasurementValues trend = trendStore.readTestcase(test.toString());
+         if (trend != null && !trend.getStatistics().isEmpty()) {
+            lastStatistics.put(test, trend.getStatistics().get(Collections.max(trend.getStatistics().keySet())));
+         }
+      }
+      long timeBudget = peassConfig.getMeasurementTimeBudget() * 60L * 1000;
+      MeasurementPlan plan = new MeasurementPlanner(peassConfig.getMeasurementConfig(), vmDurations, lastStatistics, timeBudget,
+            MeasurementPlanner.DEFAULT_CALL_OVERHEAD).plan(tests);
+      listener.getLogger().println("Predicted measurement duration: " + plan.getPredictedDuration() / 1000 + " s (" + vmDurations.size() + " of " + tests.size()
+            + " tests with known duration)");
+      return plan;
+   }
+
+   private void updateDurationHistory(final Set<TestCase> tests) throws IOException {
+      LogFileReader reader = new LogFileReader(visualizationFolders, peassConfig.getMeasurementConfig());
+      reader.setMeasurementSummary(measurementSummary);
+      new TestDurationHistory(localWorkspace).update(reader.readAllTestcases(tests));
+   }
+
    public boolean rca(final ProjectChanges changes, final RCAStrategy rcaStrategy) throws IOException, InterruptedException, Exception {
       final CauseSearcherConfig causeSearcherConfig = new CauseSearcherConfig(null, true, true, 0.01, false, true, rcaStrategy, 1);
 
       RemoteRCA remoteRCAExecutor = new RemoteRCA(peassConfig, causeSearcherConfig, changes, listener);
-      boolean rcaWorked = workspace.act(remoteRCAExecutor);
-      copyFromRemote();
+      final boolean rcaWorked;
+      try (Phase phase = metrics.start("RCA")) {
+         rcaWorked = workspace.act(remoteRCAExecutor);
+      }
+      PeassMetrics.get().addRCARun(jobName);
+      copyFromRemote(TransferPhase.RCA);
       return rcaWorked;
    }
 
-   public void copyFromRemote() throws IOException, InterruptedException {
+   /**
+    * Copies the results of the given phase from the agent; if phase scoped transfer is deactivated, the whole Peass folder is copied.
+    */
+   public void copyFromRemote(final TransferPhase phase) throws IOException, InterruptedException {
       String remotePeassPath = ContinuousFolderUtil.getLocalFolder(new File(workspace.getRemote())).getPath();
-      listener.getLogger().println(Arrays.toString(new RuntimeException().getStackTrace()));
-      listener.getLogger().println("Remote Peass path: " + remotePeassPath);
+      listener.getLogger().println("Remote Peass path: " + remotePeassPath + " Phase: " + phase);
       FilePath remotePeassFolder = new FilePath(workspace.getChannel(), remotePeassPath);
-      DirScanner.Glob dirScanner = new DirScanner.Glob("**/*,**/.git/**", "", false);
-      int count = remotePeassFolder.copyRecursiveTo(dirScanner, new FilePath(localWorkspace), "Copy including git folder");
-      listener.getLogger().println("Copied " + count + " files from " + remotePeassFolder + " to " + localWorkspace.getAbsolutePath());
+      ResultTransfer transfer = new ResultTransfer(remotePeassFolder, localWorkspace, listener, peassConfig.isIncrementalTransfer());
+      try (Phase transferPhase = metrics.start("Transfer " + phase)) {
+         final int count;
+         if (peassConfig.isPhaseScopedTransfer()) {
+            count = transfer.transfer(phase.getIncludes(localWorkspace, projectName, peassConfig.getMeasurementConfig()));
+            // The project itself is not transfered, but the visualization expects its folder to exist
+            File localProjectFolder = new File(localWorkspace, projectName);
+            if (!localProjectFolder.exists() && !localProjectFolder.mkdirs()) {
+               throw new RuntimeException("Could not create " + localProjectFolder.getAbsolutePath());
+            }
+         } else {
+            count = transfer.transfer(ResultTransfer.ALL_FILES);
+         }
+         transferPhase.getMetric().addFilesTransferred(count);
+         transferPhase.getMetric().addBytesTransferred(transfer.getTransferredBytes());
+      }
+      PeassMetrics.get().addTransferBytes(jobName, transfer.getTransferredBytes());
    }
 
    public void visualizeRTSResults(final Run<?, ?> run, final RTSLogSummary logSummary) throws IOException {
-      RTSVisualizationCreator rtsVisualizationCreator = new RTSVisualizationCreator(results, peassConfig);
-      rtsVisualizationCreator.visualize(run, logSummary);
+      try (Phase phase = metrics.start("RTS visualization")) {
+         RTSVisualizationCreator rtsVisualizationCreator = new RTSVisualizationCreator(results, peassConfig);
+         rtsVisualizationCreator.visualize(run, logSummary);
+      }
    }
 
    public ProjectChanges visualizeMeasurementResults(final Run<?, ?> run)
          throws JAXBException, IOException, JsonParseException, JsonMappingException, JsonGenerationException {
-      File dataFolder = results.getVersionFullResultsFolder(peassConfig.getMeasurementConfig());
-      final HistogramReader histogramReader = new HistogramReader(peassConfig.getMeasurementConfig(), dataFolder);
-      final Map<String, HistogramValues> measurements = histogramReader.readMeasurements();
+      if (measurementSummary == null) {
+         measurementSummary = ingestMeasurements(Collections.emptySet());
+      }
+      try (Phase phase = metrics.start("Measurement visualization")) {
+         final Map<String, HistogramValues> measurements = measurementSummary.getMeasurements();
+         final Map<String, MeasurementConfig> updatedConfigurations = measurementSummary.getUpdatedConfigurations();
 
-      final ProjectChanges changes = getChanges();
+         final ProjectChanges changes = getChanges();
 
-      final ProjectStatistics statistics = readStatistics();
+         final ProjectStatistics statistics = readStatistics();
 
-      TrendFileUtil.persistTrend(run, localWorkspace, statistics);
+         TrendFileUtil.persistTrend(run, localWorkspace, statistics);
+         File trendFolder = new TrendStore(localWorkspace).getTrendFolder();
+         if (trendFolder.exists()) {
+            PeassMetrics.get().setTrendFileBytes(jobName, FileUtils.sizeOfDirectory(trendFolder));
+         }
 
-      Map<String, TestcaseStatistic> noWarmupStatistics = createPureMeasurementVisualization(run, dataFolder, measurements);
+         Map<String, TestcaseStatistic> noWarmupStatistics = createPureMeasurementVisualization(run, measurements);
 
-      Changes versionChanges = changes.getVersion(peassConfig.getMeasurementConfig().getExecutionConfig().getVersion());
+         Changes versionChanges = changes.getVersion(peassConfig.getMeasurementConfig().getExecutionConfig().getVersion());
 
-      final MeasureVersionAction action = new MeasureVersionAction(peassConfig.getMeasurementConfig(), versionChanges, statistics,
-            noWarmupStatistics, measurements, histogramReader.getUpdatedConfigurations());
-      run.addAction(action);
+         final MeasureVersionAction action = new MeasureVersionAction(peassConfig.getMeasurementConfig(), versionChanges, statistics,
+               noWarmupStatistics, measurements, updatedConfigurations, plannedVMs);
+         run.addAction(action);
 
-      return changes;
+         return changes;
+      }
    }
 
    public void visualizeRCAResults(final Run<?, ?> run, final ProjectChanges changes) throws Exception, IOException {
-      final RCAVisualizer rcaVisualizer = new RCAVisualizer(peassConfig.getMeasurementConfig(), visualizationFolders, changes, run);
-      rcaVisualizer.visualizeRCA();
+      try (Phase phase = metrics.start("RCA visualization")) {
+         final RCAVisualizer rcaVisualizer = new RCAVisualizer(peassConfig.getMeasurementConfig(), visualizationFolders, changes, run);
+         rcaVisualizer.visualizeRCA();
+      }
 
       if (peassConfig.isDisplayRCALogs()) {
-         logActionCreator.createRCAActions();
+         try (Phase phase = metrics.start("RCA logs")) {
+            logActionCreator.createRCAActions();
+         }
       }
    }
 
-   private Map<String, TestcaseStatistic> createPureMeasurementVisualization(final Run<?, ?> run, final File dataFolder, final Map<String, HistogramValues> measurements) {
-      DefaultMeasurementVisualizer visualizer = new DefaultMeasurementVisualizer(dataFolder, peassConfig.getMeasurementConfig().getExecutionConfig().getVersion(), run,
+   private Map<String, TestcaseStatistic> createPureMeasurementVisualization(final Run<?, ?> run, final Map<String, HistogramValues> measurements) {
+      DefaultMeasurementVisualizer visualizer = new DefaultMeasurementVisualizer(peassConfig.getMeasurementConfig().getExecutionConfig().getVersion(), run,
             visualizationFolders,
             measurements.keySet());
-      visualizer.visualizeMeasurements();
+      visualizer.visualizeMeasurements(measurementSummary);
       Map<String, TestcaseStatistic> noWarmupStatistics = visualizer.getNoWarmupStatistics();
       return noWarmupStatistics;
    }
 
+   /**
+    * Reads the copied measurement results on the controller if they could not be summarized on the agent; each result file is only parsed once and the
+    * summary is used by the histograms, the tree visualization and the log actions.
+    */
+   private MeasurementSummary ingestMeasurements(final Set<TestCase> tests) {
+      listener.getLogger().println("Reading measurement results on the controller");
+      final MeasurementSummary summary;
+      final PhaseMetric summaryMetric;
+      try (Phase phase = metrics.start("Measurement summary")) {
+         MeasurementSummaryCreator summaryCreator = new MeasurementSummaryCreator(peassConfig.getMeasurementConfig(),
+               results.getVersionFullResultsFolder(peassConfig.getMeasurementConfig()));
+         summaryCreator.setParallelism(peassConfig.getResultParsingThreads());
+         summary = summaryCreator.createSummary(tests);
+         phase.getMetric().addFilesParsed(summary.getParsedFiles());
+         summaryMetric = phase.getMetric();
+      }
+      PeassMetrics.get().observeParseLatency(jobName, summaryMetric.getDuration());
+      return summary;
+   }
+
    private ProjectChanges getChanges() throws IOException, JsonParseException, JsonMappingException {
       final File changeFile = results.getChangeFile();
       final ProjectChanges changes;
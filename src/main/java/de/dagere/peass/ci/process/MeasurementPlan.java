@@ -0,0 +1,79 @@
+package de.dagere.peass.ci.process;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+/**
+ * The order of the tests of one measurement, the VMs of every test and the predicted duration.
+ */
+public class MeasurementPlan {
+
+   private final Map<TestCase, Integer> vms = new LinkedHashMap<>();
+   private long predictedDuration;
+
+   void setVMs(final TestCase testcase, final int testVMs) {
+      vms.put(testcase, testVMs);
+   }
+
+   void setPredictedDuration(final long predictedDuration) {
+      this.predictedDuration = predictedDuration;
+   }
+
+   /**
+    * Returns the tests in the order of measurement with their count of VMs
+    */
+   public Map<TestCase, Integer> getVMs() {
+      return vms;
+   }
+
+   /**
+    * Returns the predicted duration of the measurement in milliseconds, or 0 if no test duration is known
+    */
+   public long getPredictedDuration() {
+      return predictedDuration;
+   }
+
+   /**
+    * Returns the tests in the order of measurement, split into segments of consecutive tests with the same count of VMs. Since Peass measures all tests of one
+    * call with the same count of VMs, every segment needs its own call; the {@link MeasurementPlanner} orders the tests by their count of VMs first, so there is
+    * one segment per count of VMs.
+    */
+   public List<Segment> getSegments() {
+      List<Segment> segments = new ArrayList<>();
+      Segment current = null;
+      for (Map.Entry<TestCase, Integer> test : vms.entrySet()) {
+         if (current == null || current.vms != test.getValue()) {
+            current = new Segment(test.getValue());
+            segments.add(current);
+         }
+         current.tests.add(test.getKey());
+      }
+      return segments;
+   }
+
+   /**
+    * Consecutive tests of the measurement which are measured with the same count of VMs
+    */
+   public static class Segment {
+      private final int vms;
+      private final Set<TestCase> tests = new LinkedHashSet<>();
+
+      Segment(final int vms) {
+         this.vms = vms;
+      }
+
+      public int getVMs() {
+         return vms;
+      }
+
+      public Set<TestCase> getTests() {
+         return tests;
+      }
+   }
+}
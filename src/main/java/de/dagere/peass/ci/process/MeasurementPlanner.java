@@ -0,0 +1,172 @@
+package de.dagere.peass.ci.process;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.measurement.statistics.StatisticUtil;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+/**
+ * Plans the measurement based on the history of the tests: The tests are ordered longest first (tests without known duration first, since they are new),
+ * and the duration of the measurement is predicted from the duration of one VM pair of every test. If the prediction exceeds the time budget, VMs are removed
+ * from the tests with the lowest risk, i.e. the tests that showed no significant change in their last build, starting with the lowest absolute t-value.
+ * Tests which are new or changed in their last build always keep all VMs.
+ *
+ * Since Peass measures all tests of one call with the same count of VMs, every count of VMs needs its own call with its own setup and transfer. Therefore,
+ * the VMs of trimmed tests are rounded to a few levels (half of the VMs and {@link #MIN_VMS}), the trimmed tests are measured after the other tests grouped by
+ * their level, and the overhead of every additional call is part of the prediction.
+ *
+ * @author DaGeRe
+ *
+ */
+public class MeasurementPlanner {
+
+   /**
+    * The t-test needs at least two VMs per version
+    */
+   public static final int MIN_VMS = 2;
+
+   /**
+    * Default estimate of the overhead of one Peass call (setup of the project and transfer of the results) in milliseconds
+    */
+   public static final long DEFAULT_CALL_OVERHEAD = 60 * 1000;
+
+   private final MeasurementConfig measurementConfig;
+   private final Map<TestCase, Long> vmDurations;
+   private final Map<TestCase, TestcaseStatistic> lastStatistics;
+   private final long timeBudget;
+   private final long callOverhead;
+
+   /**
+    * @param vmDurations Duration of one VM pair of the tests in milliseconds
+    * @param lastStatistics Statistic of the last build of the tests
+    * @param timeBudget Time budget of the measurement in milliseconds; 0 means no budget
+    * @param callOverhead Overhead of every additional Peass call in milliseconds
+    */
+   public MeasurementPlanner(final MeasurementConfig measurementConfig, final Map<TestCase, Long> vmDurations, final Map<TestCase, TestcaseStatistic> lastStatistics,
+         final long timeBudget, final long callOverhead) {
+      this.measurementConfig = measurementConfig;
+      this.vmDurations = vmDurations;
+      this.lastStatistics = lastStatistics;
+      this.timeBudget = timeBudget;
+      this.callOverhead = callOverhead;
+   }
+
+   public MeasurementPlan plan(final Set<TestCase> tests) {
+      List<TestCase> orderedTests = new ArrayList<>(tests);
+      orderedTests.sort(Comparator.comparing((TestCase test) -> getDuration(test, Long.MAX_VALUE)).reversed()
+            .thenComparing(TestCase::getExecutable));
+
+      long meanDuration = getMeanDuration(orderedTests);
+      long predictedDuration = 0;
+      for (TestCase test : orderedTests) {
+         predictedDuration += getDuration(test, meanDuration) * measurementConfig.getVms();
+      }
+
+      Map<TestCase, Integer> trimmedVMs = new HashMap<>();
+      if (timeBudget > 0 && predictedDuration > timeBudget) {
+         predictedDuration = trimLowRiskTests(trimmedVMs, orderedTests, predictedDuration);
+      }
+
+      MeasurementPlan plan = new MeasurementPlan();
+      for (int level : getVMLevels()) {
+         for (TestCase test : orderedTests) {
+            if (trimmedVMs.getOrDefault(test, measurementConfig.getVms()) == level) {
+               plan.setVMs(test, level);
+            }
+         }
+      }
+      plan.setPredictedDuration(predictedDuration);
+      return plan;
+   }
+
+   /**
+    * Reduces the VMs of the low risk tests until the prediction fits the budget; returns the prediction including the overhead of the additional calls
+    */
+   private long trimLowRiskTests(final Map<TestCase, Integer> trimmedVMs, final List<TestCase> orderedTests, final long predictedDuration) {
+      List<TestCase> lowRiskTests = new ArrayList<>();
+      for (TestCase test : orderedTests) {
+         if (getDuration(test, 0) > 0 && isLowRisk(test)) {
+            lowRiskTests.add(test);
+         }
+      }
+      lowRiskTests.sort(Comparator.comparing((TestCase test) -> Math.abs(lastStatistics.get(test).getTvalue())));
+
+      List<Integer> reducedLevels = getVMLevels().subList(1, getVMLevels().size());
+      Set<Integer> usedLevels = new HashSet<>();
+      long remainingDuration = predictedDuration;
+      for (TestCase test : lowRiskTests) {
+         long excess = remainingDuration - timeBudget;
+         if (excess <= 0 || reducedLevels.isEmpty()) {
+            break;
+         }
+         long duration = getDuration(test, 0);
+         long neededVMs = (excess + duration - 1) / duration;
+         int level = reducedLevels.get(reducedLevels.size() - 1);
+         for (int reducedLevel : reducedLevels) {
+            if (measurementConfig.getVms() - reducedLevel >= neededVMs) {
+               level = reducedLevel;
+               break;
+            }
+         }
+         trimmedVMs.put(test, level);
+         remainingDuration -= (measurementConfig.getVms() - level) * duration;
+         if (usedLevels.add(level)) {
+            remainingDuration += callOverhead;
+         }
+      }
+      return remainingDuration;
+   }
+
+   /**
+    * Returns the counts of VMs a test may be measured with in descending order, starting with the configured VMs
+    */
+   private List<Integer> getVMLevels() {
+      List<Integer> levels = new ArrayList<>();
+      int vms = measurementConfig.getVms();
+      levels.add(vms);
+      int half = Math.max(MIN_VMS, vms / 2);
+      if (half < vms) {
+         levels.add(half);
+      }
+      if (MIN_VMS < half) {
+         levels.add(MIN_VMS);
+      }
+      return levels;
+   }
+
+   private boolean isLowRisk(final TestCase test) {
+      TestcaseStatistic lastStatistic = lastStatistics.get(test);
+      if (lastStatistic == null || lastStatistic.getVMs() < MIN_VMS) {
+         return false;
+      }
+      int vms = (int) lastStatistic.getVMs();
+      double criticalTValue = StatisticUtil.getCriticalValueTTest(measurementConfig.getStatisticsConfig().getType1error(), vms * 2 - 2);
+      return Math.abs(lastStatistic.getTvalue()) < criticalTValue;
+   }
+
+   private long getMeanDuration(final List<TestCase> tests) {
+      long sum = 0;
+      int count = 0;
+      for (TestCase test : tests) {
+         long duration = getDuration(test, 0);
+         if (duration > 0) {
+            sum += duration;
+            count++;
+         }
+      }
+      return count > 0 ? sum / count : 0;
+   }
+
+   private long getDuration(final TestCase test, final long defaultDuration) {
+      Long duration = vmDurations.get(test);
+      return duration != null && duration > 0 ? duration : defaultDuration;
+   }
+}
@@ -0,0 +1,159 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.io.FileUtils;
+
+import de.dagere.peass.analysis.changes.Change;
+import de.dagere.peass.analysis.changes.Changes;
+import de.dagere.peass.analysis.changes.ProjectChanges;
+import de.dagere.peass.ci.ContinuousFolderUtil;
+import de.dagere.peass.ci.PeassProcessConfiguration;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+
+/**
+ * Unites the results of several Peass measurements of the same version in the local workspace, e.g. of several agents or of several calls measuring the tests
+ * with different counts of VMs. The results of every measurement are copied right after it, so the measurement files (one per test) of all measurements are
+ * kept locally, even if a later measurement removes them from its workspace. The statistics, changes and the measurement log exist once per measurement and
+ * are therefore merged after each copy.
+ *
+ * @author DaGeRe
+ *
+ */
+public class MeasurementResultMerger {
+
+   private final PeassProcessConfiguration peassConfig;
+   private final File localWorkspace;
+   private final String projectName;
+   private final TaskListener listener;
+   private final ResultsFolders results;
+   private final String version;
+   private final String versionOld;
+
+   private final ProjectChanges mergedChanges;
+   private final ProjectStatistics mergedStatistics;
+   private final StringBuilder mergedLog = new StringBuilder();
+   private long transferredBytes;
+
+   public MeasurementResultMerger(final PeassProcessConfiguration peassConfig, final File localWorkspace, final String projectName, final TaskListener listener)
+         throws IOException {
+      this.peassConfig = peassConfig;
+      this.localWorkspace = localWorkspace;
+      this.projectName = projectName;
+      this.listener = listener;
+      this.results = new ResultsFolders(localWorkspace, projectName);
+      this.version = peassConfig.getMeasurementConfig().getExecutionConfig().getVersion();
+      this.versionOld = peassConfig.getMeasurementConfig().getExecutionConfig().getVersionOld();
+
+      mergedChanges = readChanges(results.getChangeFile());
+      mergedStatistics = readStatistics(results.getStatisticsFile());
+      // Results of an earlier build of the same version are replaced by the merged results
+      mergedChanges.getVersion(version).getTestcaseChanges().clear();
+      mergedStatistics.getStatistics().remove(version);
+   }
+
+   /**
+    * Copies the measurement results of the given workspace to the local workspace and adds them to the merged results
+    */
+   public void add(final String name, final FilePath workspace) throws IOException, InterruptedException {
+      deleteIfExists(results.getChangeFile());
+      deleteIfExists(results.getStatisticsFile());
+      deleteIfExists(results.getMeasurementLogFile(version, versionOld));
+
+      FilePath remotePeassFolder = new FilePath(workspace.getChannel(), ContinuousFolderUtil.getLocalFolder(new File(workspace.getRemote())).getPath());
+      ResultTransfer transfer = new ResultTransfer(remotePeassFolder, localWorkspace, listener, peassConfig.isIncrementalTransfer());
+      transfer.transfer(TransferPhase.MEASUREMENT.getIncludes(localWorkspace, projectName, peassConfig.getMeasurementConfig()));
+      transferredBytes += transfer.getTransferredBytes();
+
+      mergeChanges(readChanges(results.getChangeFile()));
+      mergeStatistics(readStatistics(results.getStatisticsFile()));
+      File logFile = results.getMeasurementLogFile(version, versionOld);
+      if (logFile.exists()) {
+         mergedLog.append("Results of " + name + "\n");
+         mergedLog.append(FileUtils.readFileToString(logFile, StandardCharsets.UTF_8));
+      }
+   }
+
+   /**
+    * Writes the merged statistics, changes and measurement log to the local workspace
+    */
+   public void write() throws IOException {
+      Constants.OBJECTMAPPER.writeValue(results.getChangeFile(), mergedChanges);
+      Constants.OBJECTMAPPER.writeValue(results.getStatisticsFile(), mergedStatistics);
+      if (mergedLog.length() > 0) {
+         FileUtils.writeStringToFile(results.getMeasurementLogFile(version, versionOld), mergedLog.toString(), StandardCharsets.UTF_8);
+      }
+   }
+
+   /**
+    * Returns the bytes copied by all calls of {@link #add(String, FilePath)}
+    */
+   public long getTransferredBytes() {
+      return transferredBytes;
+   }
+
+   /**
+    * Adds the changes per method; since measurements may list a method which was already added, e.g. from the shared changes file of an earlier call, the
+    * change of the later measurement replaces the existing change of the method.
+    */
+   private void mergeChanges(final ProjectChanges changes) {
+      Changes versionChanges = mergedChanges.getVersion(version);
+      for (Map.Entry<String, List<Change>> testcaseChanges : changes.getVersion(version).getTestcaseChanges().entrySet()) {
+         List<Change> existing = versionChanges.getTestcaseChanges().get(testcaseChanges.getKey());
+         if (existing == null) {
+            versionChanges.getTestcaseChanges().put(testcaseChanges.getKey(), new ArrayList<>(testcaseChanges.getValue()));
+         } else {
+            for (Change change : testcaseChanges.getValue()) {
+               existing.removeIf(existingChange -> Objects.equals(existingChange.getMethod(), change.getMethod()));
+               existing.add(change);
+            }
+         }
+      }
+   }
+
+   private void mergeStatistics(final ProjectStatistics statistics) {
+      Map<TestCase, TestcaseStatistic> addedStatistics = statistics.getStatistics().get(version);
+      if (addedStatistics != null) {
+         Map<TestCase, TestcaseStatistic> versionStatistics = mergedStatistics.getStatistics().get(version);
+         if (versionStatistics == null) {
+            mergedStatistics.getStatistics().put(version, addedStatistics);
+         } else {
+            versionStatistics.putAll(addedStatistics);
+         }
+      }
+   }
+
+   private static ProjectChanges readChanges(final File changeFile) throws IOException {
+      if (changeFile.exists()) {
+         return Constants.OBJECTMAPPER.readValue(changeFile, ProjectChanges.class);
+      } else {
+         return new ProjectChanges();
+      }
+   }
+
+   private static ProjectStatistics readStatistics(final File statisticsFile) throws IOException {
+      if (statisticsFile.exists()) {
+         return Constants.OBJECTMAPPER.readValue(statisticsFile, ProjectStatistics.class);
+      } else {
+         return new ProjectStatistics();
+      }
+   }
+
+   private static void deleteIfExists(final File file) throws IOException {
+      if (file.exists() && !file.delete()) {
+         throw new IOException("Could not delete " + file.getAbsolutePath());
+      }
+   }
+}
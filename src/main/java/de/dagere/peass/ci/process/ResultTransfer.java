@@ -0,0 +1,67 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import de.dagere.peass.ci.remote.RemoteManifestCreator;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.util.DirScanner;
+
+/**
+ * Copies the results from the agent to the controller. In incremental mode, a {@link FileManifest} of the remote folder is compared to the local copy first,
+ * and only new or changed files are sent, packed in one compressed tar stream.
+ */
+public class ResultTransfer {
+
+   public static final String ALL_FILES = "**/*,**/.git/**";
+
+   private final FilePath remoteFolder;
+   private final File localFolder;
+   private final TaskListener listener;
+   private final boolean incremental;
+   private long transferredBytes;
+
+   public ResultTransfer(final FilePath remoteFolder, final File localFolder, final TaskListener listener, final boolean incremental) {
+      this.remoteFolder = remoteFolder;
+      this.localFolder = localFolder;
+      this.listener = listener;
+      this.incremental = incremental;
+   }
+
+   /**
+    * Transfers all files matching the comma-separated, ant-style includes; returns the count of transferred files
+    */
+   public int transfer(final String includes) throws IOException, InterruptedException {
+      final int count;
+      if (incremental) {
+         FileManifest manifest = remoteFolder.act(new RemoteManifestCreator(includes, ""));
+         List<String> changedFiles = manifest.getChangedFiles(localFolder);
+         listener.getLogger().println("Remote files: " + manifest.getFiles().size() + " (" + manifest.getTotalSize() + " bytes), new or changed: " + changedFiles.size());
+         if (changedFiles.isEmpty()) {
+            count = 0;
+         } else {
+            count = remoteFolder.copyRecursiveTo(new ListedFilesScanner(changedFiles), new FilePath(localFolder), "Copy new or changed files");
+         }
+         transferredBytes = 0;
+         for (String changedFile : changedFiles) {
+            transferredBytes += manifest.getFiles().get(changedFile).getSize();
+         }
+      } else {
+         DirScanner.Glob dirScanner = new DirScanner.Glob(includes, "", false);
+         count = remoteFolder.copyRecursiveTo(dirScanner, new FilePath(localFolder), "Copy including git folder");
+         // The local folder may contain more files matching the includes than were copied, so the copied files are summed on the agent
+         transferredBytes = remoteFolder.act(new RemoteManifestCreator(includes, "")).getTotalSize();
+      }
+      listener.getLogger().println("Copied " + count + " files from " + remoteFolder + " to " + localFolder.getAbsolutePath());
+      return count;
+   }
+
+   /**
+    * Returns the size of the files copied by the last transfer in bytes (uncompressed)
+    */
+   public long getTransferredBytes() {
+      return transferredBytes;
+   }
+}
@@ -0,0 +1,82 @@
+package de.dagere.peass.ci.process;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.folders.ResultsFolders;
+
+/**
+ * The steps of a Peass build, each with the result files that the controller reads after the step (RTSVisualizationCreator and the RTS logs after RTS,
+ * HistogramReader, statistics, changes and measurement logs after measurement, RCAVisualizer input after RCA). Only these files are transfered after the
+ * step.
+ */
+public enum TransferPhase {
+   RTS, MEASUREMENT, RCA;
+
+   /**
+    * Returns the comma-separated, ant-style includes of the phase, relative to the local workspace (which mirrors the remote Peass folder).
+    */
+   public String getIncludes(final File localWorkspace, final String projectName, final MeasurementConfig measurementConfig) {
+      final ResultsFolders results = new ResultsFolders(localWorkspace, projectName);
+      final String version = measurementConfig.getExecutionConfig().getVersion();
+      final String versionOld = measurementConfig.getExecutionConfig().getVersionOld();
+      final String peassFolder = projectName + "_peass";
+
+      final Set<String> includes = new LinkedHashSet<>();
+      includes.add("properties_*/**");
+      includes.add(peassFolder + "/logs/**");
+      switch (this) {
+      case RTS:
+         addFile(includes, localWorkspace, results.getDependencyFile());
+         addFile(includes, localWorkspace, results.getExecutionFile());
+         addFile(includes, localWorkspace, results.getCoverageInfoFile());
+         addFile(includes, localWorkspace, results.getDependencyLogFile(version, versionOld));
+         // Traces and views of all versions are located in one folder
+         String diffFolder = relativize(localWorkspace, results.getVersionDiffFolder(version));
+         if (diffFolder != null) {
+            includes.add(diffFolder.split("/")[0] + "/**");
+         }
+         break;
+      case MEASUREMENT:
+         addFolder(includes, localWorkspace, results.getVersionFullResultsFolder(measurementConfig));
+         addFile(includes, localWorkspace, results.getStatisticsFile());
+         addFile(includes, localWorkspace, results.getChangeFile());
+         addFile(includes, localWorkspace, results.getMeasurementLogFile(version, versionOld));
+         break;
+      case RCA:
+         addFile(includes, localWorkspace, results.getRCALogFile(version, versionOld));
+         includes.add(peassFolder + "/rca/**");
+         break;
+      default:
+         throw new RuntimeException("Unexpected phase: " + this);
+      }
+      return String.join(",", includes);
+   }
+
+   private static void addFile(final Set<String> includes, final File localWorkspace, final File file) {
+      String relativePath = relativize(localWorkspace, file);
+      if (relativePath != null) {
+         includes.add(relativePath);
+      }
+   }
+
+   private static void addFolder(final Set<String> includes, final File localWorkspace, final File folder) {
+      String relativePath = relativize(localWorkspace, folder);
+      if (relativePath != null) {
+         includes.add(relativePath + "/**");
+      }
+   }
+
+   static String relativize(final File localWorkspace, final File file) {
+      if (file == null) {
+         return null;
+      }
+      String relativePath = localWorkspace.getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString().replace('\\', '/');
+      if (relativePath.isEmpty() || relativePath.startsWith("..")) {
+         return null;
+      }
+      return relativePath;
+   }
+}
@@ -0,0 +1,39 @@
+package de.dagere.peass.ci.progress;
+
+import java.io.Serializable;
+
+/**
+ * Progress of the measurement of one test, sent from the agent to the controller.
+ *
+ * @author DaGeRe
+ *
+ */
+public class MeasurementProgress implements Serializable {
+
+   private static final long serialVersionUID = -2034176618253401271L;
+
+   private final String testcase;
+   private final int startedVMs;
+   private final int vms;
+
+   public MeasurementProgress(final String testcase, final int startedVMs, final int vms) {
+      this.testcase = testcase;
+      this.startedVMs = startedVMs;
+      this.vms = vms;
+   }
+
+   public String getTestcase() {
+      return testcase;
+   }
+
+   /**
+    * Count of VMs of the test which were started so far; every VM measures both versions
+    */
+   public int getStartedVMs() {
+      return startedVMs;
+   }
+
+   public int getVms() {
+      return vms;
+   }
+}
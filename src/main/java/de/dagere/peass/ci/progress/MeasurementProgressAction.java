@@ -0,0 +1,205 @@
+package de.dagere.peass.ci.progress;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import de.dagere.peass.ci.VisibleAction;
+
+/**
+ * Shows the progress of the measurement of a running build, i.e. the started VMs, the throughput and the estimated remaining time of every test. The action
+ * receives the progress from the agent as {@link MeasurementProgressSink}; it stays at the build afterwards and shows the final state.
+ *
+ * @author DaGeRe
+ *
+ */
+public class MeasurementProgressAction extends VisibleAction implements MeasurementProgressSink {
+
+   public static class TestProgress {
+      private final String testcase;
+      private final int vms;
+      private final long firstUpdate;
+      private final int firstStartedVMs;
+      private int startedVMs;
+      private long lastUpdate;
+
+      public TestProgress(final String testcase, final int vms, final int startedVMs, final long time) {
+         this.testcase = testcase;
+         this.vms = vms;
+         this.firstStartedVMs = startedVMs;
+         this.startedVMs = startedVMs;
+         this.firstUpdate = time;
+         this.lastUpdate = time;
+      }
+
+      public String getTestcase() {
+         return testcase;
+      }
+
+      public int getVms() {
+         return vms;
+      }
+
+      public int getStartedVMs() {
+         return startedVMs;
+      }
+
+      public boolean isFinished() {
+         return startedVMs >= vms;
+      }
+
+      /**
+       * Returns the started VMs per minute, or -1 if the test did not progress since its first update
+       */
+      public double getThroughput() {
+         long duration = lastUpdate - firstUpdate;
+         int progressedVMs = startedVMs - firstStartedVMs;
+         if (duration <= 0 || progressedVMs <= 0) {
+            return -1;
+         }
+         return progressedVMs * 60000d / duration;
+      }
+
+      /**
+       * Returns the estimated remaining time of the test in milliseconds, or -1 if no estimation is possible yet
+       */
+      public long getRemainingTime() {
+         double throughput = getThroughput();
+         if (throughput <= 0) {
+            return isFinished() ? 0 : -1;
+         }
+         return (long) ((vms - startedVMs) / throughput * 60000);
+      }
+
+      void update(final int currentStartedVMs, final long time) {
+         this.startedVMs = currentStartedVMs;
+         this.lastUpdate = time;
+      }
+   }
+
+   public static final String URL_NAME = "measurementProgress";
+
+   private final int testCount;
+   private final int vms;
+   private final long startTime;
+   private final Map<String, TestProgress> tests = new LinkedHashMap<>();
+   private long lastUpdate;
+   private boolean finished;
+   private transient PrintStream logger;
+
+   /**
+    * Creates the progress of measuring the given count of tests with the given count of VMs each; the progress is also printed to the given logger.
+    */
+   public MeasurementProgressAction(final int testCount, final int vms, final PrintStream logger) {
+      this.testCount = testCount;
+      this.vms = vms;
+      this.logger = logger;
+      this.startTime = System.currentTimeMillis();
+      this.lastUpdate = startTime;
+   }
+
+   @Override
+   public synchronized void progress(final List<MeasurementProgress> updates) {
+      long now = System.currentTimeMillis();
+      long previousUpdate = lastUpdate;
+      lastUpdate = now;
+      for (MeasurementProgress update : updates) {
+         TestProgress testProgress = tests.get(update.getTestcase());
+         if (testProgress == null) {
+            // At the previous update, the test had not started, so its throughput is counted from there
+            testProgress = new TestProgress(update.getTestcase(), update.getVms(), 0, previousUpdate);
+            tests.put(update.getTestcase(), testProgress);
+         }
+         testProgress.update(update.getStartedVMs(), now);
+         if (logger != null) {
+            logger.println("Progress: test " + tests.size() + "/" + testCount + " (" + update.getTestcase() + "), VM " + update.getStartedVMs() + "/"
+                  + update.getVms() + ", ETA " + formatDuration(getRemainingTime()));
+         }
+      }
+   }
+
+   public synchronized void setFinished() {
+      finished = true;
+      lastUpdate = System.currentTimeMillis();
+   }
+
+   public synchronized boolean isFinished() {
+      return finished;
+   }
+
+   public synchronized List<TestProgress> getTests() {
+      return new ArrayList<>(tests.values());
+   }
+
+   public int getTestCount() {
+      return testCount;
+   }
+
+   public synchronized int getStartedTests() {
+      return tests.size();
+   }
+
+   public synchronized int getStartedVMs() {
+      int started = 0;
+      for (TestProgress test : tests.values()) {
+         started += test.getStartedVMs();
+      }
+      return started;
+   }
+
+   /**
+    * Returns the VMs of all tests; tests without progress yet are expected to use the configured count of VMs
+    */
+   public synchronized int getTotalVMs() {
+      int total = (testCount - tests.size()) * vms;
+      for (TestProgress test : tests.values()) {
+         total += test.getVms();
+      }
+      return total;
+   }
+
+   /**
+    * Returns the estimated remaining time of the whole measurement in milliseconds, based on the throughput since the start; -1 if no VM was started yet
+    */
+   public synchronized long getRemainingTime() {
+      if (finished) {
+         return 0;
+      }
+      int startedVMs = getStartedVMs();
+      long duration = lastUpdate - startTime;
+      if (startedVMs == 0 || duration <= 0) {
+         return -1;
+      }
+      return (long) ((double) (getTotalVMs() - startedVMs) * duration / startedVMs);
+   }
+
+   public String formatDuration(final long milliseconds) {
+      if (milliseconds < 0) {
+         return "unknown";
+      }
+      long seconds = milliseconds / 1000;
+      return String.format("%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+   }
+
+   public String formatThroughput(final double throughput) {
+      return throughput < 0 ? "-" : String.format(Locale.US, "%.2f", throughput);
+   }
+
+   @Override
+   public String getIconFileName() {
+      return "/plugin/peass-ci/images/trend.png";
+   }
+
+   @Override
+   public String getDisplayName() {
+      return "Peass Measurement Progress";
+   }
+
+   @Override
+   public String getUrlName() {
+      return URL_NAME;
+   }
+}
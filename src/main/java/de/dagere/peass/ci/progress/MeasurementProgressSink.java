@@ -0,0 +1,18 @@
+package de.dagere.peass.ci.progress;
+
+import java.util.List;
+
+/**
+ * Receives the measurement progress on the controller. The agent gets the sink as proxy exported by {@link hudson.remoting.VirtualChannel#export(Class, Object)},
+ * so every call is one message over the remoting channel; therefore, progress is only sent in batches.
+ *
+ * @author DaGeRe
+ *
+ */
+public interface MeasurementProgressSink {
+
+   /**
+    * Receives all progress changes since the last call
+    */
+   void progress(List<MeasurementProgress> updates);
+}
@@ -0,0 +1,125 @@
+package de.dagere.peass.ci.remote;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.ci.progress.MeasurementProgress;
+import de.dagere.peass.ci.progress.MeasurementProgressSink;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.PeassFolders;
+
+/**
+ * Watches the measurement logs on the agent and sends the progress of the tests to a {@link MeasurementProgressSink} on the controller. Since Peass does not
+ * report progress, the started VMs of a test are counted from its log folders, which are resolved like in {@link de.dagere.peass.ci.logs.LogFileReader}
+ * (<code>&lt;method&gt;/vm_&lt;id&gt;_&lt;version&gt;/[&lt;module&gt;/]log_&lt;clazz&gt;</code>). The folders are checked once per interval, and all changes of
+ * one interval are sent in one batch, so the count of remote calls does not depend on the count of tests or VMs.
+ *
+ * @author DaGeRe
+ *
+ */
+public class MeasurementProgressWatcher implements AutoCloseable {
+
+   private static final Logger LOG = LogManager.getLogger(MeasurementProgressWatcher.class);
+
+   public static final long DEFAULT_INTERVAL = 10000;
+
+   private final PeassFolders folders;
+   private final String version;
+   private final Set<TestCase> tests;
+   private final int vms;
+   private final MeasurementProgressSink sink;
+   private final Map<TestCase, Integer> sentProgress = new HashMap<>();
+   private ScheduledExecutorService executor;
+
+   /**
+    * Creates a watcher of the measure logs of the given version in the given Peass folders
+    */
+   public MeasurementProgressWatcher(final PeassFolders folders, final String version, final Set<TestCase> tests, final int vms,
+         final MeasurementProgressSink sink) {
+      this.folders = folders;
+      this.version = version;
+      this.tests = tests;
+      this.vms = vms;
+      this.sink = sink;
+   }
+
+   public MeasurementProgressWatcher start(final long interval) {
+      executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         Thread thread = new Thread(runnable, "peass-progress-watcher");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.scheduleWithFixedDelay(this::sendProgress, interval, interval, TimeUnit.MILLISECONDS);
+      return this;
+   }
+
+   /**
+    * Stops watching and sends the final progress
+    */
+   @Override
+   public void close() {
+      if (executor != null) {
+         executor.shutdown();
+         try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+      sendProgress();
+   }
+
+   private synchronized void sendProgress() {
+      List<MeasurementProgress> updates = new ArrayList<>();
+      for (TestCase test : tests) {
+         Integer sent = sentProgress.get(test);
+         if (sent == null || sent < vms) {
+            int startedVMs = countStartedVMs(test);
+            if (startedVMs > 0 && (sent == null || startedVMs != sent)) {
+               updates.add(new MeasurementProgress(test.toString(), startedVMs, vms));
+               sentProgress.put(test, startedVMs);
+            }
+         }
+      }
+      if (!updates.isEmpty()) {
+         try {
+            sink.progress(updates);
+         } catch (RuntimeException e) {
+            // Progress is only informational, so the measurement continues if the controller can not be reached
+            LOG.debug("Sending progress failed", e);
+         }
+      }
+   }
+
+   private int countStartedVMs(final TestCase test) {
+      File logFolder = folders.getExistingMeasureLogFolder(version, test);
+      Set<String> vmIds = new HashSet<>();
+      File[] vmFolders = logFolder != null ? logFolder.listFiles((dir, name) -> name.startsWith("vm_")) : null;
+      if (vmFolders != null) {
+         for (File vmFolder : vmFolders) {
+            String[] parts = vmFolder.getName().split("_");
+            // Tests of different classes with the same method share the log folder, so only the VMs of the class of the test are counted
+            if (parts.length >= 3 && getClassLogFolder(vmFolder, test).exists()) {
+               vmIds.add(parts[1]);
+            }
+         }
+      }
+      return Math.min(vmIds.size(), vms);
+   }
+
+   private File getClassLogFolder(final File vmFolder, final TestCase test) {
+      File moduleFolder = test.getModule() != null ? new File(vmFolder, test.getModule()) : vmFolder;
+      return new File(moduleFolder, "log_" + test.getClazz());
+   }
+}
@@ -0,0 +1,48 @@
+package de.dagere.peass.ci.remote;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jenkinsci.remoting.RoleChecker;
+
+import de.dagere.peass.ci.process.FileManifest;
+import hudson.FilePath.FileCallable;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DirScanner;
+import hudson.util.FileVisitor;
+
+/**
+ * Creates the {@link FileManifest} of a folder on the agent; only the files matching the given (ant-style) includes and excludes are listed.
+ */
+public class RemoteManifestCreator implements FileCallable<FileManifest> {
+
+   private static final long serialVersionUID = 6207950283146735592L;
+
+   private final String includes;
+   private final String excludes;
+
+   public RemoteManifestCreator(final String includes, final String excludes) {
+      this.includes = includes;
+      this.excludes = excludes;
+   }
+
+   @Override
+   public void checkRoles(final RoleChecker checker) throws SecurityException {
+   }
+
+   @Override
+   public FileManifest invoke(final File folder, final VirtualChannel channel) throws IOException, InterruptedException {
+      final FileManifest manifest = new FileManifest();
+      if (folder.exists()) {
+         new DirScanner.Glob(includes, excludes, false).scan(folder, new FileVisitor() {
+            @Override
+            public void visit(final File file, final String relativePath) throws IOException {
+               if (file.isFile()) {
+                  manifest.add(relativePath.replace('\\', '/'), file.length(), file.lastModified());
+               }
+            }
+         });
+      }
+      return manifest;
+   }
+}
@@ -0,0 +1,57 @@
+package de.dagere.peass.ci.remote;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import org.jenkinsci.remoting.RoleChecker;
+
+import de.dagere.peass.ci.ContinuousFolderUtil;
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.ResultsFolders;
+import hudson.FilePath.FileCallable;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+
+/**
+ * Reads the measurement results on the agent and returns the compact {@link MeasurementSummary}, so the KoPeMe XML files are not parsed on the controller.
+ */
+public class RemoteMeasurementSummarizer implements FileCallable<MeasurementSummary> {
+
+   private static final long serialVersionUID = -1954430781263717395L;
+
+   private final MeasurementConfig measurementConfig;
+   private final Set<TestCase> tests;
+   private final TaskListener listener;
+   private final int parallelism;
+
+   public RemoteMeasurementSummarizer(final MeasurementConfig measurementConfig, final Set<TestCase> tests, final TaskListener listener, final int parallelism) {
+      this.measurementConfig = measurementConfig;
+      this.tests = tests;
+      this.listener = listener;
+      this.parallelism = parallelism;
+   }
+
+   @Override
+   public void checkRoles(final RoleChecker checker) throws SecurityException {
+   }
+
+   @Override
+   public MeasurementSummary invoke(final File workspaceFolder, final VirtualChannel channel) throws IOException, InterruptedException {
+      try {
+         final File localFolder = ContinuousFolderUtil.getLocalFolder(workspaceFolder);
+         ResultsFolders resultsFolders = new ResultsFolders(localFolder, workspaceFolder.getName());
+         File fullResultsFolder = resultsFolders.getVersionFullResultsFolder(measurementConfig);
+         MeasurementSummaryCreator summaryCreator = new MeasurementSummaryCreator(measurementConfig, fullResultsFolder);
+         summaryCreator.setParallelism(parallelism);
+         return summaryCreator.createSummary(tests);
+      } catch (Throwable e) {
+         listener.getLogger().println("Summarizing measurement results failed; results will be read on the controller");
+         e.printStackTrace(listener.getLogger());
+         return null;
+      }
+   }
+}
@@ -3,6 +3,7 @@ package de.dagere.peass.ci.remote;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -10,9 +11,12 @@ import org.apache.logging.log4j.Logger;
 import org.jenkinsci.remoting.RoleChecker;
 
 import de.dagere.peass.ci.ContinuousExecutor;
+import de.dagere.peass.ci.ContinuousFolderUtil;
 import de.dagere.peass.ci.PeassProcessConfiguration;
 import de.dagere.peass.ci.process.JenkinsLogRedirector;
+import de.dagere.peass.ci.progress.MeasurementProgressSink;
 import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.PeassFolders;
 import hudson.FilePath.FileCallable;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
@@ -23,25 +27,49 @@ public class RemoteMeasurer implements FileCallable<Boolean> {
 
    private static final long serialVersionUID = 5145199366806250594L;
 
+   /**
+    * Absolute paths of the workspaces with a running measurement in the JVM of this agent
+    */
+   private static final Set<String> RUNNING = new HashSet<>();
+
    private final PeassProcessConfiguration peassConfig;
 
    private final TaskListener listener;
    
    private final Set<TestCase> tests;
 
+   private MeasurementProgressSink progressSink;
+
    public RemoteMeasurer(final PeassProcessConfiguration peassConfig, final TaskListener listener, final Set<TestCase> tests) {
       this.peassConfig = peassConfig;
       this.listener = listener;
       this.tests = tests;
    }
 
+   /**
+    * Sets the sink receiving the progress of the measurement; it needs to be exported to the channel of the agent. If no sink is set, no progress is sent.
+    */
+   public void setProgressSink(final MeasurementProgressSink progressSink) {
+      this.progressSink = progressSink;
+   }
+
    @Override
    public void checkRoles(final RoleChecker checker) throws SecurityException {
    }
 
    @Override
    public Boolean invoke(final File workspaceFolder, final VirtualChannel channel) throws IOException, InterruptedException {
-      try (final JenkinsLogRedirector redirector = new JenkinsLogRedirector(listener)) {
+      markRunning(workspaceFolder);
+      try {
+         return measure(workspaceFolder);
+      } finally {
+         markFinished(workspaceFolder);
+      }
+   }
+
+   private Boolean measure(final File workspaceFolder) throws IOException {
+      try (final JenkinsLogRedirector redirector = new JenkinsLogRedirector(listener);
+            final MeasurementProgressWatcher progressWatcher = startProgressWatcher(workspaceFolder)) {
          LOG.info("Starting remote invocation, VMs: " + peassConfig.getMeasurementConfig().getVms());
 
          if (peassConfig.isUpdateSnapshotDependencies()) {
@@ -69,4 +97,61 @@ public class RemoteMeasurer implements FileCallable<Boolean> {
       }
    }
 
+   private static void markRunning(final File workspaceFolder) {
+      synchronized (RUNNING) {
+         RUNNING.add(workspaceFolder.getAbsolutePath());
+      }
+   }
+
+   private static void markFinished(final File workspaceFolder) {
+      synchronized (RUNNING) {
+         RUNNING.remove(workspaceFolder.getAbsolutePath());
+         RUNNING.notifyAll();
+      }
+   }
+
+   /**
+    * Waits until no measurement runs in the workspace of this agent anymore, e.g. after the measurement was cancelled and Peass still needs to react to the
+    * interrupt. Returns whether the measurement ended before the timeout.
+    */
+   public static class FinishWaiter implements FileCallable<Boolean> {
+
+      private static final long serialVersionUID = -2186346011418962711L;
+
+      private final long timeout;
+
+      public FinishWaiter(final long timeout) {
+         this.timeout = timeout;
+      }
+
+      @Override
+      public void checkRoles(final RoleChecker checker) throws SecurityException {
+      }
+
+      @Override
+      public Boolean invoke(final File workspaceFolder, final VirtualChannel channel) throws IOException, InterruptedException {
+         long end = System.currentTimeMillis() + timeout;
+         synchronized (RUNNING) {
+            while (RUNNING.contains(workspaceFolder.getAbsolutePath())) {
+               long remaining = end - System.currentTimeMillis();
+               if (remaining <= 0) {
+                  return false;
+               }
+               RUNNING.wait(remaining);
+            }
+         }
+         return true;
+      }
+   }
+
+   private MeasurementProgressWatcher startProgressWatcher(final File workspaceFolder) {
+      if (progressSink == null) {
+         return null;
+      }
+      File projectFolder = new File(ContinuousFolderUtil.getLocalFolder(workspaceFolder), workspaceFolder.getName());
+      String version = peassConfig.getMeasurementConfig().getExecutionConfig().getVersion();
+      return new MeasurementProgressWatcher(new PeassFolders(projectFolder), version, tests, peassConfig.getMeasurementConfig().getVms(), progressSink)
+            .start(MeasurementProgressWatcher.DEFAULT_INTERVAL);
+   }
+
 }
@@ -34,6 +34,7 @@ public class RemoteRCA implements FileCallable<Boolean>, Serializable {
    private final ProjectChanges changes;
    private final EnvironmentVariables env;
    private final TaskListener listener;
+   private final int rcaThreads;
 
    public RemoteRCA(final PeassProcessConfiguration peassConfig, final CauseSearcherConfig causeConfig, final ProjectChanges changes, final TaskListener listener) {
       this.measurementConfig = peassConfig.getMeasurementConfig();
@@ -41,6 +42,7 @@ public class RemoteRCA implements FileCallable<Boolean>, Serializable {
       this.changes = changes;
       this.listener = listener;
       this.env = peassConfig.getEnvVars();
+      this.rcaThreads = peassConfig.getRcaThreads();
    }
 
    @Override
@@ -85,6 +87,7 @@ public class RemoteRCA implements FileCallable<Boolean>, Serializable {
       causeConfig.setPropertyFolder(propertyFolder);
       listener.getLogger().println("Setting property folder: " + propertyFolder.getAbsolutePath());
       final RCAExecutor rcaExecutor = new RCAExecutor(measurementConfig, projectFolderLocal, changes, causeConfig, env);
+      rcaExecutor.setRcaThreads(rcaThreads);
       rcaExecutor.executeRCAs();
    }
 
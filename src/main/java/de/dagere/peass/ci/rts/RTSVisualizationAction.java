@@ -3,6 +3,7 @@ package de.dagere.peass.ci.rts;
 import java.util.List;
 import java.util.Map;
 
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.VisibleAction;
 import de.dagere.peass.ci.logs.rts.RTSLogSummary;
 import de.dagere.peass.config.DependencyConfig;
@@ -59,6 +60,13 @@ public class RTSVisualizationAction extends VisibleAction {
    }
 
 
+   /**
+    * Prefix of the links to the bundled actions of this build, see {@link ActionDispatcher#getLinkPrefix(hudson.model.Run, String)}
+    */
+   public String getLinkPrefix() {
+      return ActionDispatcher.getLinkPrefix(getRun(), ActionDispatcher.RTS_TRACES);
+   }
+
    @Override
    public String getIconFileName() {
       return "/plugin/peass-ci/images/rts.jpg";
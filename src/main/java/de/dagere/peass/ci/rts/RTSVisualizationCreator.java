@@ -15,6 +15,7 @@ import org.apache.logging.log4j.Logger;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
+import de.dagere.peass.ci.ActionDispatcher;
 import de.dagere.peass.ci.PeassProcessConfiguration;
 import de.dagere.peass.ci.logs.rts.RTSLogSummary;
 import de.dagere.peass.dependency.analysis.data.ChangedEntity;
@@ -74,7 +75,7 @@ public class RTSVisualizationCreator {
       }
 
       RTSTraceAction traceAction = new RTSTraceAction(traceSelectedTest, traceSource);
-      run.addAction(traceAction);
+      ActionDispatcher.get(run, ActionDispatcher.RTS_TRACES).addAction(traceAction);
    }
 
    private List<String> readDynamicSelection(final Run<?, ?> run) throws IOException, JsonParseException, JsonMappingException {
@@ -31,6 +31,15 @@ public class MeasureVersionBuilderConfigCreationTest {
       MatcherAssert.assertThat(measurementConfig.getExecutionConfig().getVersionOld(), Matchers.equalTo("HEAD~3"));
    }
 
+   @Test
+   public void testConfigCreationEarlyStop() throws JsonParseException, JsonMappingException, IOException {
+      MeasureVersionBuilder builder = new MeasureVersionBuilder();
+      Assert.assertFalse(builder.getMeasurementConfig().isEarlyStop());
+
+      builder.setEarlyStop(true);
+      Assert.assertTrue(builder.getMeasurementConfig().isEarlyStop());
+   }
+
    @Test
    public void testConfigCreationNightlyAndVersionDiff() throws JsonParseException, JsonMappingException, IOException {
       MeasureVersionBuilder builder = new MeasureVersionBuilder();
@@ -0,0 +1,71 @@
+package de.peass.ci;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import de.dagere.peass.ci.ActionDispatcher;
+import de.dagere.peass.ci.rts.RTSTraceAction;
+import hudson.model.Run;
+
+public class TestActionDispatcher {
+
+   @Test
+   public void testDispatching() {
+      Run<?, ?> run = mockRun();
+
+      ActionDispatcher dispatcher = ActionDispatcher.get(run, ActionDispatcher.RTS_TRACES);
+      RTSTraceAction traceA = new RTSTraceAction("de.ClassA#testA", "");
+      RTSTraceAction traceB = new RTSTraceAction("de.ClassB#testB", "");
+      dispatcher.addAction(traceA);
+      ActionDispatcher.get(run, ActionDispatcher.RTS_TRACES).addAction(traceB);
+
+      Assert.assertEquals(1, run.getActions(ActionDispatcher.class).size());
+      Assert.assertEquals(2, dispatcher.size());
+      Assert.assertSame(traceA, dispatcher.getDynamic("rts_de.ClassA_testA", null, null));
+      Assert.assertSame(traceB, dispatcher.getDynamic("rts_de.ClassB_testB", null, null));
+      Assert.assertNull(dispatcher.getDynamic("rts_de.ClassC_testC", null, null));
+      Assert.assertSame(run, traceA.getRun());
+   }
+
+   @Test
+   public void testLinkPrefix() {
+      Run<?, ?> run = mockRun();
+      Assert.assertEquals("", ActionDispatcher.getLinkPrefix(run, ActionDispatcher.MEASUREMENT_LOGS));
+
+      ActionDispatcher.get(run, ActionDispatcher.MEASUREMENT_LOGS);
+      Assert.assertEquals("measurelogs/", ActionDispatcher.getLinkPrefix(run, ActionDispatcher.MEASUREMENT_LOGS));
+      Assert.assertEquals("", ActionDispatcher.getLinkPrefix(run, ActionDispatcher.RCA_LOGS));
+   }
+
+   @Test
+   public void testLoadPropagatesRun() {
+      ActionDispatcher dispatcher = new ActionDispatcher(ActionDispatcher.RTS_TRACES);
+      RTSTraceAction trace = new RTSTraceAction("de.ClassA#testA", "");
+      dispatcher.addAction(trace);
+      Assert.assertNull(trace.getRun());
+
+      Run<?, ?> run = Mockito.mock(Run.class);
+      dispatcher.onLoad(run);
+      Assert.assertSame(run, trace.getRun());
+   }
+
+   /**
+    * Creates a run mock which keeps added dispatchers and returns them on {@link Run#getActions(Class)}.
+    */
+   private Run<?, ?> mockRun() {
+      Run<?, ?> run = Mockito.mock(Run.class);
+      List<ActionDispatcher> actions = new LinkedList<>();
+      Mockito.doAnswer(invocation -> {
+         ActionDispatcher dispatcher = (ActionDispatcher) invocation.getArguments()[0];
+         actions.add(dispatcher);
+         dispatcher.onAttached(run);
+         return null;
+      }).when(run).addAction(Mockito.any(ActionDispatcher.class));
+      Mockito.when(run.getActions(ActionDispatcher.class)).thenReturn(actions);
+      return run;
+   }
+}
@@ -12,6 +12,7 @@ import de.dagere.peass.ci.helper.HistogramValues;
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
 
 public class TestMeasureVersionAction {
 
@@ -26,7 +27,7 @@ public class TestMeasureVersionAction {
       measurements.put("de.package.otherpackage.ClassC#method2", null);
 
       MeasureVersionAction action = new MeasureVersionAction(new MeasurementConfig(5), changes.getVersion("1"), new ProjectStatistics(),
-            new HashMap<>(), measurements, new HashMap<>());
+            new HashMap<>(), measurements, new HashMap<>(), new HashMap<>());
 
       Assert.assertEquals("ClassA", action.getReducedName("de.package.ClassA"));
       Assert.assertEquals("otherpackage.ClassC", action.getReducedName("de.package.otherpackage.ClassC"));
@@ -46,10 +47,68 @@ public class TestMeasureVersionAction {
       final ProjectChanges changes = getChanges();
 
       MeasureVersionAction action = new MeasureVersionAction(new MeasurementConfig(5), changes.getVersion("1"), new ProjectStatistics(),
-            new HashMap<>(), new HashMap<>(), new HashMap<>());
+            new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
 
       Assert.assertTrue(action.testIsChanged("de.package.ClassA#method1"));
       Assert.assertTrue(action.testIsChanged("de.package.ClassA#method2"));
       Assert.assertTrue(action.testIsChanged("de.package.ClassB#method2"));
    }
+
+   @Test
+   public void testSavedVMs() {
+      final ProjectChanges changes = getChanges();
+      ProjectStatistics statistics = new ProjectStatistics();
+      statistics.addMeasurement("1", new TestCase("de.package.ClassA", "method1"), new TestcaseStatistic(1, 2, 0.1, 0.2, 3, -5, true, 100, 100));
+      statistics.addMeasurement("1", new TestCase("de.package.ClassA", "method2"), new TestcaseStatistic(1, 2, 0.1, 0.2, 10, -5, true, 100, 100));
+
+      HashMap<String, HistogramValues> measurements = new HashMap<String, HistogramValues>();
+      measurements.put("de.package.ClassA#method1", null);
+      measurements.put("de.package.ClassA#method2", null);
+
+      MeasurementConfig earlyStopConfig = new MeasurementConfig(10);
+      earlyStopConfig.setEarlyStop(true);
+      MeasureVersionAction earlyStopAction = new MeasureVersionAction(earlyStopConfig, changes.getVersion("1"), statistics,
+            new HashMap<>(), measurements, new HashMap<>(), new HashMap<>());
+
+      Assert.assertEquals(7, earlyStopAction.getSavedVMs("de.package.ClassA#method1", earlyStopAction.getTestcaseStatistic("de.package.ClassA#method1")));
+      Assert.assertEquals(0, earlyStopAction.getSavedVMs("de.package.ClassA#method2", earlyStopAction.getTestcaseStatistic("de.package.ClassA#method2")));
+      Assert.assertEquals(0, earlyStopAction.getSavedVMs("de.package.ClassA#method1", null));
+      Assert.assertEquals(7, earlyStopAction.getSavedVMs());
+
+      MeasurementConfig fixedConfig = new MeasurementConfig(10);
+      fixedConfig.setEarlyStop(false);
+      MeasureVersionAction fixedAction = new MeasureVersionAction(fixedConfig, changes.getVersion("1"), statistics,
+            new HashMap<>(), measurements, new HashMap<>(), new HashMap<>());
+
+      Assert.assertEquals(0, fixedAction.getSavedVMs("de.package.ClassA#method1", fixedAction.getTestcaseStatistic("de.package.ClassA#method1")));
+      Assert.assertEquals(0, fixedAction.getSavedVMs("de.package.ClassA#method1", null));
+      Assert.assertEquals(0, fixedAction.getSavedVMs());
+   }
+
+   @Test
+   public void testSavedVMsOfTrimmedTest() {
+      final ProjectChanges changes = getChanges();
+      ProjectStatistics statistics = new ProjectStatistics();
+      statistics.addMeasurement("1", new TestCase("de.package.ClassA", "method1"), new TestcaseStatistic(1, 2, 0.1, 0.2, 3, -5, true, 100, 100));
+      statistics.addMeasurement("1", new TestCase("de.package.ClassA", "method2"), new TestcaseStatistic(1, 2, 0.1, 0.2, 5, -5, true, 100, 100));
+
+      HashMap<String, HistogramValues> measurements = new HashMap<String, HistogramValues>();
+      measurements.put("de.package.ClassA#method1", null);
+      measurements.put("de.package.ClassA#method2", null);
+
+      HashMap<String, Integer> plannedVMs = new HashMap<>();
+      plannedVMs.put("de.package.ClassA#method1", 5);
+      plannedVMs.put("de.package.ClassA#method2", 5);
+
+      MeasurementConfig earlyStopConfig = new MeasurementConfig(10);
+      earlyStopConfig.setEarlyStop(true);
+      MeasureVersionAction action = new MeasureVersionAction(earlyStopConfig, changes.getVersion("1"), statistics,
+            new HashMap<>(), measurements, new HashMap<>(), plannedVMs);
+
+      Assert.assertEquals(5, action.getPlannedVMs("de.package.ClassA#method1"));
+      Assert.assertEquals(10, action.getPlannedVMs("de.package.ClassB#method2"));
+      Assert.assertEquals(2, action.getSavedVMs("de.package.ClassA#method1", action.getTestcaseStatistic("de.package.ClassA#method1")));
+      Assert.assertEquals(0, action.getSavedVMs("de.package.ClassA#method2", action.getTestcaseStatistic("de.package.ClassA#method2")));
+      Assert.assertEquals(2, action.getSavedVMs());
+   }
 }
@@ -0,0 +1,324 @@
+package de.peass.ci.fixture;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+
+import de.dagere.peass.ci.persistence.BuildMeasurementValues;
+import de.dagere.peass.ci.persistence.TestMeasurementValues;
+import de.dagere.peass.ci.persistence.TrendFileUtil;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.CauseSearchFolders;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Generates synthetic Peass results of configurable size in the layout of the local workspace of a job, so visualization, log reading and trend
+ * handling can be tested and benchmarked at production sizes without executing measurements. The generated files are:
+ * <ul>
+ * <li>One KoPeMe XML file per testcase with all VMs of both versions and one XML file per VM and version (measurement results)</li>
+ * <li>The measurement log of every VM and the statistics of the version</li>
+ * <li>The regression test selection log of every testcase</li>
+ * <li>One RCA call tree JSON per testcase</li>
+ * <li>A trend file in the monolithic format with one entry per build and testcase</li>
+ * </ul>
+ *
+ * The values are pseudo random with a fixed seed, so the generated results do not change between runs.
+ *
+ * @author DaGeRe
+ *
+ */
+public class SyntheticResultGenerator {
+
+   public static final String PROJECT_NAME = "synthetic-project";
+   public static final String VERSION = "b02c92af73e3297be617f4c973a7a63fb603565b";
+   public static final String VERSION_OLD = "e80d8a1bf747d1f70dc52260616b36cac9e44561";
+
+   private static final int TESTS_PER_CLASS = 10;
+   private static final int REPETITIONS = 10;
+   private static final double BASE_DURATION = 1000000;
+
+   private final File localWorkspace;
+   private final File projectFolder;
+   private int testcases = 10;
+   private int vms = 10;
+   private int iterations = 100;
+   private int rcaTreeDepth = 3;
+   private int rcaTreeWidth = 3;
+   private int trendBuilds = 3 * 365;
+
+   public SyntheticResultGenerator(final File localWorkspace) {
+      this.localWorkspace = localWorkspace;
+      this.projectFolder = new File(localWorkspace, PROJECT_NAME);
+   }
+
+   public SyntheticResultGenerator withTestcases(final int testcases) {
+      this.testcases = testcases;
+      return this;
+   }
+
+   public SyntheticResultGenerator withVMs(final int vms) {
+      this.vms = vms;
+      return this;
+   }
+
+   /**
+    * Sets the count of iterations of every VM, which is the count of full data values in the result files
+    */
+   public SyntheticResultGenerator withIterations(final int iterations) {
+      this.iterations = iterations;
+      return this;
+   }
+
+   public SyntheticResultGenerator withRCATree(final int depth, final int width) {
+      this.rcaTreeDepth = depth;
+      this.rcaTreeWidth = width;
+      return this;
+   }
+
+   /**
+    * Sets the count of builds of the trend; one build per day for several years is a typical size for nightly builds
+    */
+   public SyntheticResultGenerator withTrendBuilds(final int trendBuilds) {
+      this.trendBuilds = trendBuilds;
+      return this;
+   }
+
+   public File getLocalWorkspace() {
+      return localWorkspace;
+   }
+
+   public File getProjectFolder() {
+      return projectFolder;
+   }
+
+   public int getVMs() {
+      return vms;
+   }
+
+   public int getTrendBuilds() {
+      return trendBuilds;
+   }
+
+   public MeasurementConfig getMeasurementConfig() {
+      MeasurementConfig config = new MeasurementConfig(vms, VERSION, VERSION_OLD);
+      config.setWarmup(0);
+      config.setIterations(iterations);
+      config.setRepetitions(REPETITIONS);
+      return config;
+   }
+
+   public ResultsFolders getResultsFolders() {
+      return new ResultsFolders(localWorkspace, PROJECT_NAME);
+   }
+
+   /**
+    * Returns the generated testcases; every test class contains 10 test methods with unique names
+    */
+   public List<TestCase> getTestcases() {
+      List<TestCase> tests = new ArrayList<>(testcases);
+      for (int i = 0; i < testcases; i++) {
+         tests.add(new TestCase("de.dagere.synthetic.module" + (i % 3) + ".SyntheticTest" + (i / TESTS_PER_CLASS) + "#test" + i));
+      }
+      return tests;
+   }
+
+   public SyntheticResultGenerator generateAll() throws IOException {
+      generateMeasurements();
+      generateRTSLogs();
+      generateRCATrees();
+      generateTrend();
+      return this;
+   }
+
+   /**
+    * Generates the result files, measurement logs and statistics of the measurement of all testcases
+    */
+   public SyntheticResultGenerator generateMeasurements() throws IOException {
+      projectFolder.mkdirs();
+      MeasurementConfig config = getMeasurementConfig();
+      File fullResultsFolder = getResultsFolders().getVersionFullResultsFolder(config);
+      File detailResultsFolder = new File(fullResultsFolder, "measurements");
+      File measureLogFolder = new File(PeassFolders.getPeassFolder(projectFolder), "logs/measureLogs/" + VERSION);
+      ProjectStatistics statistics = new ProjectStatistics();
+
+      Random random = new Random(0);
+      for (TestCase test : getTestcases()) {
+         writeAggregatedResult(new File(fullResultsFolder, test.getClazz() + "_" + test.getMethod() + ".xml"), test, random);
+         for (int vm = 0; vm < vms; vm++) {
+            for (String version : new String[] { VERSION_OLD, VERSION }) {
+               File resultFile = new File(detailResultsFolder, PeassFolders.getRelativeFullResultPath(test, VERSION, version, vm));
+               writeVMResult(resultFile, test, version, random);
+
+               File logFile = new File(measureLogFolder,
+                     test.getMethod() + "/vm_" + vm + "_" + version + "/log_" + test.getClazz() + "/" + test.getMethod() + ".txt");
+               FileUtils.writeStringToFile(logFile, "Measuring " + test + " in VM " + vm + " of " + version, StandardCharsets.UTF_8);
+            }
+         }
+         statistics.addMeasurement(VERSION, test, createStatistic(random, 0));
+      }
+      Constants.OBJECTMAPPER.writeValue(getResultsFolders().getStatisticsFile(), statistics);
+      FileUtils.writeStringToFile(getResultsFolders().getMeasurementLogFile(VERSION, VERSION_OLD), "Synthetic measurement of " + testcases + " tests",
+            StandardCharsets.UTF_8);
+      return this;
+   }
+
+   private void writeAggregatedResult(final File file, final TestCase test, final Random random) throws IOException {
+      file.getParentFile().mkdirs();
+      try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+         writeHeader(writer, test);
+         writer.write("<chunk chunkStartTime=\"0\">\n");
+         for (int vm = 0; vm < vms * 2; vm++) {
+            writeResult(writer, vm % 2 == 0 ? VERSION_OLD : VERSION, vm, random);
+         }
+         writer.write("</chunk>\n");
+         writeFooter(writer);
+      }
+   }
+
+   private void writeVMResult(final File file, final TestCase test, final String version, final Random random) throws IOException {
+      file.getParentFile().mkdirs();
+      try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+         writeHeader(writer, test);
+         writeResult(writer, version, 0, random);
+         writeFooter(writer);
+      }
+   }
+
+   private void writeHeader(final BufferedWriter writer, final TestCase test) throws IOException {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+      writer.write("<kopemedata>\n<testcases class=\"" + test.getClazz() + "\">\n<testcase name=\"" + test.getMethod() + "\">\n");
+      writer.write("<datacollector name=\"de.dagere.kopeme.datacollection.TimeDataCollectorNoGC\">\n");
+   }
+
+   private void writeFooter(final BufferedWriter writer) throws IOException {
+      writer.write("</datacollector>\n</testcase>\n</testcases>\n</kopemedata>\n");
+   }
+
+   private void writeResult(final BufferedWriter writer, final String version, final int date, final Random random) throws IOException {
+      double factor = VERSION.equals(version) ? 1.1 : 1.0;
+      double value = BASE_DURATION * factor + random.nextGaussian() * 1000;
+      writer.write("<result date=\"" + date + "\">\n");
+      writer.write("<value>" + value + "</value>\n<deviation>1000.0</deviation>\n<warmup>0</warmup>\n");
+      writer.write("<iterations>" + iterations + "</iterations>\n<repetitions>" + REPETITIONS + "</repetitions>\n");
+      writer.write("<version>\n<gitversion>" + version + "</gitversion>\n</version>\n");
+      writer.write("<min>" + (value - 3000) + "</min>\n<max>" + (value + 3000) + "</max>\n");
+      writer.write("<fulldata>\n");
+      for (int i = 0; i < iterations; i++) {
+         writer.write("<value start=\"" + i + "\">" + (value + random.nextGaussian() * 1000) + "</value>\n");
+      }
+      writer.write("</fulldata>\n</result>\n");
+   }
+
+   /**
+    * Generates the regression test selection log (and its cleaned version) of every testcase
+    */
+   public SyntheticResultGenerator generateRTSLogs() throws IOException {
+      projectFolder.mkdirs();
+      File versionFolder = new File(new PeassFolders(projectFolder, PROJECT_NAME).getDependencyLogFolder(), VERSION);
+      for (TestCase test : getTestcases()) {
+         File clazzFolder = new File(versionFolder, "log_" + test.getClazz());
+         String methodFileName = test.getMethod() + ".txt";
+         FileUtils.writeStringToFile(new File(clazzFolder, methodFileName), "Tracing " + test, StandardCharsets.UTF_8);
+         FileUtils.writeStringToFile(new File(clazzFolder, "clean" + File.separator + methodFileName), "Cleaning " + test, StandardCharsets.UTF_8);
+      }
+      FileUtils.writeStringToFile(getResultsFolders().getDependencyLogFile(VERSION, VERSION_OLD), "Synthetic regression test selection",
+            StandardCharsets.UTF_8);
+      return this;
+   }
+
+   /**
+    * Generates one call tree of the configured depth and width per testcase in the RCA tree folder of the version
+    */
+   public SyntheticResultGenerator generateRCATrees() throws IOException {
+      projectFolder.mkdirs();
+      CauseSearchFolders folders = new CauseSearchFolders(projectFolder);
+      Random random = new Random(1);
+      for (TestCase test : getTestcases()) {
+         StringBuilder json = new StringBuilder();
+         json.append("{\"measurementConfig\": {\"vms\": ").append(vms).append(", \"iterations\": ").append(iterations)
+               .append(", \"repetitions\": ").append(REPETITIONS)
+               .append(", \"executionConfig\": {\"version\": \"").append(VERSION).append("\", \"versionOld\": \"").append(VERSION_OLD).append("\"}},\n");
+         json.append("\"causeConfig\": {\"testCase\": {\"clazz\": \"").append(test.getClazz()).append("\", \"method\": \"").append(test.getMethod())
+               .append("\", \"module\": \"\"}},\n");
+         json.append("\"nodes\": ");
+         appendNode(json, test.getClazz() + "#" + test.getMethod(), 0, random);
+         json.append("}\n");
+
+         File treeFolder = folders.getRcaTreeFolder(VERSION, test);
+         FileUtils.writeStringToFile(new File(treeFolder, test.getMethod() + ".json"), json.toString(), StandardCharsets.UTF_8);
+         FileUtils.writeStringToFile(new File(treeFolder, "details" + File.separator + test.getMethod() + ".json"), json.toString(), StandardCharsets.UTF_8);
+      }
+      return this;
+   }
+
+   private void appendNode(final StringBuilder json, final String call, final int level, final Random random) {
+      String clazz = call.substring(0, call.indexOf('#'));
+      String method = call.substring(call.indexOf('#') + 1);
+      json.append("{\"call\": \"").append(call).append("\", ");
+      json.append("\"kiekerPattern\": \"public void ").append(clazz).append('.').append(method).append("()\", ");
+      json.append("\"otherKiekerPattern\": \"public void ").append(clazz).append('.').append(method).append("()\", ");
+      json.append("\"statistic\": ").append(getStatisticJSON(random, level)).append(", ");
+      json.append("\"childs\": [");
+      if (level < rcaTreeDepth) {
+         for (int child = 0; child < rcaTreeWidth; child++) {
+            if (child > 0) {
+               json.append(", ");
+            }
+            appendNode(json, "de.dagere.synthetic.Callee" + (level + 1) + "#method" + child, level + 1, random);
+         }
+      }
+      json.append("]}");
+   }
+
+   private String getStatisticJSON(final Random random, final int level) {
+      TestcaseStatistic statistic = createStatistic(random, level);
+      return "{\"meanOld\": " + statistic.getMeanOld() + ", \"meanCurrent\": " + statistic.getMeanCurrent()
+            + ", \"deviationOld\": " + statistic.getDeviationOld() + ", \"deviationCurrent\": " + statistic.getDeviationCurrent()
+            + ", \"vms\": " + vms + ", \"callsOld\": " + statistic.getCallsOld() + ", \"calls\": " + statistic.getCalls()
+            + ", \"tvalue\": " + statistic.getTvalue() + "}";
+   }
+
+   private TestcaseStatistic createStatistic(final Random random, final int level) {
+      double meanOld = BASE_DURATION / (level + 1) + random.nextGaussian() * 1000;
+      TestcaseStatistic statistic = new TestcaseStatistic();
+      statistic.setMeanOld(meanOld);
+      statistic.setMeanCurrent(meanOld * 1.1);
+      statistic.setDeviationOld(1000);
+      statistic.setDeviationCurrent(1100);
+      statistic.setVMs(vms);
+      statistic.setCalls(iterations * REPETITIONS);
+      statistic.setCallsOld(iterations * REPETITIONS);
+      statistic.setTvalue(-5 - random.nextDouble());
+      return statistic;
+   }
+
+   /**
+    * Generates the trend file in the monolithic format, which is migrated to the trend store on first access
+    */
+   public SyntheticResultGenerator generateTrend() throws IOException {
+      BuildMeasurementValues values = new BuildMeasurementValues();
+      Random random = new Random(2);
+      for (TestCase test : getTestcases()) {
+         TestMeasurementValues testValues = new TestMeasurementValues();
+         for (int build = 1; build <= trendBuilds; build++) {
+            testValues.getStatistics().put(build, createStatistic(random, 0));
+         }
+         values.getValues().put(test.toString(), testValues);
+      }
+      localWorkspace.mkdirs();
+      Constants.OBJECTMAPPER.writeValue(new File(localWorkspace, TrendFileUtil.TREND_FILE_NAME), values);
+      return this;
+   }
+}
@@ -0,0 +1,112 @@
+package de.peass.ci.fixture;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.dagere.peass.ci.helper.HistogramValues;
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
+import de.dagere.peass.ci.helper.VisualizationFolderManager;
+import de.dagere.peass.ci.logs.LogFileReader;
+import de.dagere.peass.ci.logs.LogFiles;
+import de.dagere.peass.ci.logs.RTSLogFileReader;
+import de.dagere.peass.ci.logs.rca.RCALevel;
+import de.dagere.peass.ci.logs.rts.RTSLogData;
+import de.dagere.peass.ci.persistence.BuildMeasurementValues;
+import de.dagere.peass.ci.persistence.TestMeasurementValues;
+import de.dagere.peass.ci.persistence.TrendFileUtil;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+/**
+ * Reads the results of a synthetic project with the readers used for visualization. The size defaults to a small project, so the test is fast in the
+ * regular build; production sizes can be checked by -Dpeass.scale.testcases, -Dpeass.scale.vms, -Dpeass.scale.iterations and -Dpeass.scale.trendBuilds.
+ */
+public class TestSyntheticResultScale {
+
+   private static final int TESTCASES = Integer.getInteger("peass.scale.testcases", 25);
+   private static final int VMS = Integer.getInteger("peass.scale.vms", 5);
+   private static final int ITERATIONS = Integer.getInteger("peass.scale.iterations", 20);
+   private static final int TREND_BUILDS = Integer.getInteger("peass.scale.trendBuilds", 100);
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder(new File("target"));
+
+   private SyntheticResultGenerator generator;
+   private VisualizationFolderManager visualizationFolders;
+
+   @Before
+   public void generateResults() throws Exception {
+      generator = new SyntheticResultGenerator(folder.getRoot())
+            .withTestcases(TESTCASES)
+            .withVMs(VMS)
+            .withIterations(ITERATIONS)
+            .withRCATree(2, 3)
+            .withTrendBuilds(TREND_BUILDS)
+            .generateAll();
+      visualizationFolders = new VisualizationFolderManager(folder.getRoot(), SyntheticResultGenerator.PROJECT_NAME, null);
+   }
+
+   @Test
+   public void testMeasurementLogs() {
+      Set<TestCase> tests = new LinkedHashSet<>(generator.getTestcases());
+      LogFileReader reader = new LogFileReader(visualizationFolders, generator.getMeasurementConfig());
+      Map<TestCase, List<LogFiles>> logFiles = reader.readAllTestcases(tests);
+
+      Assert.assertEquals(TESTCASES, logFiles.size());
+      for (List<LogFiles> vmLogs : logFiles.values()) {
+         Assert.assertEquals(VMS, vmLogs.size());
+         Assert.assertTrue(vmLogs.get(0).isPredecessorSuccess());
+         Assert.assertTrue(vmLogs.get(0).isCurrentSuccess());
+      }
+   }
+
+   @Test
+   public void testHistograms() throws Exception {
+      File fullResultsFolder = generator.getResultsFolders().getVersionFullResultsFolder(generator.getMeasurementConfig());
+      MeasurementSummaryCreator summaryCreator = new MeasurementSummaryCreator(generator.getMeasurementConfig(), fullResultsFolder);
+      summaryCreator.setParallelism(0);
+      MeasurementSummary summary = summaryCreator.createSummary(new LinkedHashSet<>(generator.getTestcases()));
+      Map<String, HistogramValues> histograms = summary.getMeasurements();
+
+      Assert.assertEquals(TESTCASES, histograms.size());
+      HistogramValues values = histograms.values().iterator().next();
+      Assert.assertEquals(VMS, values.getValuesCurrentReadable().split(",").length);
+      Assert.assertEquals(VMS, values.getValuesBeforeReadable().split(",").length);
+      Assert.assertEquals(TESTCASES, summary.getTestcases().size());
+   }
+
+   @Test
+   public void testRTSLogs() {
+      RTSLogFileReader reader = new RTSLogFileReader(visualizationFolders, generator.getMeasurementConfig());
+      Map<TestCase, RTSLogData> rtsRuns = reader.getRtsVmRuns(SyntheticResultGenerator.VERSION);
+
+      Assert.assertEquals(TESTCASES, rtsRuns.size());
+   }
+
+   @Test
+   public void testRCATrees() {
+      LogFileReader reader = new LogFileReader(visualizationFolders, generator.getMeasurementConfig());
+      Map<TestCase, List<RCALevel>> rcaTestcases = reader.getRCATestcases();
+
+      Assert.assertEquals(TESTCASES, rcaTestcases.size());
+   }
+
+   @Test
+   public void testTrend() throws Exception {
+      BuildMeasurementValues values = TrendFileUtil.readMeasurementValues(folder.getRoot());
+
+      Assert.assertEquals(TESTCASES, values.getValues().size());
+      for (TestMeasurementValues testValues : values.getValues().values()) {
+         Assert.assertEquals(TREND_BUILDS, testValues.getStatistics().size());
+      }
+   }
+}
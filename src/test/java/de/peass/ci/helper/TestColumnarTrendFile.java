@@ -0,0 +1,89 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dagere.peass.ci.persistence.ColumnarTrendFile;
+import de.dagere.peass.ci.persistence.TrendFingerprint;
+import de.dagere.peass.ci.persistence.TrendModel;
+import de.dagere.peass.ci.persistence.TrendSeries;
+import de.dagere.peass.ci.persistence.TrendStore;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+public class TestColumnarTrendFile {
+
+   private static final File LOCAL_WORKSPACE = new File("target/columnartrend");
+
+   @Before
+   public void cleanTrend() throws IOException {
+      FileUtils.deleteDirectory(LOCAL_WORKSPACE);
+   }
+
+   @Test
+   public void testRoundtrip() throws IOException {
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Map<String, TestcaseStatistic> statistics = new LinkedHashMap<>();
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 2, 0.1, 0.2, 15, -5, true, 100, 100));
+      statistics.put("DemoTest#methodB", new TestcaseStatistic(3, 4, 0.2, 0.3, 20, -5, true, 100, 100));
+      store.append(statistics, 1);
+      store.append(statistics, 2);
+
+      TrendModel model = TrendModel.fromValues(store.readAll());
+      TrendFingerprint fingerprint = TrendFingerprint.of(LOCAL_WORKSPACE);
+      ColumnarTrendFile snapshot = new ColumnarTrendFile(store.getTrendFolder());
+      snapshot.write(fingerprint, model);
+
+      TrendModel read = snapshot.read(fingerprint);
+      MatcherAssert.assertThat(read.getTestcases(), Matchers.contains("DemoTest#methodA", "DemoTest#methodB"));
+      for (String testcase : model.getTestcases()) {
+         TrendSeries expected = model.getSeries(testcase);
+         TrendSeries actual = read.getSeries(testcase);
+         Assert.assertArrayEquals(expected.getBuilds(), actual.getBuilds());
+         Assert.assertArrayEquals(expected.getMeans(), actual.getMeans(), 0.0);
+         Assert.assertArrayEquals(expected.getDeviations(), actual.getDeviations(), 0.0);
+         Assert.assertArrayEquals(expected.getCalls(), actual.getCalls(), 0.0);
+         Assert.assertArrayEquals(expected.getVms(), actual.getVms(), 0.0);
+      }
+   }
+
+   @Test
+   public void testOutdatedSnapshotIgnored() throws IOException {
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Map<String, TestcaseStatistic> statistics = new LinkedHashMap<>();
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 2, 0.1, 0.2, 15, -5, true, 100, 100));
+      store.append(statistics, 1);
+
+      ColumnarTrendFile snapshot = new ColumnarTrendFile(store.getTrendFolder());
+      snapshot.write(TrendFingerprint.of(LOCAL_WORKSPACE), TrendModel.fromValues(store.readAll()));
+
+      store.append(statistics, 2);
+
+      Assert.assertNull(snapshot.read(TrendFingerprint.of(LOCAL_WORKSPACE)));
+   }
+
+   @Test
+   public void testFailedWriteRemovesTemporaryFile() throws IOException {
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Map<String, TestcaseStatistic> statistics = new LinkedHashMap<>();
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 2, 0.1, 0.2, 15, -5, true, 100, 100));
+      store.append(statistics, 1);
+
+      ColumnarTrendFile snapshot = new ColumnarTrendFile(store.getTrendFolder());
+      // A non-empty folder in place of the snapshot makes the move fail
+      Assert.assertTrue(new File(snapshot.getFile(), "blocking").mkdirs());
+
+      Assert.assertThrows(IOException.class, () -> snapshot.write(TrendFingerprint.of(LOCAL_WORKSPACE), TrendModel.fromValues(store.readAll())));
+
+      File[] temporaryFiles = store.getTrendFolder().listFiles((dir, name) -> name.endsWith(".tmp"));
+      MatcherAssert.assertThat(temporaryFiles, Matchers.emptyArray());
+   }
+}
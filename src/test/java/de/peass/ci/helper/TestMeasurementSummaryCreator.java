@@ -0,0 +1,62 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
+import de.dagere.peass.ci.helper.TestcaseSummary;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+public class TestMeasurementSummaryCreator {
+
+   private static final File EXAMPLE_DATA_FOLDER = new File("src/test/resources/demo-results/histogram");
+
+   @Test
+   public void testSummary() {
+      MeasurementConfig measurementConfig = new MeasurementConfig(3);
+      measurementConfig.getExecutionConfig().setVersion("a23e385264c31def8dcda86c3cf64faa698c62d8");
+      measurementConfig.getExecutionConfig().setVersionOld("33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+
+      File fullResultsFolder = new File(EXAMPLE_DATA_FOLDER, "measurement_a23e385264c31def8dcda86c3cf64faa698c62d8_33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+      TestCase test = new TestCase("de.test.CalleeTest", "onlyCallMethod2");
+      MeasurementSummary summary = new MeasurementSummaryCreator(measurementConfig, fullResultsFolder).createSummary(Collections.singleton(test));
+
+      Assert.assertEquals(2, summary.getMeasurements().get("de.test.CalleeTest#onlyCallMethod2").getValuesCurrentReadable().split(",").length);
+      Assert.assertEquals(200, summary.getUpdatedConfigurations().get("de.test.CalleeTest#onlyCallMethod2").getRepetitions());
+
+      Assert.assertEquals(1, summary.getTestcases().size());
+      TestcaseSummary testcaseSummary = summary.getTestcases().get(0);
+      Assert.assertEquals("de.test.CalleeTest#onlyCallMethod2", testcaseSummary.getTestcase().getExecutable());
+      Assert.assertNotNull(testcaseSummary.getNoWarmupStatistic());
+      Assert.assertTrue(testcaseSummary.getTreeJSON().startsWith("{"));
+
+      for (int vmId = 0; vmId < 3; vmId++) {
+         Assert.assertTrue(summary.hasRunStatus(test, vmId));
+      }
+      Assert.assertTrue(summary.isPredecessorRunning(test, 0));
+      Assert.assertFalse(summary.hasRunStatus(test, 3));
+      // The aggregated file and the 5 existing detail files; the detail file of the current version in VM 0 is missing
+      Assert.assertEquals(6, summary.getParsedFiles());
+
+      MeasurementSummaryCreator jaxbCreator = new MeasurementSummaryCreator(measurementConfig, fullResultsFolder);
+      jaxbCreator.setStreaming(false);
+      MeasurementSummary jaxbSummary = jaxbCreator.createSummary(Collections.singleton(test));
+      Assert.assertEquals(jaxbSummary.getMeasurements().get("de.test.CalleeTest#onlyCallMethod2").getValuesCurrentReadable(),
+            summary.getMeasurements().get("de.test.CalleeTest#onlyCallMethod2").getValuesCurrentReadable());
+      Assert.assertEquals(jaxbSummary.getTestcases().get(0).getTreeJSON(), testcaseSummary.getTreeJSON());
+   }
+
+   @Test
+   public void testMeasuredVMs() {
+      MeasurementSummary summary = new MeasurementSummary();
+      summary.setRunStatus(new TestCase("de.test.CalleeTest", "method1"), new boolean[] { true, true, false }, new boolean[] { true, true, true });
+      summary.setRunStatus(new TestCase("de.test.CalleeTest", "method2"), new boolean[] { false, false, false }, new boolean[] { true, false, false });
+
+      Assert.assertEquals(6, summary.getMeasuredVMs());
+   }
+}
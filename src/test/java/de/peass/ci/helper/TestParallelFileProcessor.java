@@ -0,0 +1,74 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import javax.xml.bind.JAXBException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.helper.HistogramValues;
+import de.dagere.peass.ci.helper.MeasurementSummary;
+import de.dagere.peass.ci.helper.MeasurementSummaryCreator;
+import de.dagere.peass.ci.helper.ParallelFileProcessor;
+import de.dagere.peass.config.MeasurementConfig;
+
+public class TestParallelFileProcessor {
+
+   @Test
+   public void testResultOrder() throws ExecutionException {
+      File[] files = new File[50];
+      for (int i = 0; i < files.length; i++) {
+         files[i] = new File(String.format("file_%02d.xml", files.length - 1 - i));
+      }
+
+      List<String> names = new ParallelFileProcessor(8).process(files, file -> {
+         Thread.sleep((long) (Math.random() * 5));
+         return file.getName();
+      });
+
+      Assert.assertEquals(files.length, names.size());
+      for (int i = 0; i < names.size(); i++) {
+         Assert.assertEquals(String.format("file_%02d.xml", i), names.get(i));
+      }
+   }
+
+   @Test
+   public void testException() {
+      File[] files = new File[] { new File("a.xml"), new File("b.xml"), new File("c.xml") };
+
+      ExecutionException exception = Assert.assertThrows(ExecutionException.class, () -> new ParallelFileProcessor(4).process(files, file -> {
+         if (file.getName().equals("b.xml")) {
+            throw new JAXBException("Broken file");
+         }
+         return file.getName();
+      }));
+      Assert.assertTrue(exception.getCause() instanceof JAXBException);
+   }
+
+   @Test
+   public void testSummaryCreatorParallel() {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion("a23e385264c31def8dcda86c3cf64faa698c62d8");
+      measurementConfig.getExecutionConfig().setVersionOld("33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+      File folder = new File("src/test/resources/demo-results/histogram/measurement_a23e385264c31def8dcda86c3cf64faa698c62d8_33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+
+      MeasurementSummary sequential = new MeasurementSummaryCreator(measurementConfig, folder).createSummary(Collections.emptySet());
+
+      MeasurementSummaryCreator parallelCreator = new MeasurementSummaryCreator(measurementConfig, folder);
+      parallelCreator.setParallelism(4);
+      MeasurementSummary parallel = parallelCreator.createSummary(Collections.emptySet());
+
+      Assert.assertEquals(sequential.getMeasurements().keySet(), parallel.getMeasurements().keySet());
+      for (Map.Entry<String, HistogramValues> entry : sequential.getMeasurements().entrySet()) {
+         Assert.assertEquals(entry.getValue().getValuesCurrentReadable(), parallel.getMeasurements().get(entry.getKey()).getValuesCurrentReadable());
+         Assert.assertEquals(entry.getValue().getValuesBeforeReadable(), parallel.getMeasurements().get(entry.getKey()).getValuesBeforeReadable());
+      }
+      Assert.assertEquals(sequential.getUpdatedConfigurations().keySet(), parallel.getUpdatedConfigurations().keySet());
+      Assert.assertEquals(sequential.getTestcases().size(), parallel.getTestcases().size());
+   }
+}
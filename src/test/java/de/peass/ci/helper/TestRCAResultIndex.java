@@ -0,0 +1,96 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.dagere.peass.ci.helper.RCAResultIndex;
+import de.dagere.peass.ci.helper.RCAResultIndex.RCAIndexEntry;
+import de.dagere.peass.ci.helper.RCAResultIndex.RCAStatus;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+public class TestRCAResultIndex {
+
+   private static final TestCase TEST = new TestCase("de.dagere.peass.ExampleTest#test");
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder(new File("target"));
+
+   @Test
+   public void testEntriesArePersisted() throws Exception {
+      File resultFile = new File(folder.getRoot(), "tree/v2/ExampleTest/test.json");
+      FileUtils.writeStringToFile(resultFile, "{\"nodes\": []}", StandardCharsets.UTF_8);
+
+      RCAResultIndex index = new RCAResultIndex(folder.getRoot());
+      index.record("v2", "v1", TEST, RCAStatus.FINISHED, resultFile);
+      index.save();
+      Assert.assertTrue(new File(folder.getRoot(), RCAResultIndex.INDEX_FILE_NAME).exists());
+
+      RCAIndexEntry entry = new RCAResultIndex(folder.getRoot()).getEntry("v2", TEST, resultFile);
+      Assert.assertNotNull(entry);
+      Assert.assertEquals("v1", entry.getVersionOld());
+      Assert.assertEquals(TEST.toString(), entry.getTestcase());
+      Assert.assertEquals(RCAStatus.FINISHED, entry.getStatus());
+      Assert.assertEquals(resultFile.length(), entry.getSize());
+      Assert.assertNotEquals(-1, entry.getChecksum());
+
+      Assert.assertNull(new RCAResultIndex(folder.getRoot()).getEntry("v3", TEST, resultFile));
+   }
+
+   @Test
+   public void testChangedFileIsNotUsed() throws Exception {
+      File resultFile = new File(folder.getRoot(), "tree/v2/ExampleTest/test.json");
+      FileUtils.writeStringToFile(resultFile, "{}", StandardCharsets.UTF_8);
+
+      RCAResultIndex index = new RCAResultIndex(folder.getRoot());
+      index.record("v2", "v1", TEST, RCAStatus.FINISHED, resultFile);
+
+      FileUtils.writeStringToFile(resultFile, "{\"nodes\": []}", StandardCharsets.UTF_8);
+      Assert.assertNull(index.getEntry("v2", TEST, resultFile));
+   }
+
+   @Test
+   public void testTouchedFileIsUsed() throws Exception {
+      File resultFile = new File(folder.getRoot(), "tree/v2/ExampleTest/test.json");
+      FileUtils.writeStringToFile(resultFile, "{\"nodes\": []}", StandardCharsets.UTF_8);
+
+      RCAResultIndex index = new RCAResultIndex(folder.getRoot());
+      index.record("v2", "v1", TEST, RCAStatus.FINISHED, resultFile);
+
+      long touched = resultFile.lastModified() + 10000;
+      Assert.assertTrue(resultFile.setLastModified(touched));
+      RCAIndexEntry entry = index.getEntry("v2", TEST, resultFile);
+      Assert.assertNotNull(entry);
+      Assert.assertEquals(resultFile.lastModified(), entry.getLastModified());
+
+      FileUtils.writeStringToFile(resultFile, "{\"nodes\": {}}", StandardCharsets.UTF_8);
+      Assert.assertTrue(resultFile.setLastModified(touched + 10000));
+      Assert.assertNull(index.getEntry("v2", TEST, resultFile));
+   }
+
+   @Test
+   public void testFailedWithoutResult() throws Exception {
+      File resultFile = new File(folder.getRoot(), "tree/v2/ExampleTest/test.json");
+
+      RCAResultIndex index = new RCAResultIndex(folder.getRoot());
+      index.record("v2", "v1", TEST, RCAStatus.FAILED, resultFile);
+
+      RCAIndexEntry entry = index.getEntry("v2", TEST, resultFile);
+      Assert.assertEquals(RCAStatus.FAILED, entry.getStatus());
+      Assert.assertEquals(-1, entry.getChecksum());
+
+      FileUtils.writeStringToFile(resultFile, "{}", StandardCharsets.UTF_8);
+      Assert.assertNull(index.getEntry("v2", TEST, resultFile));
+   }
+
+   @Test
+   public void testUnreadableIndex() throws Exception {
+      FileUtils.writeStringToFile(new File(folder.getRoot(), RCAResultIndex.INDEX_FILE_NAME), "{ broken", StandardCharsets.UTF_8);
+      Assert.assertEquals(0, new RCAResultIndex(folder.getRoot()).size());
+   }
+}
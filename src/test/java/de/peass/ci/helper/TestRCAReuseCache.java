@@ -0,0 +1,105 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import de.dagere.peass.ci.helper.RCAReuseCache;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+
+public class TestRCAReuseCache {
+
+   private static final String CALLEE = "src/main/java/de/test/Callee.java";
+   private static final String CALLEE_TEST = "src/test/java/de/test/CalleeTest.java";
+   private static final TestCase TEST = new TestCase("de.test.CalleeTest#onlyCallMethod1");
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder(new File("target"));
+
+   private File projectFolder;
+   private File rcaFolder;
+   private final Map<String, Map<String, String>> blobs = new HashMap<>();
+
+   @Before
+   public void initFolders() throws Exception {
+      projectFolder = new File(folder.getRoot(), "demo-project");
+      FileUtils.writeStringToFile(new File(projectFolder, CALLEE), "class Callee {}", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(projectFolder, CALLEE_TEST), "class CalleeTest {}", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(projectFolder, "src/main/java/de/test/Unrelated.java"), "class Unrelated {}", StandardCharsets.UTF_8);
+      rcaFolder = new File(folder.getRoot(), "demo-project_peass/rca");
+
+      addBlobs("v1", "callee-1", "test-1");
+      addBlobs("v2", "callee-2", "test-1");
+      addBlobs("v4", "callee-1", "test-1");
+      addBlobs("v5", "callee-2", "test-1");
+      addBlobs("v6", "callee-3", "test-1");
+   }
+
+   @Test
+   public void testReuseWithUnchangedSources() throws Exception {
+      File resultFile = getResultFile("v2");
+      FileUtils.copyFile(new File("src/test/resources/demo-results/rca/rca_data/b02c92af73e3297be617f4c973a7a63fb603565b/CalleeTest/onlyCallMethod1.json"),
+            resultFile);
+
+      RCAReuseCache cache = createCache();
+      cache.record(TEST, "v2", "v1", resultFile);
+      Assert.assertTrue(new File(rcaFolder, RCAReuseCache.CACHE_FILE_NAME).exists());
+
+      RCAReuseCache loadedCache = createCache();
+      File reusedFile = getResultFile("v5");
+      Assert.assertTrue(loadedCache.reuse(TEST, "v5", "v4", reusedFile));
+
+      JsonNode reused = Constants.OBJECTMAPPER.readTree(reusedFile);
+      Assert.assertEquals("v5", reused.path("measurementConfig").path("executionConfig").path("version").asText());
+      Assert.assertEquals("v4", reused.path("measurementConfig").path("executionConfig").path("versionOld").asText());
+      Assert.assertEquals("de.test.CalleeTest#onlyCallMethod1", reused.path("nodes").path("call").asText());
+   }
+
+   @Test
+   public void testNoReuseWithChangedSources() throws Exception {
+      File resultFile = getResultFile("v2");
+      FileUtils.copyFile(new File("src/test/resources/demo-results/rca/rca_data/b02c92af73e3297be617f4c973a7a63fb603565b/CalleeTest/onlyCallMethod1.json"),
+            resultFile);
+
+      RCAReuseCache cache = createCache();
+      cache.record(TEST, "v2", "v1", resultFile);
+
+      File otherFile = getResultFile("v6");
+      Assert.assertFalse(cache.reuse(TEST, "v6", "v4", otherFile));
+      Assert.assertFalse(otherFile.exists());
+      Assert.assertNull(cache.findReusable(new TestCase("de.test.CalleeTest#other"), "v5", "v4"));
+   }
+
+   private File getResultFile(final String version) {
+      return new File(rcaFolder, "tree/" + version + "/CalleeTest/onlyCallMethod1.json");
+   }
+
+   private void addBlobs(final String version, final String calleeBlob, final String testBlob) {
+      Map<String, String> versionBlobs = new HashMap<>();
+      versionBlobs.put(CALLEE, calleeBlob);
+      versionBlobs.put(CALLEE_TEST, testBlob);
+      blobs.put(version, versionBlobs);
+   }
+
+   private RCAReuseCache createCache() {
+      return new RCAReuseCache(projectFolder, rcaFolder) {
+         @Override
+         protected Map<String, String> getBlobIds(final String version, final List<String> files) {
+            Assert.assertFalse(files.contains("src/main/java/de/test/Unrelated.java"));
+            return blobs.get(version);
+         }
+      };
+   }
+}
@@ -61,6 +61,7 @@ public class TestRCAVisualizer {
       ArgumentCaptor<RCAVisualizationAction> argument = ArgumentCaptor.forClass(RCAVisualizationAction.class);
       Mockito.verify(run).addAction(argument.capture());
       Assert.assertEquals("CalleeTest_onlyCallMethod1", argument.getValue().getDisplayName());
+      Assert.assertTrue(new File(visualizationResultFolder, argument.getValue().getDataFileName()).exists());
 
       File resultFolder = visualizationResultFolder.listFiles()[0];
       File htmlFile = resultFolder.listFiles()[0];
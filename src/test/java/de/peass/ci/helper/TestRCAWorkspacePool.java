@@ -0,0 +1,86 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.dagere.peass.ci.helper.RCAWorkspacePool;
+import de.dagere.peass.folders.PeassFolders;
+
+public class TestRCAWorkspacePool {
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder(new File("target"));
+
+   @Test
+   public void testCopiesAreIsolatedAndMerged() throws Exception {
+      File projectFolder = new File(folder.getRoot(), "demo-project");
+      FileUtils.writeStringToFile(new File(projectFolder, "pom.xml"), "<project/>", StandardCharsets.UTF_8);
+
+      File copyA;
+      File copyB;
+      try (RCAWorkspacePool pool = new RCAWorkspacePool(projectFolder, 2)) {
+         copyA = pool.acquire();
+         copyB = pool.acquire();
+
+         Assert.assertNotEquals(copyA, copyB);
+         Assert.assertEquals(projectFolder.getName(), copyA.getName());
+         Assert.assertTrue(new File(copyA, "pom.xml").exists());
+         Assert.assertTrue(new File(copyB, "pom.xml").exists());
+
+         writeTreeFile(copyA, "ClassA", "testA");
+         writeTreeFile(copyB, "ClassB", "testB");
+         pool.release(copyA);
+         pool.release(copyB);
+
+         File rcaFolder = new File(PeassFolders.getPeassFolder(projectFolder), "rca");
+         Assert.assertTrue(new File(rcaFolder, "tree/v1/ClassA/testA.json").exists());
+         Assert.assertTrue(new File(rcaFolder, "tree/v1/ClassB/testB.json").exists());
+
+         // Released copies are reused instead of copying the project again
+         File reused = pool.acquire();
+         Assert.assertTrue(reused.equals(copyA) || reused.equals(copyB));
+         pool.release(reused);
+      }
+
+      Assert.assertFalse(copyA.exists());
+      Assert.assertFalse(new File(folder.getRoot(), RCAWorkspacePool.WORKSPACE_FOLDER_NAME).exists());
+      Assert.assertTrue(new File(projectFolder, "pom.xml").exists());
+   }
+
+   @Test
+   public void testLogsAreMerged() throws Exception {
+      File projectFolder = new File(folder.getRoot(), "demo-project");
+      FileUtils.writeStringToFile(new File(projectFolder, "pom.xml"), "<project/>", StandardCharsets.UTF_8);
+
+      try (RCAWorkspacePool pool = new RCAWorkspacePool(projectFolder, 2)) {
+         File copyA = pool.acquire();
+         File copyB = pool.acquire();
+
+         writeLogFile(copyA, "ClassA", "testA");
+         writeLogFile(copyB, "ClassB", "testB");
+         pool.release(copyA);
+         pool.release(copyB);
+      }
+
+      File logFolder = new File(PeassFolders.getPeassFolder(projectFolder), "logs");
+      Assert.assertTrue(new File(logFolder, "rcaLogs/v1/ClassA/testA/0/vm_0.txt").exists());
+      Assert.assertTrue(new File(logFolder, "rcaLogs/v1/ClassB/testB/0/vm_0.txt").exists());
+   }
+
+   private void writeTreeFile(final File projectCopy, final String clazz, final String method) throws IOException {
+      File treeFile = new File(PeassFolders.getPeassFolder(projectCopy), "rca/tree/v1/" + clazz + "/" + method + ".json");
+      FileUtils.writeStringToFile(treeFile, "{}", StandardCharsets.UTF_8);
+   }
+
+   private void writeLogFile(final File projectCopy, final String clazz, final String method) throws IOException {
+      File logFile = new File(PeassFolders.getPeassFolder(projectCopy), "logs/rcaLogs/v1/" + clazz + "/" + method + "/0/vm_0.txt");
+      FileUtils.writeStringToFile(logFile, "Log of " + method, StandardCharsets.UTF_8);
+   }
+}
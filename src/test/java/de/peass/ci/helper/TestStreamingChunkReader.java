@@ -0,0 +1,87 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.util.Map;
+
+import javax.xml.bind.JAXBException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.helper.ChunkValues;
+import de.dagere.peass.ci.helper.HistogramReader;
+import de.dagere.peass.ci.helper.HistogramValues;
+import de.dagere.peass.ci.helper.StreamingChunkReader;
+import de.dagere.peass.config.MeasurementConfig;
+
+public class TestStreamingChunkReader {
+
+   private static final File EXAMPLE_DATA_FOLDER = new File("src/test/resources/demo-results/histogram");
+   private static final File UPDATED_FOLDER = new File(EXAMPLE_DATA_FOLDER,
+         "measurement_a23e385264c31def8dcda86c3cf64faa698c62d8_33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+
+   @Test
+   public void testChunkReading() throws Exception {
+      ChunkValues chunk = StreamingChunkReader.readFirstChunk(new File(UPDATED_FOLDER, "CalleeTest_onlyCallMethod2.xml"));
+
+      Assert.assertEquals("de.test.CalleeTest", chunk.getClazz());
+      Assert.assertEquals("onlyCallMethod2", chunk.getMethod());
+      Assert.assertEquals(5, chunk.size());
+      Assert.assertEquals(3, chunk.getMinIterations());
+      Assert.assertEquals(200, chunk.getMinRepetitions());
+   }
+
+   @Test
+   public void testHasResult() throws Exception {
+      File detailFolder = new File(UPDATED_FOLDER, "measurements/de.test.CalleeTest/a23e385264c31def8dcda86c3cf64faa698c62d8/33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+      Assert.assertTrue(StreamingChunkReader.hasResult(new File(detailFolder, "onlyCallMethod2_0_33ce17c04b5218c25c40137d4d09f40fbb3e4f0f.xml")));
+
+      // Aggregated files only contain results inside of chunks
+      Assert.assertFalse(StreamingChunkReader.hasResult(new File(UPDATED_FOLDER, "CalleeTest_onlyCallMethod2.xml")));
+   }
+
+   @Test
+   public void testEqualToJAXB() throws JAXBException {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion("b02c92af73e3297be617f4c973a7a63fb603565b");
+      measurementConfig.getExecutionConfig().setVersionOld("e80d8a1bf747d1f70dc52260616b36cac9e44561");
+      measurementConfig.setWarmup(2);
+      measurementConfig.setIterations(2);
+      measurementConfig.setRepetitions(2);
+
+      checkEquality(measurementConfig, new File(EXAMPLE_DATA_FOLDER, "b02c92af73e3297be617f4c973a7a63fb603565b"));
+   }
+
+   @Test
+   public void testEqualToJAXBUpdatedConfiguration() throws JAXBException {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion("a23e385264c31def8dcda86c3cf64faa698c62d8");
+      measurementConfig.getExecutionConfig().setVersionOld("33ce17c04b5218c25c40137d4d09f40fbb3e4f0f");
+
+      checkEquality(measurementConfig, UPDATED_FOLDER);
+   }
+
+   private void checkEquality(final MeasurementConfig measurementConfig, final File folder) throws JAXBException {
+      HistogramReader streamingReader = new HistogramReader(measurementConfig, folder);
+      Map<String, HistogramValues> streamed = streamingReader.readMeasurements();
+
+      HistogramReader jaxbReader = new HistogramReader(measurementConfig, folder);
+      jaxbReader.setStreaming(false);
+      Map<String, HistogramValues> loaded = jaxbReader.readMeasurements();
+
+      Assert.assertEquals(loaded.keySet(), streamed.keySet());
+      for (Map.Entry<String, HistogramValues> entry : loaded.entrySet()) {
+         HistogramValues streamedValues = streamed.get(entry.getKey());
+         Assert.assertEquals(entry.getValue().getValuesBeforeReadable(), streamedValues.getValuesBeforeReadable());
+         Assert.assertEquals(entry.getValue().getValuesCurrentReadable(), streamedValues.getValuesCurrentReadable());
+         Assert.assertEquals(entry.getValue().getUnit(), streamedValues.getUnit());
+      }
+
+      Assert.assertEquals(jaxbReader.getUpdatedConfigurations().keySet(), streamingReader.getUpdatedConfigurations().keySet());
+      for (Map.Entry<String, MeasurementConfig> entry : jaxbReader.getUpdatedConfigurations().entrySet()) {
+         MeasurementConfig streamedConfig = streamingReader.getUpdatedConfigurations().get(entry.getKey());
+         Assert.assertEquals(entry.getValue().getIterations(), streamedConfig.getIterations());
+         Assert.assertEquals(entry.getValue().getRepetitions(), streamedConfig.getRepetitions());
+      }
+   }
+}
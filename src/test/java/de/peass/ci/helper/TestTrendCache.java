@@ -0,0 +1,58 @@
+package de.peass.ci.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dagere.peass.ci.persistence.TrendCache;
+import de.dagere.peass.ci.persistence.TrendModel;
+import de.dagere.peass.ci.persistence.TrendSeries;
+import de.dagere.peass.ci.persistence.TrendStore;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+/**
+ * Tests that the cached trend model is reused as long as the trend files are unchanged and reloaded after a build has been appended
+ * 
+ * @author DaGeRe
+ *
+ */
+public class TestTrendCache {
+
+   private static final File LOCAL_WORKSPACE = new File("target/trendcache");
+
+   @Before
+   public void cleanTrend() throws IOException {
+      FileUtils.deleteDirectory(LOCAL_WORKSPACE);
+      TrendCache.invalidate(LOCAL_WORKSPACE);
+   }
+
+   @Test
+   public void testReloadAfterAppend() throws IOException {
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Map<String, TestcaseStatistic> statistics = new LinkedHashMap<>();
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 2, 0.1, 0.2, 15, -5, true, 100, 100));
+      store.append(statistics, 1);
+
+      TrendModel model = TrendCache.getModel(LOCAL_WORKSPACE);
+      Assert.assertSame(model, TrendCache.getModel(LOCAL_WORKSPACE));
+
+      store.append(statistics, 2);
+
+      TrendModel reloaded = TrendCache.getModel(LOCAL_WORKSPACE);
+      Assert.assertNotSame(model, reloaded);
+      TrendSeries series = reloaded.getSeries("DemoTest#methodA");
+      Assert.assertArrayEquals(new int[] { 1, 2 }, series.getBuilds());
+      Assert.assertEquals(2, series.getMeans()[1], 0.01);
+      Assert.assertEquals(1.8, series.getLowerBounds()[1], 0.01);
+      Assert.assertEquals(2.2, series.getUpperBounds()[1], 0.01);
+      MatcherAssert.assertThat(reloaded.getTestcases(), Matchers.contains("DemoTest#methodA"));
+   }
+}
@@ -0,0 +1,71 @@
+package de.peass.ci.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.persistence.TrendDownsampler;
+import de.dagere.peass.ci.persistence.TrendSeries;
+
+public class TestTrendDownsampler {
+
+   private static TrendSeries buildSeries(final int size) {
+      int[] builds = new int[size];
+      double[] means = new double[size];
+      double[] deviations = new double[size];
+      double[] calls = new double[size];
+      double[] vms = new double[size];
+      for (int i = 0; i < size; i++) {
+         builds[i] = i + 1;
+         means[i] = (i == size / 2) ? 100 : 10;
+         deviations[i] = 1;
+         calls[i] = 100;
+         vms[i] = 30;
+      }
+      return new TrendSeries(builds, means, deviations, calls, vms);
+   }
+
+   @Test
+   public void testWindow() {
+      TrendSeries window = buildSeries(100).window(10, 19);
+      Assert.assertEquals(10, window.size());
+      Assert.assertEquals(10, window.getBuilds()[0]);
+      Assert.assertEquals(19, window.getBuilds()[9]);
+
+      Assert.assertEquals(0, buildSeries(100).window(200, 300).size());
+   }
+
+   @Test
+   public void testLTTBKeepsOutlierAndBorders() {
+      TrendSeries downsampled = TrendDownsampler.downsample(buildSeries(1000), 50, TrendDownsampler.Mode.LTTB);
+      checkDownsampled(downsampled, 50);
+   }
+
+   @Test
+   public void testMinMaxKeepsOutlierAndBorders() {
+      TrendSeries downsampled = TrendDownsampler.downsample(buildSeries(1000), 50, TrendDownsampler.Mode.MINMAX);
+      checkDownsampled(downsampled, 50);
+   }
+
+   @Test
+   public void testSmallSeriesUnchanged() {
+      TrendSeries series = buildSeries(20);
+      Assert.assertSame(series, TrendDownsampler.downsample(series, 50, TrendDownsampler.Mode.LTTB));
+   }
+
+   private void checkDownsampled(final TrendSeries downsampled, final int maxPoints) {
+      Assert.assertTrue(downsampled.size() <= maxPoints);
+      Assert.assertEquals(1, downsampled.getBuilds()[0]);
+      Assert.assertEquals(1000, downsampled.getBuilds()[downsampled.size() - 1]);
+      boolean containsOutlier = false;
+      for (int i = 0; i < downsampled.size(); i++) {
+         if (i > 0) {
+            Assert.assertTrue(downsampled.getBuilds()[i] > downsampled.getBuilds()[i - 1]);
+         }
+         if (downsampled.getMeans()[i] == 100) {
+            containsOutlier = true;
+            Assert.assertEquals(101, downsampled.getUpperBounds()[i], 0.01);
+         }
+      }
+      Assert.assertTrue(containsOutlier);
+   }
+}
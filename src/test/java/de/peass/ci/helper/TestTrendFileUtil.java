@@ -2,6 +2,10 @@ package de.peass.ci.helper;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -17,9 +21,11 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import de.dagere.peass.ci.persistence.BuildMeasurementValues;
 import de.dagere.peass.ci.persistence.TestMeasurementValues;
 import de.dagere.peass.ci.persistence.TrendFileUtil;
+import de.dagere.peass.ci.persistence.TrendStore;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.measurement.analysis.ProjectStatistics;
 import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
 import hudson.model.Run;
 
 /**
@@ -35,9 +41,11 @@ public class TestTrendFileUtil {
    private static final int VERSION_INDEX = 15;
 
    @Before
-   public void cleanTrendfile() {
+   public void cleanTrendfile() throws IOException {
       File trendFile = new File(LOCAL_WORKSPACE, TrendFileUtil.TREND_FILE_NAME);
       trendFile.delete();
+      new File(LOCAL_WORKSPACE, TrendFileUtil.TREND_FILE_NAME + ".migrated").delete();
+      FileUtils.deleteDirectory(new File(LOCAL_WORKSPACE, TrendStore.TREND_FOLDER_NAME));
    }
 
    @Test
@@ -61,6 +69,59 @@ public class TestTrendFileUtil {
       Assert.assertEquals(testcaseValues.getStatistics().get(VERSION_INDEX + 1).getMeanCurrent(), 2, 0.01);
    }
 
+   @Test
+   public void testLegacyMigration() throws JsonParseException, JsonMappingException, JsonGenerationException, IOException, InterruptedException {
+      BuildMeasurementValues legacyValues = new BuildMeasurementValues();
+      ProjectStatistics simpleStatistics = buildStatistics();
+      legacyValues.addMeasurement(simpleStatistics, VERSION_INDEX - 1);
+      legacyValues.addMeasurement(simpleStatistics, VERSION_INDEX);
+      Constants.OBJECTMAPPER.writeValue(new File(LOCAL_WORKSPACE, TrendFileUtil.TREND_FILE_NAME), legacyValues);
+
+      Run run = Mockito.mock(Run.class);
+      Mockito.when(run.getNumber()).thenReturn(VERSION_INDEX + 1);
+      TrendFileUtil.persistTrend(run, LOCAL_WORKSPACE, simpleStatistics);
+
+      Assert.assertFalse(new File(LOCAL_WORKSPACE, TrendFileUtil.TREND_FILE_NAME).exists());
+
+      BuildMeasurementValues values = TrendFileUtil.readMeasurementValues(LOCAL_WORKSPACE);
+      MatcherAssert.assertThat(values.getValues().keySet(), Matchers.contains("DemoTest#methodA", "DemoTest#methodB"));
+      TestMeasurementValues testcaseValues = values.getValues().get("DemoTest#methodB");
+      MatcherAssert.assertThat(testcaseValues.getStatistics().keySet(), Matchers.contains(VERSION_INDEX - 1, VERSION_INDEX, VERSION_INDEX + 1));
+      Assert.assertEquals(testcaseValues.getStatistics().get(VERSION_INDEX + 1).getMeanCurrent(), 4, 0.01);
+   }
+
+   @Test
+   public void testMigrationOfMovedFile() throws IOException {
+      BuildMeasurementValues legacyValues = new BuildMeasurementValues();
+      legacyValues.addMeasurement(buildStatistics(), VERSION_INDEX);
+      File legacyTrendFile = new File(LOCAL_WORKSPACE, TrendFileUtil.TREND_FILE_NAME);
+      Constants.OBJECTMAPPER.writeValue(legacyTrendFile, legacyValues);
+
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Assert.assertTrue(store.migrate(legacyTrendFile));
+      // A concurrent caller which passed the check before the file was moved
+      Assert.assertFalse(store.migrate(legacyTrendFile));
+
+      MatcherAssert.assertThat(store.readAll().getValues().keySet(), Matchers.contains("DemoTest#methodA", "DemoTest#methodB"));
+   }
+
+   @Test
+   public void testCompaction() throws IOException {
+      TrendStore store = new TrendStore(LOCAL_WORKSPACE);
+      Map<String, TestcaseStatistic> statistics = new LinkedHashMap<>();
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 2, 0.1, 0.2, 15, -5, true, 100, 100));
+      store.append(statistics, VERSION_INDEX + 1);
+      store.append(statistics, VERSION_INDEX);
+      statistics.put("DemoTest#methodA", new TestcaseStatistic(1, 3, 0.1, 0.2, 15, -5, true, 100, 100));
+      store.append(statistics, VERSION_INDEX);
+
+      store.compact();
+
+      TestMeasurementValues testcaseValues = store.readTestcase("DemoTest#methodA");
+      MatcherAssert.assertThat(testcaseValues.getStatistics().keySet(), Matchers.contains(VERSION_INDEX, VERSION_INDEX + 1));
+      Assert.assertEquals(testcaseValues.getStatistics().get(VERSION_INDEX).getMeanCurrent(), 3, 0.01);
+   }
+
    private void checkFirstAddition() throws JsonParseException, JsonMappingException, IOException, InterruptedException {
       BuildMeasurementValues values = TrendFileUtil.readMeasurementValues(LOCAL_WORKSPACE);
 
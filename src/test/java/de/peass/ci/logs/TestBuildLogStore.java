@@ -0,0 +1,114 @@
+package de.peass.ci.logs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dagere.peass.ci.logs.BuildLogStore;
+import de.dagere.peass.ci.logs.LogArchive;
+import de.dagere.peass.ci.logs.LogContent;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+public class TestBuildLogStore {
+
+   private static final File TEST_FOLDER = new File("target/build-log-store");
+
+   @Before
+   public void cleanup() throws IOException {
+      FileUtils.deleteDirectory(TEST_FOLDER);
+   }
+
+   @Test
+   public void testStoreAndRead() throws IOException {
+      File logFile = new File(TEST_FOLDER, "source.txt");
+      FileUtils.writeStringToFile(logFile, "Line 1\nLine 2\n", StandardCharsets.UTF_8);
+
+      BuildLogStore store = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      String name = store.store(logFile, BuildLogStore.createName("measurement", new TestCase("de.test.CalleeTest#onlyCallMethod1"), 0, "abcdef"));
+
+      Assert.assertTrue(name.startsWith("measurement_"));
+      Assert.assertTrue(name.endsWith("_0_abcdef.txt"));
+      Assert.assertFalse(name.contains("#"));
+      Assert.assertTrue(store.exists(name));
+      Assert.assertEquals(14, store.getLength(name));
+      try (InputStream input = store.open(name)) {
+         Assert.assertEquals("Line 1\nLine 2\n", IOUtils.toString(input, StandardCharsets.UTF_8));
+      }
+      Assert.assertEquals("Line 1\nLine 2\n", LogContent.readHead(store, name, "missing"));
+      Assert.assertFalse(LogContent.isTruncated(store, name));
+   }
+
+   @Test
+   public void testMissingLog() throws IOException {
+      BuildLogStore store = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      Assert.assertNull(store.store(new File(TEST_FOLDER, "notExisting.txt"), "log.txt"));
+      Assert.assertFalse(store.exists(null));
+      Assert.assertEquals("missing", LogContent.readHead(store, null, "missing"));
+   }
+
+   @Test
+   public void testTruncation() throws IOException {
+      File logFile = new File(TEST_FOLDER, "source.txt");
+      StringBuilder content = new StringBuilder();
+      while (content.length() <= LogContent.MAX_INLINE_BYTES) {
+         content.append("0123456789abcdef\n");
+      }
+      FileUtils.writeStringToFile(logFile, content.toString(), StandardCharsets.UTF_8);
+
+      BuildLogStore store = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      String name = store.store(logFile, "log.txt");
+
+      Assert.assertTrue(LogContent.isTruncated(store, name));
+      Assert.assertEquals(LogContent.MAX_INLINE_BYTES, LogContent.readHead(store, name, "missing").length());
+   }
+
+   @Test
+   public void testTruncationKeepsCompleteCharacters() throws IOException {
+      File logFile = new File(TEST_FOLDER, "source.txt");
+      StringBuilder content = new StringBuilder();
+      // Every \u20ac has 3 bytes in UTF-8, so the limit of 2^20 bytes splits the character after 349525 * 3 bytes
+      while (content.length() * 3 <= LogContent.MAX_INLINE_BYTES) {
+         content.append('\u20ac');
+      }
+      FileUtils.writeStringToFile(logFile, content.toString(), StandardCharsets.UTF_8);
+
+      BuildLogStore store = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      String name = store.store(logFile, "log.txt");
+
+      String head = LogContent.readHead(store, name, "missing");
+      Assert.assertEquals(LogContent.MAX_INLINE_BYTES / 3, head.length());
+      Assert.assertEquals('\u20ac', head.charAt(head.length() - 1));
+   }
+
+   @Test
+   public void testArchive() throws IOException {
+      File firstLog = new File(TEST_FOLDER, "first.txt");
+      FileUtils.writeStringToFile(firstLog, "First log\n", StandardCharsets.UTF_8);
+      File secondLog = new File(TEST_FOLDER, "second.txt");
+      FileUtils.writeStringToFile(secondLog, "Second log\n", StandardCharsets.UTF_8);
+
+      BuildLogStore store = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      String firstName = store.store(firstLog, "first.txt");
+      store.archive();
+      String secondName = store.store(secondLog, "second.txt");
+      store.archive();
+
+      Assert.assertFalse(new File(store.getLogFolder(), firstName).exists());
+      Assert.assertFalse(new File(store.getLogFolder(), secondName).exists());
+      Assert.assertTrue(new File(store.getLogFolder(), LogArchive.ARCHIVE_FILE_NAME).exists());
+
+      BuildLogStore readStore = new BuildLogStore(new File(TEST_FOLDER, "build"));
+      Assert.assertTrue(readStore.exists(firstName));
+      Assert.assertEquals(10, readStore.getLength(firstName));
+      Assert.assertEquals("First log\n", LogContent.readHead(readStore, firstName, "missing"));
+      Assert.assertEquals("Second log\n", LogContent.readHead(readStore, secondName, "missing"));
+      Assert.assertFalse(readStore.exists("third.txt"));
+   }
+}
@@ -0,0 +1,47 @@
+package de.peass.ci.logs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.logs.ByteRange;
+
+public class TestByteRange {
+
+   @Test
+   public void testNoRange() {
+      Assert.assertNull(ByteRange.parse(null, 100));
+      Assert.assertNull(ByteRange.parse("items=0-10", 100));
+      Assert.assertNull(ByteRange.parse("bytes=0-10,20-30", 100));
+      Assert.assertNull(ByteRange.parse("bytes=abc-10", 100));
+      Assert.assertNull(ByteRange.parse("bytes=20-10", 100));
+   }
+
+   @Test
+   public void testRanges() {
+      ByteRange range = ByteRange.parse("bytes=10-19", 100);
+      Assert.assertEquals(10, range.getStart());
+      Assert.assertEquals(19, range.getEnd());
+      Assert.assertEquals(10, range.getLength());
+
+      ByteRange openRange = ByteRange.parse("bytes=90-", 100);
+      Assert.assertEquals(90, openRange.getStart());
+      Assert.assertEquals(99, openRange.getEnd());
+
+      ByteRange cappedRange = ByteRange.parse("bytes=90-500", 100);
+      Assert.assertEquals(99, cappedRange.getEnd());
+
+      ByteRange suffixRange = ByteRange.parse("bytes=-30", 100);
+      Assert.assertEquals(70, suffixRange.getStart());
+      Assert.assertEquals(99, suffixRange.getEnd());
+
+      ByteRange longSuffixRange = ByteRange.parse("bytes=-300", 100);
+      Assert.assertEquals(0, longSuffixRange.getStart());
+   }
+
+   @Test
+   public void testUnsatisfiable() {
+      Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=100-", 100));
+      Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 100));
+      Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-10", 0));
+   }
+}
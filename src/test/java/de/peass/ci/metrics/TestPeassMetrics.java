@@ -0,0 +1,82 @@
+package de.peass.ci.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.metrics.PeassMetrics;
+
+public class TestPeassMetrics {
+
+   @Test
+   public void testCounters() throws IOException {
+      PeassMetrics metrics = new PeassMetrics();
+      metrics.addMeasurementVMs("demo", 60);
+      metrics.addMeasurementVMs("demo", 20);
+      metrics.addSelectedTests("demo", 3);
+      metrics.addRCARun("other");
+      metrics.addTransferBytes("demo", 2048);
+      metrics.setTrendFileBytes("demo", 100);
+      metrics.setTrendFileBytes("demo", 150);
+
+      String exposition = write(metrics);
+
+      Assert.assertTrue(exposition.contains("# TYPE peass_measurement_vms_total counter\n"));
+      Assert.assertTrue(exposition.contains("peass_measurement_vms_total{job=\"demo\"} 80\n"));
+      Assert.assertTrue(exposition.contains("peass_rts_selected_tests_total{job=\"demo\"} 3\n"));
+      Assert.assertTrue(exposition.contains("peass_rca_runs_total{job=\"other\"} 1\n"));
+      Assert.assertTrue(exposition.contains("peass_transfer_bytes_total{job=\"demo\"} 2048\n"));
+      Assert.assertTrue(exposition.contains("peass_trend_file_bytes{job=\"demo\"} 150\n"));
+   }
+
+   @Test
+   public void testJobFilter() throws IOException {
+      PeassMetrics metrics = new PeassMetrics();
+      metrics.addMeasurementVMs("demo", 60);
+      metrics.addMeasurementVMs("secret", 20);
+      metrics.observeParseLatency("secret", 300);
+      metrics.setTrendFileBytes("secret", 100);
+
+      StringWriter writer = new StringWriter();
+      metrics.write(writer, job -> job.equals("demo"));
+      String exposition = writer.toString();
+
+      Assert.assertTrue(exposition.contains("peass_measurement_vms_total{job=\"demo\"} 60\n"));
+      Assert.assertFalse(exposition.contains("secret"));
+   }
+
+   @Test
+   public void testHistogram() throws IOException {
+      PeassMetrics metrics = new PeassMetrics();
+      metrics.observeParseLatency("demo", 300);
+      metrics.observeParseLatency("demo", 2000);
+      metrics.observeParseLatency("demo", 1000000);
+
+      String exposition = write(metrics);
+
+      Assert.assertTrue(exposition.contains("# TYPE peass_parse_latency_seconds histogram\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_bucket{job=\"demo\",le=\"0.1\"} 0\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_bucket{job=\"demo\",le=\"0.5\"} 1\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_bucket{job=\"demo\",le=\"5.0\"} 2\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_bucket{job=\"demo\",le=\"300.0\"} 2\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_bucket{job=\"demo\",le=\"+Inf\"} 3\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_sum{job=\"demo\"} 1002.3\n"));
+      Assert.assertTrue(exposition.contains("peass_parse_latency_seconds_count{job=\"demo\"} 3\n"));
+   }
+
+   @Test
+   public void testLabelEscaping() throws IOException {
+      PeassMetrics metrics = new PeassMetrics();
+      metrics.addRCARun("folder/job \"quoted\"");
+
+      Assert.assertTrue(write(metrics).contains("peass_rca_runs_total{job=\"folder/job \\\"quoted\\\"\"} 1\n"));
+   }
+
+   private String write(final PeassMetrics metrics) throws IOException {
+      StringWriter writer = new StringWriter();
+      metrics.write(writer);
+      return writer.toString();
+   }
+}
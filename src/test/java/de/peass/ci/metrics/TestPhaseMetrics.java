@@ -0,0 +1,98 @@
+package de.peass.ci.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.dagere.peass.ci.metrics.PhaseMetric;
+import de.dagere.peass.ci.metrics.PhaseMetricsAction;
+import de.dagere.peass.ci.metrics.PhaseMetricsHistory;
+import de.dagere.peass.ci.metrics.PhaseMetricsRecorder;
+import de.dagere.peass.ci.metrics.PhaseMetricsRecorder.Phase;
+
+public class TestPhaseMetrics {
+
+   @Test
+   public void testRecording() throws InterruptedException {
+      PhaseMetricsRecorder recorder = new PhaseMetricsRecorder();
+      try (Phase phase = recorder.start("RTS")) {
+         Thread.sleep(20);
+      }
+      try (Phase phase = recorder.start("Transfer RTS")) {
+         phase.getMetric().addFilesTransferred(3);
+         phase.getMetric().addBytesTransferred(4096);
+      }
+
+      List<PhaseMetric> phases = recorder.getPhases();
+      Assert.assertEquals(2, phases.size());
+      Assert.assertEquals("RTS", phases.get(0).getPhase());
+      Assert.assertTrue(phases.get(0).getDuration() >= 20);
+      Assert.assertNotEquals(0, phases.get(0).getPeakHeap());
+      Assert.assertEquals(3, phases.get(1).getFilesTransferred());
+
+      PhaseMetricsAction action = new PhaseMetricsAction(phases);
+      Assert.assertEquals(4096, action.getTotalBytesTransferred());
+      Assert.assertEquals("4.0 KiB", action.formatBytes(4096));
+   }
+
+   @Test
+   public void testPeakUsageIsNotReset() {
+      Map<String, Long> peaksBefore = new HashMap<>();
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+         MemoryUsage peak = pool.getPeakUsage();
+         if (pool.getType() == MemoryType.HEAP && peak != null) {
+            peaksBefore.put(pool.getName(), peak.getUsed());
+         }
+      }
+
+      PhaseMetricsRecorder recorder = new PhaseMetricsRecorder();
+      try (Phase phase = recorder.start("Measurement summary")) {
+         phase.getMetric().addFilesParsed(1);
+      }
+
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+         Long peakBefore = peaksBefore.get(pool.getName());
+         if (peakBefore != null && pool.isValid()) {
+            Assert.assertTrue("Peak of " + pool.getName() + " was reset", pool.getPeakUsage().getUsed() >= peakBefore);
+         }
+      }
+      Assert.assertTrue(recorder.getPhases().get(0).getPeakHeap() > 0);
+   }
+
+   @Test
+   public void testHistoryAlignsPhases() {
+      SortedMap<Integer, List<PhaseMetric>> metricsByBuild = new TreeMap<>();
+      metricsByBuild.put(2, Arrays.asList(createMetric("RTS", 100, 0), createMetric("RCA", 300, 0)));
+      metricsByBuild.put(1, Arrays.asList(createMetric("RTS", 50, 5), createMetric("Transfer RTS", 10, 0), createMetric("Transfer RTS", 20, 0)));
+      metricsByBuild.put(3, Collections.emptyList());
+
+      PhaseMetricsHistory history = PhaseMetricsHistory.create(metricsByBuild);
+
+      Assert.assertEquals(Arrays.asList(1, 2, 3), history.getBuilds());
+      Assert.assertEquals(Arrays.asList("RTS", "Transfer RTS", "RCA"), Arrays.asList(history.getDurations().keySet().toArray()));
+      Assert.assertEquals(Arrays.asList(50L, 100L, 0L), history.getDurations().get("RTS"));
+      Assert.assertEquals(Arrays.asList(30L, 0L, 0L), history.getDurations().get("Transfer RTS"));
+      Assert.assertEquals(Arrays.asList(0L, 300L, 0L), history.getDurations().get("RCA"));
+      Assert.assertEquals(Arrays.asList(5, 0, 0), history.getFilesParsed());
+      Assert.assertEquals(Arrays.asList(-1L, -1L, -1L), history.getPeakHeap());
+   }
+
+   private PhaseMetric createMetric(final String name, final long duration, final int filesParsed) {
+      PhaseMetric metric = new PhaseMetric(name, 0);
+      metric.setDuration(duration);
+      metric.addFilesParsed(filesParsed);
+      metric.setPeakHeap(-1);
+      return metric;
+   }
+}
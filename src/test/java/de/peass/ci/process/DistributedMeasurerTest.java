@@ -0,0 +1,241 @@
+package de.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.analysis.changes.Change;
+import de.dagere.peass.analysis.changes.ProjectChanges;
+import de.dagere.peass.ci.ContinuousFolderUtil;
+import de.dagere.peass.ci.PeassProcessConfiguration;
+import de.dagere.peass.ci.process.DistributedMeasurer;
+import de.dagere.peass.config.DependencyConfig;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+
+public class DistributedMeasurerTest {
+
+   private static final File DISTRIBUTED_FOLDER = new File("target/distributed");
+   private static final String PROJECT_NAME = "project";
+   private static final String VERSION = "b02c92af73e3297be617f4c973a7a63fb603565b";
+   private static final String VERSION_OLD = "e80d8a1bf747d1f70dc52260616b36cac9e44561";
+
+   @Test
+   public void testPartition() {
+      Set<TestCase> tests = new HashSet<>();
+      for (int i = 0; i < 7; i++) {
+         tests.add(new TestCase("de.Test" + i + "#test"));
+      }
+
+      List<Set<TestCase>> partitions = DistributedMeasurer.partition(tests, 3);
+
+      MatcherAssert.assertThat(partitions, Matchers.hasSize(3));
+      MatcherAssert.assertThat(partitions.get(0), Matchers.hasSize(3));
+      MatcherAssert.assertThat(partitions.get(1), Matchers.hasSize(2));
+      MatcherAssert.assertThat(partitions.get(2), Matchers.hasSize(2));
+      MatcherAssert.assertThat(partitions.get(0), Matchers.contains(new TestCase("de.Test0#test"), new TestCase("de.Test3#test"), new TestCase("de.Test6#test")));
+
+      Set<TestCase> united = new HashSet<>();
+      for (Set<TestCase> partition : partitions) {
+         united.addAll(partition);
+      }
+      MatcherAssert.assertThat(united, Matchers.equalTo(tests));
+   }
+
+   @Test
+   public void testMorePartitionsThanTests() {
+      Set<TestCase> tests = new HashSet<>();
+      tests.add(new TestCase("de.Test#test"));
+
+      List<Set<TestCase>> partitions = DistributedMeasurer.partition(tests, 2);
+
+      MatcherAssert.assertThat(partitions.get(0), Matchers.hasSize(1));
+      MatcherAssert.assertThat(partitions.get(1), Matchers.empty());
+   }
+
+   @Test
+   public void testMergeResults() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(DISTRIBUTED_FOLDER);
+      File localWorkspace = new File(DISTRIBUTED_FOLDER, "local");
+      PeassProcessConfiguration peassConfig = getConfig();
+
+      ResultsFolders localResults = new ResultsFolders(localWorkspace, PROJECT_NAME);
+      ProjectStatistics earlierStatistics = new ProjectStatistics();
+      earlierStatistics.addMeasurement(VERSION, new TestCase("de.EarlierTest#test"), new TestcaseStatistic(1, 2, 0.1, 0.2, 2, -5, true, 100, 100));
+      earlierStatistics.addMeasurement(VERSION_OLD, new TestCase("de.OldTest#test"), new TestcaseStatistic(1, 2, 0.1, 0.2, 2, -5, true, 100, 100));
+      writeJSON(localResults.getStatisticsFile(), earlierStatistics);
+
+      List<FakeMeasurement> measurements = Arrays.asList(createNodeResults(peassConfig, "nodeA", new TestCase("de.TestA#test")),
+            createNodeResults(peassConfig, "nodeB", new TestCase("de.TestB#test")));
+
+      new DistributedMeasurer(peassConfig, measurements.get(0).getWorkspace(), localWorkspace, PROJECT_NAME, "job", TaskListener.NULL)
+            .mergeResults(measurements);
+
+      ProjectStatistics statistics = Constants.OBJECTMAPPER.readValue(localResults.getStatisticsFile(), ProjectStatistics.class);
+      MatcherAssert.assertThat(statistics.getStatistics().get(VERSION).keySet(),
+            Matchers.containsInAnyOrder(new TestCase("de.TestA#test"), new TestCase("de.TestB#test")));
+      MatcherAssert.assertThat(statistics.getStatistics().get(VERSION_OLD).keySet(), Matchers.contains(new TestCase("de.OldTest#test")));
+
+      ProjectChanges changes = Constants.OBJECTMAPPER.readValue(localResults.getChangeFile(), ProjectChanges.class);
+      MatcherAssert.assertThat(changes.getVersion(VERSION).getTestcaseChanges().keySet(), Matchers.containsInAnyOrder("de.TestA", "de.TestB"));
+
+      String log = FileUtils.readFileToString(localResults.getMeasurementLogFile(VERSION, VERSION_OLD), StandardCharsets.UTF_8);
+      MatcherAssert.assertThat(log, Matchers.containsString("Results of nodeA\nMeasured de.TestA#test"));
+      MatcherAssert.assertThat(log, Matchers.containsString("Results of nodeB\nMeasured de.TestB#test"));
+
+      File fullResultsFolder = localResults.getVersionFullResultsFolder(peassConfig.getMeasurementConfig());
+      Assert.assertTrue(new File(fullResultsFolder, "TestA_test.xml").exists());
+      Assert.assertTrue(new File(fullResultsFolder, "TestB_test.xml").exists());
+   }
+
+   @Test
+   public void testClearVersionResults() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(DISTRIBUTED_FOLDER);
+      PeassProcessConfiguration peassConfig = getConfig();
+      FakeMeasurement earlierBuild = createNodeResults(peassConfig, "nodeA", new TestCase("de.TestA#test"));
+
+      MeasurementConfig otherVersionConfig = new MeasurementConfig(2);
+      otherVersionConfig.getExecutionConfig().setVersion(VERSION_OLD);
+      otherVersionConfig.getExecutionConfig().setVersionOld("0000000000000000000000000000000000000000");
+      ResultsFolders nodeResults = new ResultsFolders(ContinuousFolderUtil.getLocalFolder(new File(earlierBuild.getWorkspace().getRemote())), PROJECT_NAME);
+      File otherVersionResult = new File(nodeResults.getVersionFullResultsFolder(otherVersionConfig), "TestA_test.xml");
+      FileUtils.writeStringToFile(otherVersionResult, "<kopemedata/>", StandardCharsets.UTF_8);
+
+      DistributedMeasurer.clearVersionResults(earlierBuild.getWorkspace(), PROJECT_NAME, peassConfig.getMeasurementConfig());
+
+      Assert.assertFalse(nodeResults.getVersionFullResultsFolder(peassConfig.getMeasurementConfig()).exists());
+      Assert.assertFalse(nodeResults.getStatisticsFile().exists());
+      Assert.assertFalse(nodeResults.getChangeFile().exists());
+      Assert.assertFalse(nodeResults.getMeasurementLogFile(VERSION, VERSION_OLD).exists());
+      Assert.assertTrue(otherVersionResult.exists());
+   }
+
+   @Test
+   public void testFailureCancelsBeforeRelease() throws IOException {
+      FileUtils.deleteDirectory(DISTRIBUTED_FOLDER);
+      FakeMeasurement running = new FakeMeasurement("running", new FilePath(new File(DISTRIBUTED_FOLDER, "running")), false);
+      FakeMeasurement failing = new FakeMeasurement("failing", new FilePath(new File(DISTRIBUTED_FOLDER, "failing")), true);
+      DistributedMeasurer measurer = new DistributedMeasurer(getConfig(), running.getWorkspace(), new File(DISTRIBUTED_FOLDER, "local"), PROJECT_NAME, "job",
+            TaskListener.NULL);
+
+      IOException exception = Assertions.assertThrows(IOException.class, () -> measurer.measure(Arrays.asList(running, failing)));
+
+      Assert.assertEquals("Node failing went offline", exception.getMessage());
+      Assert.assertTrue(running.cancelled);
+      Assert.assertTrue(running.released);
+      Assert.assertTrue(failing.released);
+      Assert.assertFalse("A node must not be released while its measurement is running", running.releasedWhileRunning);
+   }
+
+   private PeassProcessConfiguration getConfig() {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion(VERSION);
+      measurementConfig.getExecutionConfig().setVersionOld(VERSION_OLD);
+      return new PeassProcessConfiguration(false, measurementConfig, new DependencyConfig(1, false), null, false, false, false);
+   }
+
+   /**
+    * Creates the results of one node in the folder layout of the node workspace, i.e. beside the project folder
+    */
+   private FakeMeasurement createNodeResults(final PeassProcessConfiguration peassConfig, final String nodeName, final TestCase test) throws IOException {
+      File nodeWorkspace = new File(DISTRIBUTED_FOLDER, nodeName + "/" + PROJECT_NAME);
+      ResultsFolders nodeResults = new ResultsFolders(ContinuousFolderUtil.getLocalFolder(nodeWorkspace), PROJECT_NAME);
+
+      ProjectStatistics statistics = new ProjectStatistics();
+      statistics.addMeasurement(VERSION, test, new TestcaseStatistic(1, 2, 0.1, 0.2, 2, -5, true, 100, 100));
+      writeJSON(nodeResults.getStatisticsFile(), statistics);
+
+      ProjectChanges changes = new ProjectChanges();
+      changes.addChange(test, VERSION, new Change("diff", test.getMethod()));
+      writeJSON(nodeResults.getChangeFile(), changes);
+
+      FileUtils.writeStringToFile(nodeResults.getMeasurementLogFile(VERSION, VERSION_OLD), "Measured " + test, StandardCharsets.UTF_8);
+      File resultFile = new File(nodeResults.getVersionFullResultsFolder(peassConfig.getMeasurementConfig()),
+            test.getClazz().substring(test.getClazz().lastIndexOf('.') + 1) + "_" + test.getMethod() + ".xml");
+      FileUtils.writeStringToFile(resultFile, "<kopemedata/>", StandardCharsets.UTF_8);
+
+      return new FakeMeasurement(nodeName, new FilePath(nodeWorkspace), false);
+   }
+
+   private void writeJSON(final File file, final Object value) throws IOException {
+      file.getParentFile().mkdirs();
+      Constants.OBJECTMAPPER.writeValue(file, value);
+   }
+
+   /**
+    * A measurement which either fails at once or runs until it is cancelled
+    */
+   private static class FakeMeasurement implements DistributedMeasurer.NodeMeasurement {
+      private final String nodeName;
+      private final FilePath workspace;
+      private final boolean fails;
+      private final CountDownLatch cancellation = new CountDownLatch(1);
+      private volatile boolean measuring;
+      private volatile boolean cancelled;
+      private volatile boolean released;
+      private volatile boolean releasedWhileRunning;
+
+      FakeMeasurement(final String nodeName, final FilePath workspace, final boolean fails) {
+         this.nodeName = nodeName;
+         this.workspace = workspace;
+         this.fails = fails;
+      }
+
+      @Override
+      public String getNodeName() {
+         return nodeName;
+      }
+
+      @Override
+      public FilePath getWorkspace() {
+         return workspace;
+      }
+
+      @Override
+      public boolean measure() throws IOException, InterruptedException {
+         measuring = true;
+         try {
+            if (fails) {
+               throw new IOException("Node " + nodeName + " went offline");
+            }
+            // Like a remote measurement, the measurement takes some time to end after the cancellation
+            cancellation.await(1, TimeUnit.MINUTES);
+            Thread.sleep(50);
+            return true;
+         } finally {
+            measuring = false;
+         }
+      }
+
+      @Override
+      public void cancel() {
+         cancelled = true;
+         cancellation.countDown();
+      }
+
+      @Override
+      public void release() {
+         releasedWhileRunning |= measuring;
+         released = true;
+      }
+   }
+}
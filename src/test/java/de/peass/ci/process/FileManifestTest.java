@@ -0,0 +1,65 @@
+package de.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.ci.process.FileManifest;
+import de.dagere.peass.ci.process.ResultTransfer;
+import de.dagere.peass.ci.remote.RemoteManifestCreator;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+
+public class FileManifestTest {
+
+   private static final File REMOTE_FOLDER = new File("target/manifest/remote");
+   private static final File LOCAL_FOLDER = new File("target/manifest/local");
+
+   @BeforeEach
+   public void createFolders() throws IOException {
+      FileUtils.deleteDirectory(new File("target/manifest"));
+      FileUtils.write(new File(REMOTE_FOLDER, "results/statistics.json"), "{}", StandardCharsets.UTF_8);
+      FileUtils.write(new File(REMOTE_FOLDER, "logs/measure.txt"), "Measurement", StandardCharsets.UTF_8);
+      FileUtils.write(new File(REMOTE_FOLDER, "project/.git/HEAD"), "ref: refs/heads/main", StandardCharsets.UTF_8);
+      FileUtils.copyDirectory(REMOTE_FOLDER, LOCAL_FOLDER, true);
+   }
+
+   @Test
+   public void testUnchanged() throws IOException, InterruptedException {
+      FileManifest manifest = new RemoteManifestCreator(ResultTransfer.ALL_FILES, "").invoke(REMOTE_FOLDER, null);
+
+      Assert.assertEquals(3, manifest.getFiles().size());
+      Assert.assertTrue(manifest.getFiles().containsKey("project/.git/HEAD"));
+      Assert.assertTrue(manifest.getChangedFiles(LOCAL_FOLDER).isEmpty());
+   }
+
+   @Test
+   public void testChangedAndNewFiles() throws IOException, InterruptedException {
+      FileUtils.write(new File(REMOTE_FOLDER, "logs/measure.txt"), "Measurement finished", StandardCharsets.UTF_8);
+      FileUtils.write(new File(REMOTE_FOLDER, "logs/rca.txt"), "RCA", StandardCharsets.UTF_8);
+
+      FileManifest manifest = new RemoteManifestCreator(ResultTransfer.ALL_FILES, "").invoke(REMOTE_FOLDER, null);
+      List<String> changedFiles = manifest.getChangedFiles(LOCAL_FOLDER);
+
+      MatcherAssert.assertThat(changedFiles, Matchers.containsInAnyOrder("logs/measure.txt", "logs/rca.txt"));
+   }
+
+   @Test
+   public void testTransferredBytesOfFullCopy() throws IOException, InterruptedException {
+      FileUtils.write(new File(LOCAL_FOLDER, "logs/old.txt"), "Only present on the controller", StandardCharsets.UTF_8);
+
+      ResultTransfer transfer = new ResultTransfer(new FilePath(REMOTE_FOLDER), LOCAL_FOLDER, TaskListener.NULL, false);
+      Assert.assertEquals(3, transfer.transfer(ResultTransfer.ALL_FILES));
+
+      long remoteSize = FileUtils.sizeOfDirectory(REMOTE_FOLDER);
+      Assert.assertEquals(remoteSize, transfer.getTransferredBytes());
+   }
+}
@@ -0,0 +1,110 @@
+package de.peass.ci.process;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.ci.process.MeasurementPlan;
+import de.dagere.peass.ci.process.MeasurementPlanner;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+
+public class MeasurementPlannerTest {
+
+   private static final TestCase FAST = new TestCase("de.Test#fast");
+   private static final TestCase SLOW = new TestCase("de.Test#slow");
+   private static final TestCase CHANGED = new TestCase("de.Test#changed");
+   private static final TestCase NEW = new TestCase("de.Test#new");
+
+   private static final long CALL_OVERHEAD = 10000;
+
+   private final Map<TestCase, Long> vmDurations = new HashMap<>();
+   private final Map<TestCase, TestcaseStatistic> lastStatistics = new HashMap<>();
+
+   public MeasurementPlannerTest() {
+      vmDurations.put(FAST, 1000L);
+      vmDurations.put(SLOW, 10000L);
+      vmDurations.put(CHANGED, 5000L);
+      lastStatistics.put(FAST, createStatistic(0.5));
+      lastStatistics.put(SLOW, createStatistic(1.0));
+      lastStatistics.put(CHANGED, createStatistic(20.0));
+   }
+
+   @Test
+   public void testOrderAndPrediction() {
+      MeasurementPlan plan = new MeasurementPlanner(new MeasurementConfig(10), vmDurations, lastStatistics, 0, CALL_OVERHEAD).plan(getTests());
+
+      MatcherAssert.assertThat(plan.getVMs().keySet(), Matchers.contains(NEW, SLOW, CHANGED, FAST));
+      MatcherAssert.assertThat(plan.getVMs().values(), Matchers.everyItem(Matchers.is(10)));
+      // The duration of the new test is predicted by the mean of the known tests
+      MatcherAssert.assertThat(plan.getPredictedDuration(), Matchers.is(10 * (1000L + 10000L + 5000L + 16000L / 3)));
+   }
+
+   @Test
+   public void testBudgetTrimsLowRiskTests() {
+      long budget = 150000;
+      MeasurementPlan plan = new MeasurementPlanner(new MeasurementConfig(10), vmDurations, lastStatistics, budget, CALL_OVERHEAD).plan(getTests());
+
+      MatcherAssert.assertThat(plan.getVMs().get(NEW), Matchers.is(10));
+      MatcherAssert.assertThat(plan.getVMs().get(CHANGED), Matchers.is(10));
+      MatcherAssert.assertThat(plan.getVMs().get(FAST), Matchers.is(MeasurementPlanner.MIN_VMS));
+      MatcherAssert.assertThat(plan.getVMs().get(SLOW), Matchers.is(MeasurementPlanner.MIN_VMS));
+      // One additional call measures the trimmed tests
+      MatcherAssert.assertThat(plan.getPredictedDuration(), Matchers.is(10 * (5000L + 16000L / 3) + 2 * (10000L + 1000L) + CALL_OVERHEAD));
+      MatcherAssert.assertThat(plan.getPredictedDuration(), Matchers.lessThanOrEqualTo(budget));
+
+      // The trimmed tests are measured after the other tests, so there is one segment per count of VMs
+      List<MeasurementPlan.Segment> segments = plan.getSegments();
+      MatcherAssert.assertThat(segments, Matchers.hasSize(2));
+      MatcherAssert.assertThat(segments.get(0).getTests(), Matchers.contains(NEW, CHANGED));
+      MatcherAssert.assertThat(segments.get(1).getTests(), Matchers.contains(SLOW, FAST));
+      MatcherAssert.assertThat(segments.get(1).getVMs(), Matchers.is(MeasurementPlanner.MIN_VMS));
+   }
+
+   @Test
+   public void testTrimmedVMsAreRoundedToLevels() {
+      long budget = 180000;
+      MeasurementPlan plan = new MeasurementPlanner(new MeasurementConfig(10), vmDurations, lastStatistics, budget, CALL_OVERHEAD).plan(getTests());
+
+      // FAST needs to lose more than the half of its VMs, SLOW only 4 VMs, which are rounded to the half
+      MatcherAssert.assertThat(plan.getVMs().get(FAST), Matchers.is(MeasurementPlanner.MIN_VMS));
+      MatcherAssert.assertThat(plan.getVMs().get(SLOW), Matchers.is(5));
+      MatcherAssert.assertThat(plan.getPredictedDuration(), Matchers.is(10 * (5000L + 16000L / 3) + 5 * 10000L + 2 * 1000L + 2 * CALL_OVERHEAD));
+
+      List<MeasurementPlan.Segment> segments = plan.getSegments();
+      MatcherAssert.assertThat(segments, Matchers.hasSize(3));
+      MatcherAssert.assertThat(segments.get(1).getTests(), Matchers.contains(SLOW));
+      MatcherAssert.assertThat(segments.get(2).getTests(), Matchers.contains(FAST));
+   }
+
+   @Test
+   public void testOneSegmentWithoutBudget() {
+      MeasurementPlan plan = new MeasurementPlanner(new MeasurementConfig(10), vmDurations, lastStatistics, 0, CALL_OVERHEAD).plan(getTests());
+
+      MatcherAssert.assertThat(plan.getSegments(), Matchers.hasSize(1));
+      MatcherAssert.assertThat(plan.getSegments().get(0).getTests(), Matchers.contains(NEW, SLOW, CHANGED, FAST));
+   }
+
+   private Set<TestCase> getTests() {
+      Set<TestCase> tests = new LinkedHashSet<>();
+      tests.add(FAST);
+      tests.add(SLOW);
+      tests.add(CHANGED);
+      tests.add(NEW);
+      return tests;
+   }
+
+   private TestcaseStatistic createStatistic(final double tvalue) {
+      TestcaseStatistic statistic = new TestcaseStatistic();
+      statistic.setVMs(10);
+      statistic.setTvalue(tvalue);
+      return statistic;
+   }
+}
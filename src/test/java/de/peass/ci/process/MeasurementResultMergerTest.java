@@ -0,0 +1,135 @@
+package de.peass.ci.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.analysis.changes.Change;
+import de.dagere.peass.analysis.changes.ProjectChanges;
+import de.dagere.peass.ci.ContinuousFolderUtil;
+import de.dagere.peass.ci.PeassProcessConfiguration;
+import de.dagere.peass.ci.process.MeasurementResultMerger;
+import de.dagere.peass.config.DependencyConfig;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.measurement.analysis.ProjectStatistics;
+import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
+import de.dagere.peass.utils.Constants;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+
+public class MeasurementResultMergerTest {
+
+   private static final File MERGE_FOLDER = new File("target/merge");
+   private static final String PROJECT_NAME = "project";
+   private static final String VERSION = "b02c92af73e3297be617f4c973a7a63fb603565b";
+   private static final String VERSION_OLD = "e80d8a1bf747d1f70dc52260616b36cac9e44561";
+
+   private static final TestCase TEST_A = new TestCase("de.TestA#test");
+   private static final TestCase TEST_B = new TestCase("de.TestB#test");
+
+   /**
+    * Two segments are measured one after another in the same workspace; the second call replaces the statistics, changes and log of the first call and
+    * removes its result file, like Peass does when it starts measuring a version.
+    */
+   @Test
+   public void testTwoSegmentsInOneWorkspace() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(MERGE_FOLDER);
+      File localWorkspace = new File(MERGE_FOLDER, "local");
+      File workspace = new File(MERGE_FOLDER, "workspace/" + PROJECT_NAME);
+      PeassProcessConfiguration peassConfig = getConfig();
+      ResultsFolders workspaceResults = new ResultsFolders(ContinuousFolderUtil.getLocalFolder(workspace), PROJECT_NAME);
+
+      MeasurementResultMerger merger = new MeasurementResultMerger(peassConfig, localWorkspace, PROJECT_NAME, TaskListener.NULL);
+      writeSegmentResults(peassConfig, workspaceResults, TEST_A);
+      merger.add("segment 1 (2 VMs)", new FilePath(workspace));
+
+      FileUtils.deleteDirectory(workspaceResults.getVersionFullResultsFolder(peassConfig.getMeasurementConfig()));
+      writeSegmentResults(peassConfig, workspaceResults, TEST_B);
+      merger.add("segment 2 (1 VMs)", new FilePath(workspace));
+      merger.write();
+
+      ResultsFolders localResults = new ResultsFolders(localWorkspace, PROJECT_NAME);
+      ProjectStatistics statistics = Constants.OBJECTMAPPER.readValue(localResults.getStatisticsFile(), ProjectStatistics.class);
+      MatcherAssert.assertThat(statistics.getStatistics().get(VERSION).keySet(), Matchers.containsInAnyOrder(TEST_A, TEST_B));
+
+      ProjectChanges changes = Constants.OBJECTMAPPER.readValue(localResults.getChangeFile(), ProjectChanges.class);
+      MatcherAssert.assertThat(changes.getVersion(VERSION).getTestcaseChanges().keySet(), Matchers.containsInAnyOrder("de.TestA", "de.TestB"));
+
+      String log = FileUtils.readFileToString(localResults.getMeasurementLogFile(VERSION, VERSION_OLD), StandardCharsets.UTF_8);
+      MatcherAssert.assertThat(log, Matchers.containsString("Results of segment 1 (2 VMs)\nMeasured de.TestA#test"));
+      MatcherAssert.assertThat(log, Matchers.containsString("Results of segment 2 (1 VMs)\nMeasured de.TestB#test"));
+
+      File fullResultsFolder = localResults.getVersionFullResultsFolder(peassConfig.getMeasurementConfig());
+      Assert.assertTrue(new File(fullResultsFolder, "TestA_test.xml").exists());
+      Assert.assertTrue(new File(fullResultsFolder, "TestB_test.xml").exists());
+   }
+
+   /**
+    * The changes file of the second call still lists the method of the first call, as the calls share the changes file of the version
+    */
+   @Test
+   public void testOverlappingMethod() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(MERGE_FOLDER);
+      File localWorkspace = new File(MERGE_FOLDER, "local");
+      File workspace = new File(MERGE_FOLDER, "workspace/" + PROJECT_NAME);
+      PeassProcessConfiguration peassConfig = getConfig();
+      ResultsFolders workspaceResults = new ResultsFolders(ContinuousFolderUtil.getLocalFolder(workspace), PROJECT_NAME);
+      TestCase otherMethod = new TestCase("de.TestA#otherTest");
+
+      MeasurementResultMerger merger = new MeasurementResultMerger(peassConfig, localWorkspace, PROJECT_NAME, TaskListener.NULL);
+      writeSegmentResults(peassConfig, workspaceResults, TEST_A);
+      merger.add("segment 1 (2 VMs)", new FilePath(workspace));
+
+      writeSegmentResults(peassConfig, workspaceResults, otherMethod);
+      ProjectChanges changes = new ProjectChanges();
+      changes.addChange(TEST_A, VERSION, new Change("diff", TEST_A.getMethod()));
+      changes.addChange(otherMethod, VERSION, new Change("diff", otherMethod.getMethod()));
+      writeJSON(workspaceResults.getChangeFile(), changes);
+      merger.add("segment 2 (1 VMs)", new FilePath(workspace));
+      merger.write();
+
+      ResultsFolders localResults = new ResultsFolders(localWorkspace, PROJECT_NAME);
+      ProjectChanges merged = Constants.OBJECTMAPPER.readValue(localResults.getChangeFile(), ProjectChanges.class);
+      List<Change> classChanges = merged.getVersion(VERSION).getTestcaseChanges().get("de.TestA");
+      MatcherAssert.assertThat(classChanges, Matchers.hasSize(2));
+      MatcherAssert.assertThat(Arrays.asList(classChanges.get(0).getMethod(), classChanges.get(1).getMethod()),
+            Matchers.containsInAnyOrder("test", "otherTest"));
+   }
+
+   private PeassProcessConfiguration getConfig() {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion(VERSION);
+      measurementConfig.getExecutionConfig().setVersionOld(VERSION_OLD);
+      return new PeassProcessConfiguration(false, measurementConfig, new DependencyConfig(1, false), null, false, false, false);
+   }
+
+   private void writeSegmentResults(final PeassProcessConfiguration peassConfig, final ResultsFolders results, final TestCase test) throws IOException {
+      ProjectStatistics statistics = new ProjectStatistics();
+      statistics.addMeasurement(VERSION, test, new TestcaseStatistic(1, 2, 0.1, 0.2, 2, -5, true, 100, 100));
+      writeJSON(results.getStatisticsFile(), statistics);
+
+      ProjectChanges changes = new ProjectChanges();
+      changes.addChange(test, VERSION, new Change("diff", test.getMethod()));
+      writeJSON(results.getChangeFile(), changes);
+
+      FileUtils.writeStringToFile(results.getMeasurementLogFile(VERSION, VERSION_OLD), "Measured " + test, StandardCharsets.UTF_8);
+      File resultFile = new File(results.getVersionFullResultsFolder(peassConfig.getMeasurementConfig()),
+            test.getClazz().substring(test.getClazz().lastIndexOf('.') + 1) + "_" + test.getMethod() + ".xml");
+      FileUtils.writeStringToFile(resultFile, "<kopemedata/>", StandardCharsets.UTF_8);
+   }
+
+   private void writeJSON(final File file, final Object value) throws IOException {
+      file.getParentFile().mkdirs();
+      Constants.OBJECTMAPPER.writeValue(file, value);
+   }
+}
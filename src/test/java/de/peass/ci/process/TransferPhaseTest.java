@@ -0,0 +1,39 @@
+package de.peass.ci.process;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.ci.process.TransferPhase;
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.folders.ResultsFolders;
+
+public class TransferPhaseTest {
+
+   private static final File LOCAL_WORKSPACE = new File("target/transferphase");
+
+   @Test
+   public void testPhaseIncludes() {
+      MeasurementConfig measurementConfig = new MeasurementConfig(2);
+      measurementConfig.getExecutionConfig().setVersion("000002");
+      measurementConfig.getExecutionConfig().setVersionOld("000001");
+      ResultsFolders results = new ResultsFolders(LOCAL_WORKSPACE, "demo-project");
+
+      List<String> rtsIncludes = Arrays.asList(TransferPhase.RTS.getIncludes(LOCAL_WORKSPACE, "demo-project", measurementConfig).split(","));
+      MatcherAssert.assertThat(rtsIncludes, Matchers.hasItem(Matchers.endsWith(results.getDependencyFile().getName())));
+      MatcherAssert.assertThat(rtsIncludes, Matchers.not(Matchers.hasItem(Matchers.endsWith(results.getStatisticsFile().getName()))));
+      MatcherAssert.assertThat(rtsIncludes, Matchers.not(Matchers.hasItem("demo-project/**")));
+
+      List<String> measurementIncludes = Arrays.asList(TransferPhase.MEASUREMENT.getIncludes(LOCAL_WORKSPACE, "demo-project", measurementConfig).split(","));
+      MatcherAssert.assertThat(measurementIncludes, Matchers.hasItem(Matchers.endsWith(results.getStatisticsFile().getName())));
+      MatcherAssert.assertThat(measurementIncludes, Matchers.hasItem(Matchers.endsWith(results.getVersionFullResultsFolder(measurementConfig).getName() + "/**")));
+      MatcherAssert.assertThat(measurementIncludes, Matchers.not(Matchers.hasItem("demo-project_peass/rca/**")));
+
+      List<String> rcaIncludes = Arrays.asList(TransferPhase.RCA.getIncludes(LOCAL_WORKSPACE, "demo-project", measurementConfig).split(","));
+      MatcherAssert.assertThat(rcaIncludes, Matchers.hasItem("demo-project_peass/rca/**"));
+   }
+}
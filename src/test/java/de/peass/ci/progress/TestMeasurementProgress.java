@@ -0,0 +1,126 @@
+package de.peass.ci.progress;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.dagere.peass.ci.progress.MeasurementProgress;
+import de.dagere.peass.ci.progress.MeasurementProgressAction;
+import de.dagere.peass.ci.progress.MeasurementProgressAction.TestProgress;
+import de.dagere.peass.ci.remote.MeasurementProgressWatcher;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.folders.PeassFolders;
+
+public class TestMeasurementProgress {
+
+   private static final String VERSION = "v2";
+   private static final String VERSION_OLD = "v1";
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder(new File("target"));
+
+   @Test
+   public void testWatcherSendsChangedTestsInOneBatch() {
+      File projectFolder = new File(folder.getRoot(), "project");
+      File measureLogFolder = getMeasureLogFolder(projectFolder);
+      TestCase method1 = new TestCase("de.test.CalleeTest#method1");
+      TestCase method2 = new TestCase("de.test.CalleeTest#method2");
+      Set<TestCase> tests = new LinkedHashSet<>(Arrays.asList(method1, method2, new TestCase("de.test.CalleeTest#method3")));
+      createVMFolder(measureLogFolder, method1, 0, VERSION_OLD);
+      createVMFolder(measureLogFolder, method1, 0, VERSION);
+      createVMFolder(measureLogFolder, method1, 1, VERSION_OLD);
+      createVMFolder(measureLogFolder, method2, 0, VERSION_OLD);
+
+      List<List<MeasurementProgress>> batches = new ArrayList<>();
+      MeasurementProgressWatcher watcher = new MeasurementProgressWatcher(new PeassFolders(projectFolder), VERSION, tests, 3, batches::add);
+      watcher.close();
+
+      Assert.assertEquals(1, batches.size());
+      List<MeasurementProgress> batch = batches.get(0);
+      Assert.assertEquals(2, batch.size());
+      Assert.assertEquals("de.test.CalleeTest#method1", batch.get(0).getTestcase());
+      Assert.assertEquals(2, batch.get(0).getStartedVMs());
+      Assert.assertEquals(3, batch.get(0).getVms());
+      Assert.assertEquals(1, batch.get(1).getStartedVMs());
+
+      watcher.close();
+      Assert.assertEquals("Unchanged progress must not be sent again", 1, batches.size());
+
+      createVMFolder(measureLogFolder, method2, 1, VERSION_OLD);
+      watcher.close();
+      Assert.assertEquals(2, batches.size());
+      Assert.assertEquals("de.test.CalleeTest#method2", batches.get(1).get(0).getTestcase());
+      Assert.assertEquals(2, batches.get(1).get(0).getStartedVMs());
+   }
+
+   @Test
+   public void testWatcherSeparatesClassesWithSameMethod() {
+      File projectFolder = new File(folder.getRoot(), "project");
+      File measureLogFolder = getMeasureLogFolder(projectFolder);
+      TestCase calleeTest = new TestCase("de.test.CalleeTest#test");
+      TestCase callerTest = new TestCase("de.test.CallerTest#test");
+      createVMFolder(measureLogFolder, calleeTest, 0, VERSION_OLD);
+      createVMFolder(measureLogFolder, calleeTest, 1, VERSION_OLD);
+      createVMFolder(measureLogFolder, calleeTest, 2, VERSION_OLD);
+      createVMFolder(measureLogFolder, callerTest, 0, VERSION_OLD);
+
+      List<List<MeasurementProgress>> batches = new ArrayList<>();
+      MeasurementProgressWatcher watcher = new MeasurementProgressWatcher(new PeassFolders(projectFolder), VERSION,
+            new LinkedHashSet<>(Arrays.asList(calleeTest, callerTest)), 3, batches::add);
+      watcher.close();
+
+      List<MeasurementProgress> batch = batches.get(0);
+      Assert.assertEquals(2, batch.size());
+      Assert.assertEquals("de.test.CalleeTest#test", batch.get(0).getTestcase());
+      Assert.assertEquals(3, batch.get(0).getStartedVMs());
+      Assert.assertEquals("de.test.CallerTest#test", batch.get(1).getTestcase());
+      Assert.assertEquals(1, batch.get(1).getStartedVMs());
+   }
+
+   @Test
+   public void testActionEstimatesRemainingTime() throws InterruptedException {
+      MeasurementProgressAction action = new MeasurementProgressAction(3, 10, null);
+      Assert.assertEquals(-1, action.getRemainingTime());
+
+      Thread.sleep(10);
+      action.progress(Collections.singletonList(new MeasurementProgress("Test#a", 2, 10)));
+      Thread.sleep(10);
+      action.progress(Collections.singletonList(new MeasurementProgress("Test#a", 5, 10)));
+
+      Assert.assertEquals(1, action.getStartedTests());
+      Assert.assertEquals(5, action.getStartedVMs());
+      Assert.assertEquals(30, action.getTotalVMs());
+      Assert.assertTrue(action.getRemainingTime() > 0);
+
+      TestProgress test = action.getTests().get(0);
+      Assert.assertTrue(test.getThroughput() > 0);
+      Assert.assertTrue(test.getRemainingTime() > 0);
+      Assert.assertFalse(test.isFinished());
+
+      action.setFinished();
+      Assert.assertEquals(0, action.getRemainingTime());
+      Assert.assertEquals("0:01:05", action.formatDuration(65000));
+      Assert.assertEquals("unknown", action.formatDuration(-1));
+   }
+
+   private File getMeasureLogFolder(final File projectFolder) {
+      return new File(PeassFolders.getPeassFolder(projectFolder), "logs/measureLogs/" + VERSION);
+   }
+
+   /**
+    * Creates the log folder of the test in one VM in the layout of Peass, i.e. <code>&lt;method&gt;/vm_&lt;id&gt;_&lt;version&gt;/log_&lt;clazz&gt;</code>
+    */
+   private void createVMFolder(final File measureLogFolder, final TestCase test, final int vmId, final String version) {
+      File classLogFolder = new File(measureLogFolder, test.getMethod() + "/vm_" + vmId + "_" + version + "/log_" + test.getClazz());
+      Assert.assertTrue(classLogFolder.mkdirs());
+   }
+}